@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.benchmarks;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Key;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import com.google.inject.internal.InternalFlags;
+import com.google.inject.multibindings.Multibinder;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+
+/** Shared types and modules used by the benchmarks. */
+final class BenchmarkTypes {
+
+  /** The system property read by {@link InternalFlags#getUseMethodHandlesOption()}. */
+  static final String USE_METHOD_HANDLES_PROPERTY = "guice_use_method_handles";
+
+  /**
+   * Selects between the {@code MethodHandle} based factories and the legacy {@code
+   * InternalFactory.get} path. Guice reads the flag once, so this must run in a freshly forked JVM
+   * before the first injector is created.
+   */
+  static void useMethodHandles(String option) {
+    System.setProperty(USE_METHOD_HANDLES_PROPERTY, option);
+    boolean expected = option.equals("YES") && InternalFlags.isBytecodeGenEnabled();
+    if (InternalFlags.getUseMethodHandlesOption() != expected) {
+      throw new IllegalStateException(
+          USE_METHOD_HANDLES_PROPERTY
+              + "="
+              + option
+              + " was set after Guice read its flags; run the benchmark with forks > 0");
+    }
+  }
+
+  interface Service {
+    int value();
+  }
+
+  static class Leaf {
+    @Inject
+    Leaf() {}
+  }
+
+  static class Dep {
+    final Leaf leaf;
+
+    @Inject
+    Dep(Leaf leaf) {
+      this.leaf = leaf;
+    }
+  }
+
+  static class ServiceImpl implements Service {
+    final Dep dep;
+    final Leaf leaf;
+
+    @Inject
+    ServiceImpl(Dep dep, Leaf leaf) {
+      this.dep = dep;
+      this.leaf = leaf;
+    }
+
+    @Override
+    public int value() {
+      return 1;
+    }
+  }
+
+  static class ServiceProvider implements Provider<Service> {
+    private final Provider<Dep> dep;
+
+    @Inject
+    ServiceProvider(Provider<Dep> dep) {
+      this.dep = dep;
+    }
+
+    @Override
+    public Service get() {
+      return new ServiceImpl(dep.get(), new Leaf());
+    }
+  }
+
+  /**
+   * A module with {@code bindingCount} bindings, cycling through linked, singleton, provider,
+   * instance and multibound bindings. Every instance binds distinct keys so that many of them can
+   * be installed in the same injector.
+   */
+  static class SyntheticModule extends AbstractModule {
+    private final int index;
+    private final int bindingCount;
+
+    SyntheticModule(int index, int bindingCount) {
+      this.index = index;
+      this.bindingCount = bindingCount;
+    }
+
+    @Override
+    protected void configure() {
+      Multibinder<Service> multibinder = Multibinder.newSetBinder(binder(), Service.class);
+      for (int i = 0; i < bindingCount; i++) {
+        Key<Service> key = Key.get(Service.class, Names.named("module" + index + ".binding" + i));
+        switch (i % 5) {
+          case 0:
+            bind(key).to(ServiceImpl.class);
+            break;
+          case 1:
+            bind(key).to(ServiceImpl.class).in(Singleton.class);
+            break;
+          case 2:
+            bind(key).toProvider(ServiceProvider.class);
+            break;
+          case 3:
+            bind(key).toInstance(new ServiceImpl(new Dep(new Leaf()), new Leaf()));
+            break;
+          default:
+            multibinder.addBinding().to(key);
+            bind(key).to(ServiceImpl.class);
+            break;
+        }
+      }
+    }
+  }
+
+  /** Binds one key of every flavor measured by {@link ProvisionBenchmark}. */
+  static class ProvisionModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      bind(Service.class).to(ServiceImpl.class);
+      bind(Key.get(Service.class, Names.named("singleton")))
+          .to(ServiceImpl.class)
+          .in(Singleton.class);
+      Multibinder<Service> multibinder = Multibinder.newSetBinder(binder(), Service.class);
+      multibinder.addBinding().to(ServiceImpl.class);
+      multibinder.addBinding().toProvider(ServiceProvider.class);
+      multibinder.addBinding().to(Key.get(Service.class, Names.named("singleton")));
+    }
+
+    @Provides
+    @Named("provides")
+    Service provideService(Dep dep, Leaf leaf) {
+      return new ServiceImpl(dep, leaf);
+    }
+  }
+
+  private BenchmarkTypes() {}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.benchmarks;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+import com.google.inject.benchmarks.BenchmarkTypes.SyntheticModule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures {@link Guice#createInjector} over large synthetic module graphs. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class InjectorCreationBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int moduleCount;
+
+  @Param({"20"})
+  public int bindingsPerModule;
+
+  @Param({"DEVELOPMENT", "PRODUCTION"})
+  public Stage stage;
+
+  @Param({"NO", "YES"})
+  public String useMethodHandles;
+
+  private List<Module> modules;
+
+  @Setup
+  public void setUp() {
+    BenchmarkTypes.useMethodHandles(useMethodHandles);
+    modules = new ArrayList<>(moduleCount);
+    for (int i = 0; i < moduleCount; i++) {
+      modules.add(new SyntheticModule(i, bindingsPerModule));
+    }
+  }
+
+  @Benchmark
+  public Injector createInjector() {
+    return Guice.createInjector(stage, modules);
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.benchmarks;
+
+import static com.google.inject.matcher.Matchers.annotatedWith;
+import static com.google.inject.matcher.Matchers.any;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures dispatch of an intercepted method through the enhanced subclass and the interceptor
+ * stack. A stack size of zero measures the same call on an unenhanced instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class InterceptionBenchmark {
+
+  @Retention(RetentionPolicy.RUNTIME)
+  @Target(ElementType.METHOD)
+  public @interface Intercepted {}
+
+  /** The intercepted type; must be public and non-final so Guice can enhance it. */
+  public static class Calculator {
+    @Intercepted
+    public int add(int a, int b) {
+      return a + b;
+    }
+
+    @Intercepted
+    public Object echo(Object value) {
+      return value;
+    }
+  }
+
+  static final class PassThroughInterceptor implements MethodInterceptor {
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+      return invocation.proceed();
+    }
+  }
+
+  @Param({"0", "1", "3"})
+  public int interceptorCount;
+
+  @Param({"NO", "YES"})
+  public String useMethodHandles;
+
+  private Calculator calculator;
+  private int a;
+  private int b;
+  private final Object value = new Object();
+
+  @Setup
+  public void setUp() {
+    BenchmarkTypes.useMethodHandles(useMethodHandles);
+    calculator =
+        Guice.createInjector(
+                new AbstractModule() {
+                  @Override
+                  protected void configure() {
+                    for (int i = 0; i < interceptorCount; i++) {
+                      bindInterceptor(
+                          any(), annotatedWith(Intercepted.class), new PassThroughInterceptor());
+                    }
+                  }
+                })
+            .getInstance(Calculator.class);
+    a = 17;
+    b = 25;
+  }
+
+  @Benchmark
+  public int primitiveArguments() {
+    return calculator.add(a, b);
+  }
+
+  @Benchmark
+  public Object referenceArgument() {
+    return calculator.echo(value);
+  }
+}
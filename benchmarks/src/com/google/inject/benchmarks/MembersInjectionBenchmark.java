@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.benchmarks;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.MembersInjector;
+import com.google.inject.benchmarks.BenchmarkTypes.Dep;
+import com.google.inject.benchmarks.BenchmarkTypes.Leaf;
+import com.google.inject.benchmarks.BenchmarkTypes.ProvisionModule;
+import com.google.inject.benchmarks.BenchmarkTypes.Service;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures {@link MembersInjector#injectMembers} on an object with field and method injection. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MembersInjectionBenchmark {
+
+  /** Injected by the benchmark; never constructed by Guice. */
+  public static class Target {
+    @Inject Leaf leaf;
+    @Inject Dep dep;
+    @Inject Provider<Service> service;
+    Service methodInjected;
+
+    @Inject
+    void setService(Service service) {
+      this.methodInjected = service;
+    }
+  }
+
+  @Param({"NO", "YES"})
+  public String useMethodHandles;
+
+  private Injector injector;
+  private MembersInjector<Target> membersInjector;
+
+  @Setup
+  public void setUp() {
+    BenchmarkTypes.useMethodHandles(useMethodHandles);
+    injector = Guice.createInjector(new ProvisionModule());
+    membersInjector = injector.getMembersInjector(Target.class);
+  }
+
+  @Benchmark
+  public Target membersInjector() {
+    Target target = new Target();
+    membersInjector.injectMembers(target);
+    return target;
+  }
+
+  @Benchmark
+  public Target injectorInjectMembers() {
+    Target target = new Target();
+    injector.injectMembers(target);
+    return target;
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.benchmarks;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.TypeLiteral;
+import com.google.inject.benchmarks.BenchmarkTypes.Leaf;
+import com.google.inject.benchmarks.BenchmarkTypes.ProvisionModule;
+import com.google.inject.benchmarks.BenchmarkTypes.Service;
+import com.google.inject.name.Names;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Injector#getInstance} and {@link Provider#get} for unscoped, singleton, linked,
+ * provider method and multibound keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ProvisionBenchmark {
+  private static final Key<Leaf> UNSCOPED = Key.get(Leaf.class);
+  private static final Key<Service> SINGLETON = Key.get(Service.class, Names.named("singleton"));
+  private static final Key<Service> LINKED = Key.get(Service.class);
+  private static final Key<Service> PROVIDER_METHOD =
+      Key.get(Service.class, Names.named("provides"));
+  private static final Key<Set<Service>> MULTIBOUND = Key.get(new TypeLiteral<Set<Service>>() {});
+
+  @Param({"NO", "YES"})
+  public String useMethodHandles;
+
+  private Injector injector;
+  private Provider<Leaf> unscopedProvider;
+  private Provider<Service> singletonProvider;
+  private Provider<Service> linkedProvider;
+  private Provider<Service> providerMethodProvider;
+  private Provider<Set<Service>> multiboundProvider;
+
+  @Setup
+  public void setUp() {
+    BenchmarkTypes.useMethodHandles(useMethodHandles);
+    injector = Guice.createInjector(new ProvisionModule());
+    unscopedProvider = injector.getProvider(UNSCOPED);
+    singletonProvider = injector.getProvider(SINGLETON);
+    linkedProvider = injector.getProvider(LINKED);
+    providerMethodProvider = injector.getProvider(PROVIDER_METHOD);
+    multiboundProvider = injector.getProvider(MULTIBOUND);
+  }
+
+  @Benchmark
+  public Object getInstanceUnscoped() {
+    return injector.getInstance(UNSCOPED);
+  }
+
+  @Benchmark
+  public Object getInstanceSingleton() {
+    return injector.getInstance(SINGLETON);
+  }
+
+  @Benchmark
+  public Object getInstanceLinked() {
+    return injector.getInstance(LINKED);
+  }
+
+  @Benchmark
+  public Object getInstanceProviderMethod() {
+    return injector.getInstance(PROVIDER_METHOD);
+  }
+
+  @Benchmark
+  public Object getInstanceMultibound() {
+    return injector.getInstance(MULTIBOUND);
+  }
+
+  @Benchmark
+  public Object providerGetUnscoped() {
+    return unscopedProvider.get();
+  }
+
+  @Benchmark
+  public Object providerGetSingleton() {
+    return singletonProvider.get();
+  }
+
+  @Benchmark
+  public Object providerGetLinked() {
+    return linkedProvider.get();
+  }
+
+  @Benchmark
+  public Object providerGetProviderMethod() {
+    return providerMethodProvider.get();
+  }
+
+  @Benchmark
+  public Object providerGetMultibound() {
+    return multiboundProvider.get();
+  }
+}
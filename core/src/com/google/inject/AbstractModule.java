@@ -24,6 +24,7 @@ import com.google.inject.binder.AnnotatedConstantBindingBuilder;
 import com.google.inject.binder.LinkedBindingBuilder;
 import com.google.inject.matcher.Matcher;
 import com.google.inject.spi.Message;
+import com.google.inject.spi.MethodHandleInterceptor;
 import com.google.inject.spi.ProvisionListener;
 import com.google.inject.spi.TypeConverter;
 import com.google.inject.spi.TypeListener;
@@ -153,6 +154,17 @@ public abstract class AbstractModule implements Module {
     binder().bindInterceptor(classMatcher, methodMatcher, interceptors);
   }
 
+  /**
+   * @see Binder#bindInterceptor(Matcher, Matcher, MethodHandleInterceptor...)
+   * @since 7.0
+   */
+  protected void bindInterceptor(
+      Matcher<? super Class<?>> classMatcher,
+      Matcher<? super Method> methodMatcher,
+      MethodHandleInterceptor... interceptors) {
+    binder().bindInterceptor(classMatcher, methodMatcher, interceptors);
+  }
+
   /**
    * Adds a dependency from this module to {@code key}. When the injector is created, Guice will
    * report an error if {@code key} cannot be injected. Note that this requirement may be satisfied
@@ -21,13 +21,16 @@ import com.google.inject.binder.AnnotatedConstantBindingBuilder;
 import com.google.inject.binder.LinkedBindingBuilder;
 import com.google.inject.matcher.Matcher;
 import com.google.inject.spi.Dependency;
+import com.google.inject.spi.InjectionPointSnapshot;
 import com.google.inject.spi.Message;
+import com.google.inject.spi.MethodHandleInterceptor;
 import com.google.inject.spi.ModuleAnnotatedMethodScanner;
 import com.google.inject.spi.ProvisionListener;
 import com.google.inject.spi.TypeConverter;
 import com.google.inject.spi.TypeListener;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
 import org.aopalliance.intercept.MethodInterceptor;
 
 /**
@@ -211,6 +214,30 @@ public interface Binder {
       Matcher<? super Method> methodMatcher,
       MethodInterceptor... interceptors);
 
+  /**
+   * Binds method handle interceptors to methods matched by class and method matchers. Methods are
+   * eligible for interception just like with {@link #bindInterceptor(Matcher, Matcher,
+   * MethodInterceptor...)}, and the interceptors are ordered with method interceptors in the order
+   * they are bound.
+   *
+   * <p>Rather than being called with a boxed invocation, each interceptor wraps a handle to the
+   * intercepted method once, and enhanced methods invoke the resulting handle with their own
+   * arguments. See {@link MethodHandleInterceptor}.
+   *
+   * <p>Binders that don't support method handle interceptors report an error.
+   *
+   * @param classMatcher matches classes the interceptor should apply to
+   * @param methodMatcher matches methods the interceptor should apply to
+   * @param interceptors to bind. The interceptors are called in the order they are given.
+   * @since 7.0
+   */
+  default void bindInterceptor(
+      Matcher<? super Class<?>> classMatcher,
+      Matcher<? super Method> methodMatcher,
+      MethodHandleInterceptor... interceptors) {
+    addError("%s does not support method handle interceptors", getClass().getName());
+  }
+
   /** Binds a scope to an annotation. */
   void bindScope(Class<? extends Annotation> annotationType, Scope scope);
 
@@ -460,6 +487,99 @@ public interface Binder {
    */
   void requireExactBindingAnnotations();
 
+  /**
+   * Records how often each binding of the injector is provisioned and how long that takes. The
+   * metrics can be read with {@link com.google.inject.spi.ProvisionMetrics#forInjector}. Recording
+   * is cheap but not free, so it is off by default. Child injectors inherit this option.
+   *
+   * <p>Binders that don't support this option report an error.
+   *
+   * @since 7.0
+   */
+  default void enableProvisionMetrics() {
+    addError("%s does not support enableProvisionMetrics()", getClass().getName());
+  }
+
+  /**
+   * Records where the time goes while the injector is created. The statistics can be read with
+   * {@link com.google.inject.spi.InjectorCreationStats#forInjector}. Recording is cheap but not
+   * free, so it is off by default. Child injectors inherit this option.
+   *
+   * <p>Binders that don't support this option report an error.
+   *
+   * @since 7.0
+   */
+  default void enableInjectorCreationStats() {
+    addError("%s does not support enableInjectorCreationStats()", getClass().getName());
+  }
+
+  /**
+   * Leaves the stack traces of exceptions thrown through method interceptors as they are. By
+   * default, frames of Guice's AOP machinery are removed from them, which costs a walk of the stack
+   * trace of each exception and its causes. Exceptions that are thrown often through intercepted
+   * methods, for example to retry an operation, can skip that cost with this option. Child
+   * injectors inherit this option.
+   *
+   * <p>Binders that don't support this option report an error.
+   *
+   * @since 7.0
+   */
+  default void disableInterceptorStackTracePruning() {
+    addError("%s does not support disableInterceptorStackTracePruning()", getClass().getName());
+  }
+
+  /**
+   * Shares one {@code MethodInvocation} between the interceptors of an intercepted call, which
+   * proceeds to the next interceptor by advancing its index. By default, each interceptor of a call
+   * gets an invocation of its own. Sharing saves an allocation per interceptor, but interceptors
+   * may then only call {@code proceed()} from the thread of the call and before they return. Child
+   * injectors inherit this option.
+   *
+   * <p>Binders that don't support this option report an error.
+   *
+   * @since 7.0
+   */
+  default void enableSharedInterceptorDispatch() {
+    addError("%s does not support enableSharedInterceptorDispatch()", getClass().getName());
+  }
+
+  /**
+   * Uses the injection points captured in {@code snapshot} instead of scanning the classes it
+   * contains, when the injector creates constructor bindings and members injectors. Child injectors
+   * inherit this option, unless they use a snapshot of their own.
+   *
+   * <p>Binders that don't support this option report an error.
+   *
+   * @since 7.0
+   */
+  default void useInjectionPointSnapshot(InjectionPointSnapshot snapshot) {
+    addError("%s does not support useInjectionPointSnapshot()", getClass().getName());
+  }
+
+  /**
+   * Runs the parts of creating the injector that can be done in parallel on {@code executor}:
+   *
+   * <ul>
+   *   <li>The injectable members of constructor bindings are scanned in parallel before the
+   *       bindings are initialized in order, so bindings and errors come out the same.
+   *   <li>Eager singletons are created in parallel, which is typically worth it in {@link
+   *       Stage#PRODUCTION}, where all singletons are eager. Singletons that depend on each other in
+   *       a cycle are still created in order by a single task.
+   * </ul>
+   *
+   * <p>Creating the injector blocks until the tasks finish, so they must not wait for a thread that
+   * is busy creating the injector, such as the only thread of {@code executor}. Guice doesn't shut
+   * {@code executor} down. Child injectors inherit this option, unless they use an executor of
+   * their own.
+   *
+   * <p>Binders that don't support this option report an error.
+   *
+   * @since 7.0
+   */
+  default void parallelizeInjectorCreation(Executor executor) {
+    addError("%s does not support parallelizeInjectorCreation()", getClass().getName());
+  }
+
   /**
    * Adds a scanner that will look in all installed modules for annotations the scanner can parse,
    * and binds them like {@literal @}Provides methods. Scanners apply to all modules installed in
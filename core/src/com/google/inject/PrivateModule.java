@@ -24,6 +24,7 @@ import com.google.inject.binder.AnnotatedElementBuilder;
 import com.google.inject.binder.LinkedBindingBuilder;
 import com.google.inject.matcher.Matcher;
 import com.google.inject.spi.Message;
+import com.google.inject.spi.MethodHandleInterceptor;
 import com.google.inject.spi.ProvisionListener;
 import com.google.inject.spi.TypeConverter;
 import com.google.inject.spi.TypeListener;
@@ -210,6 +211,18 @@ public abstract class PrivateModule implements Module {
     binder().bindInterceptor(classMatcher, methodMatcher, interceptors);
   }
 
+  /**
+   * @see Binder#bindInterceptor(com.google.inject.matcher.Matcher,
+   *     com.google.inject.matcher.Matcher, MethodHandleInterceptor[])
+   * @since 7.0
+   */
+  protected final void bindInterceptor(
+      Matcher<? super Class<?>> classMatcher,
+      Matcher<? super Method> methodMatcher,
+      MethodHandleInterceptor... interceptors) {
+    binder().bindInterceptor(classMatcher, methodMatcher, interceptors);
+  }
+
   /** Instructs Guice to require a binding to the given key. */
   protected final void requireBinding(Key<?> key) {
     binder().getProvider(key);
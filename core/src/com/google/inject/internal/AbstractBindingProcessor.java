@@ -161,6 +161,10 @@ abstract class AbstractBindingProcessor extends AbstractProcessor {
      */
     protected void scheduleInitialization(BindingImpl<?> binding) {
       processedBindingData.addUninitializedBinding(() -> initializeBinding(binding));
+      if (binding instanceof ConstructorBindingImpl) {
+        processedBindingData.addUninitializedConstructorBinding(
+            (ConstructorBindingImpl<?>) binding);
+      }
     }
 
     /**
@@ -172,11 +176,16 @@ abstract class AbstractBindingProcessor extends AbstractProcessor {
     }
 
     private void initializeBinding(BindingImpl<?> binding) {
+      InjectorCreationStatsCollector creationStats = processedBindingData.getCreationStats();
+      long startNanos = creationStats != null ? System.nanoTime() : 0;
       try {
         binding.getInjector().initializeBinding(binding, errors.withSource(source));
       } catch (ErrorsException e) {
         errors.merge(e.getErrors());
       }
+      if (creationStats != null) {
+        creationStats.recordBindingInitialization(key, startNanos);
+      }
     }
   }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal;
+
+import static com.google.inject.internal.GuiceInternal.GUICE_INTERNAL;
+
+import com.google.inject.Key;
+import com.google.inject.spi.ProvisionMetrics;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the provisions of one binding and how long they took. Recording is lock-free and doesn't
+ * allocate: counts are {@link LongAdder}s, which spread updates from contending threads over
+ * separate cells, and latencies go into power-of-two buckets that are each such an adder.
+ */
+final class BindingProvisionMetrics {
+
+  /** The number of histogram buckets; bucket {@code i} counts times below 2<sup>i</sup> ns. */
+  static final int BUCKET_COUNT = 64;
+
+  private final Key<?> key;
+  private final LongAdder count = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+  private final LongAdder[] histogram = new LongAdder[BUCKET_COUNT];
+
+  BindingProvisionMetrics(Key<?> key) {
+    this.key = key;
+    for (int i = 0; i < histogram.length; i++) {
+      histogram[i] = new LongAdder();
+    }
+  }
+
+  /** Returns the index of the histogram bucket that counts {@code nanos}. */
+  static int bucketOf(long nanos) {
+    return nanos <= 0 ? 0 : Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(nanos));
+  }
+
+  /** Records a provision that took {@code nanos}. */
+  void record(long nanos) {
+    count.increment();
+    totalNanos.add(nanos);
+    maxNanos.accumulate(nanos);
+    histogram[bucketOf(nanos)].increment();
+  }
+
+  /** Returns a snapshot of the metrics recorded so far. */
+  ProvisionMetrics snapshot() {
+    long[] buckets = new long[histogram.length];
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = histogram[i].sum();
+    }
+    return new ProvisionMetrics(
+        GUICE_INTERNAL, key, count.sum(), totalNanos.sum(), maxNanos.get(), buckets);
+  }
+}
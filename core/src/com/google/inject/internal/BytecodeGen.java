@@ -26,6 +26,7 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.inject.internal.aop.ClassBuilding;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
 import java.lang.reflect.InvocationHandler;
@@ -91,9 +92,11 @@ public final class BytecodeGen {
      * <p>The enhancer maps constructor and method signatures to invokers, where each invoker is
      * represented as a {@link BiFunction} that accepts a context object and an argument array.
      *
-     * <p>Constructor invokers take an array of {@link InvocationHandler}s as their context object.
-     * This is stored in the enhanced class before the original host class constructor is called,
-     * with arguments unpacked from the argument array. The enhanced instance is then returned.
+     * <p>Constructor invokers take an array of handlers as their context object, each either an
+     * {@link InvocationHandler} or a {@link MethodHandle} with the type of the method's {@link
+     * #superMethodHandle}. This is stored in the enhanced class before the original host class
+     * constructor is called, with arguments unpacked from the argument array. The enhanced instance
+     * is then returned.
      *
      * <p>Method invokers take an enhanced instance as their context object and call the original
      * super-method with arguments unpacked from the argument array, ie. provides super-invocation.
@@ -108,7 +111,7 @@ public final class BytecodeGen {
 
   /**
    * Returns an invoker that constructs an enhanced instance. The invoker function accepts an array
-   * of invocation handlers plus an array of arguments for the original constructor.
+   * of handlers plus an array of arguments for the original constructor.
    */
   static BiFunction<Object, Object[], Object> enhancedConstructor(
       Function<String, BiFunction<Object, Object[], Object>> enhancer, Constructor<?> constructor) {
@@ -126,6 +129,16 @@ public final class BytecodeGen {
     return enhancer.apply(signature(method));
   }
 
+  /**
+   * Returns a handle that calls the original unenhanced method without boxing, or null if the
+   * enhancer doesn't support it. The handle takes an enhanced instance as an {@link Object}
+   * followed by the parameters of the original method, and returns its return type.
+   */
+  static MethodHandle superMethodHandle(
+      Function<String, BiFunction<Object, Object[], Object>> enhancer, Method method) {
+    return ClassBuilding.typedInvoker(enhancer, method);
+  }
+
   /**
    * Returns a fast invoker for the given constructor. The invoker function ignores the first
    * parameter and accepts an array of arguments for the constructor in the second parameter.
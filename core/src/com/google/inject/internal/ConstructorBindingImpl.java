@@ -34,6 +34,7 @@ import com.google.inject.spi.BindingTargetVisitor;
 import com.google.inject.spi.ConstructorBinding;
 import com.google.inject.spi.Dependency;
 import com.google.inject.spi.InjectionPoint;
+import com.google.inject.spi.InjectionPointSnapshot;
 import java.lang.annotation.Annotation;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
@@ -125,8 +126,15 @@ final class ConstructorBindingImpl<T> extends BindingImpl<T>
     // Find a constructor annotated @Inject
     if (constructorInjector == null) {
       try {
-        constructorInjector =
-            InjectionPoint.forConstructorOf(key.getTypeLiteral(), atInjectRequired);
+        InjectionPointSnapshot snapshot = injector.options.injectionPointSnapshot;
+        if (snapshot != null) {
+          constructorInjector =
+              snapshot.getConstructor(GUICE_INTERNAL, key.getTypeLiteral(), atInjectRequired);
+        }
+        if (constructorInjector == null) {
+          constructorInjector =
+              InjectionPoint.forConstructorOf(key.getTypeLiteral(), atInjectRequired);
+        }
       } catch (ConfigurationException e) {
         throw errors.merge(e.getErrorMessages()).toException();
       }
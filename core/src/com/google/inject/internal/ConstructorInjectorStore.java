@@ -86,7 +86,12 @@ final class ConstructorInjectorStore {
               .addAll(Lists.transform(injectorBindings, MethodAspect::fromBinding))
               .addAll(membersInjector.getAddedAspects())
               .build();
-      factory = new ProxyFactory<>(injectionPoint, methodAspects);
+      factory =
+          new ProxyFactory<>(
+              injectionPoint,
+              methodAspects,
+              !injector.options.interceptorStackTracePruningDisabled,
+              injector.options.sharedInterceptorDispatchEnabled);
     } else {
       factory = new DefaultConstructionProxyFactory<>(injectionPoint);
     }
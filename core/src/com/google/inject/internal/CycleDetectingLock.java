@@ -61,45 +61,85 @@ interface CycleDetectingLock<ID> {
   class CycleDetectingLockFactory<ID> {
 
     /**
-     * Specifies lock that thread is currently waiting on to own it. Used only for purposes of locks
-     * cycle detection.
-     *
-     * <ul>
-     *   <li>Key: thread
-     *   <li>Value: lock that is being waited on
-     * </ul>
-     *
-     * <p>Element is added inside {@link #lockOrDetectPotentialLocksCycle()} before {@link
-     * Lock#lock} is called. Element is removed inside {@link #lockOrDetectPotentialLocksCycle()}
-     * after {@link Lock#lock} and synchronously with adding it to {@link #locksOwnedByThread}.
-     *
-     * <p>Same lock can be added for several threads in case all of them are trying to take it.
-     *
-     * <p>Guarded by {@code CycleDetectingLockFactory.class}.
+     * Graph shared by factories that are not given one explicitly. Locks from factories that share
+     * a graph can detect cycles spanning each other.
      */
-    private static Map<Thread, ReentrantCycleDetectingLock<?>> lockThreadIsWaitingOn =
-        Maps.newHashMap();
+    private static final LockGraph DEFAULT_GRAPH = new LockGraph();
+
+    /** Ownership and waiting state of the locks created by this factory. */
+    private final LockGraph graph;
+
+    /** Creates a factory whose locks detect cycles with all other factories using the default. */
+    CycleDetectingLockFactory() {
+      this(DEFAULT_GRAPH);
+    }
 
     /**
-     * Lists locks that thread owns. Used only to populate locks in a potential cycle when it is
-     * detected.
-     *
-     * <ul>
-     *   <li>Key: thread
-     *   <li>Value: stack of locks that were owned.
-     * </ul>
-     *
-     * <p>Element is added inside {@link #lockOrDetectPotentialLocksCycle()} after {@link Lock#lock}
-     * is called. Element is removed inside {@link #unlock()} synchronously with {@link
-     * Lock#unlock()} call.
-     *
-     * <p>Same lock can only be present several times for the same thread as locks are reentrant.
-     * Lock can not be owned by several different threads as the same time.
+     * Creates a factory whose locks detect cycles with the locks of all other factories sharing
+     * {@code graph}. Cycles with locks outside of the graph are not detected.
+     */
+    CycleDetectingLockFactory(LockGraph graph) {
+      this.graph = Preconditions.checkNotNull(graph, "graph");
+    }
+
+    /**
+     * Bookkeeping of which thread owns and waits for which lock, for a group of factories whose
+     * locks may be taken in any order relative to each other. An injector tree uses one graph for
+     * all of its singleton and instance initialization locks, so that unrelated injectors never
+     * contend on the same monitor.
      *
-     * <p>Guarded by {@code CycleDetectingLockFactory.class}.
+     * <p>All state is guarded by the graph itself. Cycle detection follows owner and waiting edges
+     * across threads, and needs them to be a consistent snapshot: reading them from concurrent maps
+     * while other threads update them could report a cycle that never existed. So the graph keeps
+     * a monitor, held only for constant-time bookkeeping and never while blocked on a lock, and
+     * contention is bounded by giving each injector tree its own graph.
      */
-    private static final Multimap<Thread, ReentrantCycleDetectingLock<?>> locksOwnedByThread =
-        LinkedHashMultimap.create();
+    static final class LockGraph {
+      /**
+       * Specifies lock that thread is currently waiting on to own it. Used only for purposes of
+       * locks cycle detection.
+       *
+       * <ul>
+       *   <li>Key: thread
+       *   <li>Value: lock that is being waited on
+       * </ul>
+       *
+       * <p>Element is added inside {@link CycleDetectingLock#lockOrDetectPotentialLocksCycle}
+       * before {@link Lock#lock} is called. Element is removed inside {@link
+       * CycleDetectingLock#lockOrDetectPotentialLocksCycle} after {@link Lock#lock} and
+       * synchronously with adding it to {@link #locksOwnedByThread}.
+       *
+       * <p>Same lock can be added for several threads in case all of them are trying to take it.
+       */
+      private final Map<Thread, ReentrantCycleDetectingLock<?>> lockThreadIsWaitingOn =
+          Maps.newHashMap();
+
+      /**
+       * Lists locks that thread owns. Used only to populate locks in a potential cycle when it is
+       * detected.
+       *
+       * <ul>
+       *   <li>Key: thread
+       *   <li>Value: stack of locks that were owned.
+       * </ul>
+       *
+       * <p>Element is added inside {@link CycleDetectingLock#lockOrDetectPotentialLocksCycle}
+       * after {@link Lock#lock} is called. Element is removed inside {@link
+       * CycleDetectingLock#unlock} synchronously with {@link Lock#unlock()} call.
+       *
+       * <p>Same lock can only be present several times for the same thread as locks are reentrant.
+       * Lock can not be owned by several different threads as the same time.
+       */
+      private final Multimap<Thread, ReentrantCycleDetectingLock<?>> locksOwnedByThread =
+          LinkedHashMultimap.create();
+
+      /** Returns true if {@code thread} owns any of the locks of this graph. */
+      boolean isLockOwner(Thread thread) {
+        synchronized (this) {
+          return locksOwnedByThread.containsKey(thread);
+        }
+      }
+    }
 
     /**
      * Creates new lock within this factory context. We can guarantee that locks created by the same
@@ -120,20 +160,19 @@ interface CycleDetectingLock<ID> {
       private final ID userLockId;
       /** Factory that was used to create this lock. */
       private final CycleDetectingLockFactory<ID> lockFactory;
-      /**
-       * Thread that owns this lock. Nullable. Guarded by {@code CycleDetectingLockFactory.this}.
-       */
+      /** Graph this lock belongs to, guards the bookkeeping fields below. */
+      private final LockGraph graph;
+
+      /** Thread that owns this lock. Nullable. Guarded by {@link #graph}. */
       private Thread lockOwnerThread = null;
 
-      /**
-       * Number of times that thread owned this lock. Guarded by {@code
-       * CycleDetectingLockFactory.this}.
-       */
+      /** Number of times that thread owned this lock. Guarded by {@link #graph}. */
       private int lockReentranceCount = 0;
 
       ReentrantCycleDetectingLock(
           CycleDetectingLockFactory<ID> lockFactory, ID userLockId, Lock lockImplementation) {
         this.lockFactory = lockFactory;
+        this.graph = lockFactory.graph;
         this.userLockId = Preconditions.checkNotNull(userLockId, "userLockId");
         this.lockImplementation =
             Preconditions.checkNotNull(lockImplementation, "lockImplementation");
@@ -142,7 +181,7 @@ interface CycleDetectingLock<ID> {
       @Override
       public ListMultimap<Thread, ID> lockOrDetectPotentialLocksCycle() {
         final Thread currentThread = Thread.currentThread();
-        synchronized (CycleDetectingLockFactory.class) {
+        synchronized (graph) {
           checkState();
           // Only do work if this thread doesn't already own the lock.
           // If we're attempting to re-enter our own lock, then we're not going to wait to lock.
@@ -155,11 +194,11 @@ interface CycleDetectingLock<ID> {
           // is `lockImplementation.lock()`.
           if (lockOwnerThread != currentThread) {
             // Add this lock to the waiting map to ensure it is included in any reported lock cycle.
-            lockThreadIsWaitingOn.put(currentThread, this);
+            graph.lockThreadIsWaitingOn.put(currentThread, this);
             ListMultimap<Thread, ID> locksInCycle = detectPotentialLocksCycle();
             if (!locksInCycle.isEmpty()) {
               // We aren't actually going to wait for this lock, so remove it from the map.
-              lockThreadIsWaitingOn.remove(currentThread);
+              graph.lockThreadIsWaitingOn.remove(currentThread);
               // potential deadlock is found, we don't try to take this lock
               return locksInCycle;
             }
@@ -169,16 +208,16 @@ interface CycleDetectingLock<ID> {
         // this may be blocking, but we don't expect it to cause a deadlock
         lockImplementation.lock();
 
-        synchronized (CycleDetectingLockFactory.class) {
+        synchronized (graph) {
           // current thread is no longer waiting on this lock
-          lockThreadIsWaitingOn.remove(currentThread);
+          graph.lockThreadIsWaitingOn.remove(currentThread);
           checkState();
 
           // mark it as owned by us
           lockOwnerThread = currentThread;
           lockReentranceCount++;
           // add this lock to the list of locks owned by a current thread
-          locksOwnedByThread.put(currentThread, this);
+          graph.locksOwnedByThread.put(currentThread, this);
         }
         // no deadlock is found, locking successful
         return ImmutableListMultimap.of();
@@ -187,7 +226,7 @@ interface CycleDetectingLock<ID> {
       @Override
       public void unlock() {
         final Thread currentThread = Thread.currentThread();
-        synchronized (CycleDetectingLockFactory.class) {
+        synchronized (graph) {
           checkState();
           Preconditions.checkState(
               lockOwnerThread != null, "Thread is trying to unlock a lock that is not locked");
@@ -204,11 +243,11 @@ interface CycleDetectingLock<ID> {
             // we no longer own this lock
             lockOwnerThread = null;
             Preconditions.checkState(
-                locksOwnedByThread.remove(currentThread, this),
+                graph.locksOwnedByThread.remove(currentThread, this),
                 "Internal error: Can not find this lock in locks owned by a current thread");
-            if (locksOwnedByThread.get(currentThread).isEmpty()) {
+            if (graph.locksOwnedByThread.get(currentThread).isEmpty()) {
               // clearing memory
-              locksOwnedByThread.removeAll(currentThread);
+              graph.locksOwnedByThread.removeAll(currentThread);
             }
           }
         }
@@ -218,7 +257,7 @@ interface CycleDetectingLock<ID> {
       void checkState() throws IllegalStateException {
         final Thread currentThread = Thread.currentThread();
         Preconditions.checkState(
-            !lockThreadIsWaitingOn.containsKey(currentThread),
+            !graph.lockThreadIsWaitingOn.containsKey(currentThread),
             "Internal error: Thread should not be in a waiting thread on a lock now");
         if (lockOwnerThread != null) {
           // check state of a locked lock
@@ -226,16 +265,17 @@ interface CycleDetectingLock<ID> {
               lockReentranceCount >= 0,
               "Internal error: Lock ownership and reentrance count internal states do not match");
           Preconditions.checkState(
-              locksOwnedByThread.get(lockOwnerThread).contains(this),
+              graph.locksOwnedByThread.containsEntry(lockOwnerThread, this),
               "Internal error: Set of locks owned by a current thread and lock "
                   + "ownership status do not match");
         } else {
-          // check state of a non locked lock
+          // check state of a non locked lock; we don't scan all owned locks here, as that would
+          // make every lock and unlock O(owned locks) while holding the graph's monitor
           Preconditions.checkState(
               lockReentranceCount == 0,
               "Internal error: Reentrance count of a non locked lock is expect to be zero");
           Preconditions.checkState(
-              !locksOwnedByThread.values().contains(this),
+              !graph.locksOwnedByThread.containsEntry(currentThread, this),
               "Internal error: Non locked lock should not be owned by any thread");
         }
       }
@@ -284,7 +324,8 @@ interface CycleDetectingLock<ID> {
           ReentrantCycleDetectingLock<?> lock,
           ListMultimap<Thread, ID> potentialLocksCycle) {
         boolean found = false;
-        Collection<ReentrantCycleDetectingLock<?>> ownedLocks = locksOwnedByThread.get(thread);
+        Collection<ReentrantCycleDetectingLock<?>> ownedLocks =
+            graph.locksOwnedByThread.get(thread);
         Preconditions.checkNotNull(
             ownedLocks, "Internal error: No locks were found taken by a thread");
         for (ReentrantCycleDetectingLock<?> ownedLock : ownedLocks) {
@@ -292,7 +333,7 @@ interface CycleDetectingLock<ID> {
             found = true;
           }
           if (found && ownedLock.lockFactory == this.lockFactory) {
-            // All locks are stored in a shared map therefore there is no way to
+            // All locks of a graph are stored in a shared map therefore there is no way to
             // enforce type safety. We know that our cast is valid as we check for a lock's
             // factory. If the lock was generated by the
             // same factory it has to have same type as the current lock.
@@ -303,7 +344,7 @@ interface CycleDetectingLock<ID> {
         }
         Preconditions.checkState(
             found, "Internal error: We can not find locks that created a cycle that we detected");
-        ReentrantCycleDetectingLock<?> unownedLock = lockThreadIsWaitingOn.get(thread);
+        ReentrantCycleDetectingLock<?> unownedLock = graph.lockThreadIsWaitingOn.get(thread);
         // If this thread is waiting for a lock add it to the cycle and return it
         if (unownedLock != null && unownedLock.lockFactory == this.lockFactory) {
           @SuppressWarnings("unchecked")
@@ -49,9 +49,11 @@ final class Initializer {
   /**
    * Allows us to detect circular dependencies. It's only used during injectable reference
    * initialization. After initialization direct access through volatile field is used.
+   *
+   * <p>Lazily created on the lock graph of the injector tree being built, so that cycles spanning
+   * both instance injection and singleton creation are detected.
    */
-  private final CycleDetectingLockFactory<Class<?>> cycleDetectingLockFactory =
-      new CycleDetectingLockFactory<Class<?>>();
+  private CycleDetectingLockFactory<Class<?>> cycleDetectingLockFactory;
 
   /**
    * Instances that need injection during injector creation to a source that registered them. New
@@ -116,6 +118,10 @@ final class Initializer {
       return Optional.of(cached);
     }
 
+    if (cycleDetectingLockFactory == null) {
+      cycleDetectingLockFactory =
+          new CycleDetectingLockFactory<Class<?>>(injector.cycleDetectingLockGraph);
+    }
     InjectableReference<T> injectableReference =
         new InjectableReference<T>(
             injector,
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal;
+
+import static com.google.inject.internal.GuiceInternal.GUICE_INTERNAL;
+import static java.util.Comparator.comparing;
+
+import com.google.inject.Key;
+import com.google.inject.internal.aop.ClassBuilding;
+import com.google.inject.internal.aop.ClassBuilding.GeneratedClassCounter;
+import com.google.inject.spi.InjectorCreationStats;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Records the statistics of one injector creation. Eager singletons may be created on several
+ * threads, so recording is synchronized, and every thread that works on the creation attaches the
+ * collector's class counter while it does.
+ */
+final class InjectorCreationStatsCollector {
+
+  private final Map<String, Duration> phaseTimes = new LinkedHashMap<>();
+  private final Map<Class<?>, Duration> moduleTimes = new LinkedHashMap<>();
+  private final Map<Key<?>, Duration> bindingInitializationTimes = new LinkedHashMap<>();
+  private final Map<Key<?>, Duration> eagerSingletonTimes = new LinkedHashMap<>();
+  private final GeneratedClassCounter generatedClasses = new GeneratedClassCounter();
+
+  /**
+   * Counts the classes generated by the current thread for this injector. Returns the counter to
+   * restore with {@link ClassBuilding#attachGeneratedClassCounter} once the thread is done.
+   */
+  @Nullable
+  GeneratedClassCounter attachToCurrentThread() {
+    return ClassBuilding.attachGeneratedClassCounter(generatedClasses);
+  }
+
+  synchronized void recordPhase(String phase, Duration time) {
+    phaseTimes.merge(phase, time, Duration::plus);
+  }
+
+  synchronized void recordModule(Class<?> moduleClass, Duration time) {
+    moduleTimes.merge(moduleClass, time, Duration::plus);
+  }
+
+  /** Records the initialization of {@code key} that started at {@code startNanos}. */
+  synchronized void recordBindingInitialization(Key<?> key, long startNanos) {
+    bindingInitializationTimes.merge(key, since(startNanos), Duration::plus);
+  }
+
+  /** Records the creation of eager singleton {@code key} that started at {@code startNanos}. */
+  synchronized void recordEagerSingleton(Key<?> key, long startNanos) {
+    eagerSingletonTimes.merge(key, since(startNanos), Duration::plus);
+  }
+
+  private static Duration since(long startNanos) {
+    return Duration.ofNanos(System.nanoTime() - startNanos);
+  }
+
+  synchronized InjectorCreationStats build() {
+    List<Map.Entry<Key<?>, Duration>> eagerSingletons =
+        new ArrayList<>(eagerSingletonTimes.entrySet());
+    Collections.sort(eagerSingletons, comparing(Map.Entry::getValue, Collections.reverseOrder()));
+    Map<Key<?>, Duration> slowestFirst = new LinkedHashMap<>();
+    for (Map.Entry<Key<?>, Duration> entry : eagerSingletons) {
+      slowestFirst.put(entry.getKey(), entry.getValue());
+    }
+    return new InjectorCreationStats(
+        GUICE_INTERNAL,
+        phaseTimes,
+        moduleTimes,
+        bindingInitializationTimes,
+        slowestFirst,
+        generatedClasses.getFastClassCount(),
+        generatedClasses.getEnhancerCount());
+  }
+}
@@ -40,6 +40,7 @@ import com.google.inject.Provider;
 import com.google.inject.Scope;
 import com.google.inject.Stage;
 import com.google.inject.TypeLiteral;
+import com.google.inject.internal.CycleDetectingLock.CycleDetectingLockFactory;
 import com.google.inject.internal.util.SourceProvider;
 import com.google.inject.spi.BindingTargetVisitor;
 import com.google.inject.spi.ConvertedConstantBinding;
@@ -47,6 +48,8 @@ import com.google.inject.spi.Dependency;
 import com.google.inject.spi.Element;
 import com.google.inject.spi.HasDependencies;
 import com.google.inject.spi.InjectionPoint;
+import com.google.inject.spi.InjectionPointSnapshot;
+import com.google.inject.spi.InjectorCreationStats;
 import com.google.inject.spi.InstanceBinding;
 import com.google.inject.spi.ProviderBinding;
 import com.google.inject.spi.TypeConverterBinding;
@@ -60,6 +63,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import javax.annotation.Nullable;
 
@@ -78,18 +82,36 @@ final class InjectorImpl implements Injector, Lookups {
     final boolean disableCircularProxies;
     final boolean atInjectRequired;
     final boolean exactBindingAnnotationsRequired;
+    final boolean provisionMetricsEnabled;
+    final boolean injectorCreationStatsEnabled;
+    final boolean interceptorStackTracePruningDisabled;
+    final boolean sharedInterceptorDispatchEnabled;
+    @Nullable final InjectionPointSnapshot injectionPointSnapshot;
+    @Nullable final Executor parallelCreationExecutor;
 
     InjectorOptions(
         Stage stage,
         boolean jitDisabled,
         boolean disableCircularProxies,
         boolean atInjectRequired,
-        boolean exactBindingAnnotationsRequired) {
+        boolean exactBindingAnnotationsRequired,
+        boolean provisionMetricsEnabled,
+        boolean injectorCreationStatsEnabled,
+        boolean interceptorStackTracePruningDisabled,
+        boolean sharedInterceptorDispatchEnabled,
+        @Nullable InjectionPointSnapshot injectionPointSnapshot,
+        @Nullable Executor parallelCreationExecutor) {
       this.stage = stage;
       this.jitDisabled = jitDisabled;
       this.disableCircularProxies = disableCircularProxies;
       this.atInjectRequired = atInjectRequired;
       this.exactBindingAnnotationsRequired = exactBindingAnnotationsRequired;
+      this.provisionMetricsEnabled = provisionMetricsEnabled;
+      this.injectorCreationStatsEnabled = injectorCreationStatsEnabled;
+      this.interceptorStackTracePruningDisabled = interceptorStackTracePruningDisabled;
+      this.sharedInterceptorDispatchEnabled = sharedInterceptorDispatchEnabled;
+      this.injectionPointSnapshot = injectionPointSnapshot;
+      this.parallelCreationExecutor = parallelCreationExecutor;
     }
 
     @Override
@@ -100,6 +122,12 @@ final class InjectorImpl implements Injector, Lookups {
           .add("disableCircularProxies", disableCircularProxies)
           .add("atInjectRequired", atInjectRequired)
           .add("exactBindingAnnotationsRequired", exactBindingAnnotationsRequired)
+          .add("provisionMetricsEnabled", provisionMetricsEnabled)
+          .add("injectorCreationStatsEnabled", injectorCreationStatsEnabled)
+          .add("interceptorStackTracePruningDisabled", interceptorStackTracePruningDisabled)
+          .add("sharedInterceptorDispatchEnabled", sharedInterceptorDispatchEnabled)
+          .add("injectionPointSnapshot", injectionPointSnapshot)
+          .add("parallelCreationExecutor", parallelCreationExecutor)
           .toString();
     }
   }
@@ -120,8 +148,21 @@ final class InjectorImpl implements Injector, Lookups {
   final InjectorOptions options;
   final InternalContext.CircularFactoryIdFactory circularFactoryIdFactory;
 
+  /**
+   * Tracks lock ownership for cycle detection across all the singletons and initializable
+   * instances of this injector tree. Shared with the parent, so that unrelated injector trees never
+   * contend on the same bookkeeping.
+   */
+  final CycleDetectingLockFactory.LockGraph cycleDetectingLockGraph;
+
+  /** Creates the locks {@link SingletonScope} holds while creating singletons of this tree. */
+  final CycleDetectingLockFactory<Key<?>> singletonLockFactory;
+
   Lookups lookups = new DeferredLookups(this);
 
+  /** Statistics recorded while this injector was created, or null if none were recorded. */
+  InjectorCreationStats creationStats;
+
   /** The set of types passed to {@link #getMembersInjector} and {@link #injectMembers}. */
   final Set<TypeLiteral<?>> userRequestedMembersInjectorTypes = Sets.newConcurrentHashSet();
 
@@ -138,12 +179,16 @@ final class InjectorImpl implements Injector, Lookups {
     if (parent != null) {
       localContext = parent.localContext;
       circularFactoryIdFactory = parent.circularFactoryIdFactory;
+      cycleDetectingLockGraph = parent.cycleDetectingLockGraph;
+      singletonLockFactory = parent.singletonLockFactory;
     } else {
       // No ThreadLocal.initialValue(), as that would cause classloader leaks. See
       // https://github.com/google/guice/issues/288#issuecomment-48216933,
       // https://github.com/google/guice/issues/288#issuecomment-48216944
       localContext = new ThreadLocal<>();
       circularFactoryIdFactory = new InternalContext.CircularFactoryIdFactory();
+      cycleDetectingLockGraph = new CycleDetectingLockFactory.LockGraph();
+      singletonLockFactory = new CycleDetectingLockFactory<>(cycleDetectingLockGraph);
     }
   }
 
@@ -179,7 +224,16 @@ final class InjectorImpl implements Injector, Lookups {
     if (explicitBinding != null) {
       return explicitBinding;
     }
-    synchronized (jitBindingData.lock()) {
+    var publishedBinding = getPublishedJitBinding(key);
+    if (publishedBinding != null) {
+      return publishedBinding;
+    }
+    Object lock = jitBindingData.lock();
+    boolean publish = !Thread.holdsLock(lock);
+    synchronized (lock) {
+      if (publish) {
+        publishJitBindings();
+      }
       // See if any jit bindings have been created for this key.
       for (InjectorImpl injector = this; injector != null; injector = injector.parent) {
         var jitBinding = injector.jitBindingData.getJitBinding(key);
@@ -264,45 +318,96 @@ final class InjectorImpl implements Injector, Lookups {
       throws ErrorsException {
 
     boolean jitOverride = isProvider(key) || isTypeLiteral(key) || isMembersInjector(key);
-    synchronized (jitBindingData.lock()) {
-      // first try to find a JIT binding that we've already created
-      for (InjectorImpl injector = this; injector != null; injector = injector.parent) {
 
-        var binding = injector.jitBindingData.getJitBinding(key);
-
-        if (binding != null) {
-          // If we found a JIT binding and we don't allow them,
-          // fail.  (But allow bindings created through TypeConverters.)
-          if (options.jitDisabled
-              && jitType == JitLimitation.NO_JIT
-              && !jitOverride
-              && !(binding instanceof ConvertedConstantBindingImpl)) {
-            throw errors.jitDisabled(key).toException();
-          } else {
-            return binding;
-          }
+    // Fast path: bindings that are already fully created can be read without locking.
+    var publishedBinding = getPublishedJitBinding(key);
+    if (publishedBinding != null) {
+      return checkJitAllowed(publishedBinding, key, errors, jitType, jitOverride);
+    }
+
+    // Only a thread that isn't already creating JIT bindings may publish, since a re-entrant
+    // lookup can see bindings that are still partially constructed.
+    Object lock = jitBindingData.lock();
+    boolean publish = !Thread.holdsLock(lock);
+    synchronized (lock) {
+      try {
+        return getOrCreateJustInTimeBinding(key, errors, jitType, jitOverride);
+      } finally {
+        if (publish) {
+          publishJitBindings();
         }
       }
+    }
+  }
+
+  /** Must be called while holding {@code jitBindingData.lock()}. */
+  private <T> BindingImpl<T> getOrCreateJustInTimeBinding(
+      Key<T> key, Errors errors, JitLimitation jitType, boolean jitOverride)
+      throws ErrorsException {
+    // first try to find a JIT binding that we've already created
+    for (InjectorImpl injector = this; injector != null; injector = injector.parent) {
+
+      var binding = injector.jitBindingData.getJitBinding(key);
+
+      if (binding != null) {
+        return checkJitAllowed(binding, key, errors, jitType, jitOverride);
+      }
+    }
+
+    // If we previously failed creating this JIT binding and our Errors has
+    // already recorded an error, then just directly throw that error.
+    // We need to do this because it's possible we already cleaned up the
+    // entry in jitBindings (during cleanup), and we may be trying
+    // to create it again (in the case of a recursive JIT binding).
+    // We need both of these guards for different reasons
+    // isFailedJitBinding: We want to continue processing if we've never
+    //   failed before, so that our initial error message contains
+    //   as much useful information as possible about what errors exist.
+    // errors.hasErrors: If we haven't already failed, then it's OK to
+    //   continue processing, to make sure the ultimate error message
+    //   is the correct one.
+    // See: ImplicitBindingsTest#testRecursiveJitBindingsCleanupCorrectly
+    // for where this guard comes into play.
+    if (jitBindingData.isFailedJitBinding(key) && errors.hasErrors()) {
+      throw errors.toException();
+    }
+    return createJustInTimeBindingRecursive(key, errors, options.jitDisabled, jitType);
+  }
 
-      // If we previously failed creating this JIT binding and our Errors has
-      // already recorded an error, then just directly throw that error.
-      // We need to do this because it's possible we already cleaned up the
-      // entry in jitBindings (during cleanup), and we may be trying
-      // to create it again (in the case of a recursive JIT binding).
-      // We need both of these guards for different reasons
-      // isFailedJitBinding: We want to continue processing if we've never
-      //   failed before, so that our initial error message contains
-      //   as much useful information as possible about what errors exist.
-      // errors.hasErrors: If we haven't already failed, then it's OK to
-      //   continue processing, to make sure the ultimate error message
-      //   is the correct one.
-      // See: ImplicitBindingsTest#testRecursiveJitBindingsCleanupCorrectly
-      // for where this guard comes into play.
-      if (jitBindingData.isFailedJitBinding(key) && errors.hasErrors()) {
-        throw errors.toException();
+  /** Publishes the JIT bindings created in this injector and its ancestors. */
+  private void publishJitBindings() {
+    for (InjectorImpl injector = this; injector != null; injector = injector.parent) {
+      injector.jitBindingData.publishJitBindings();
+    }
+  }
+
+  /**
+   * Returns the fully created JIT binding for {@code key} from this injector or its ancestors, or
+   * null if there is none. Doesn't require holding {@code jitBindingData.lock()}.
+   */
+  private <T> BindingImpl<T> getPublishedJitBinding(Key<T> key) {
+    for (InjectorImpl injector = this; injector != null; injector = injector.parent) {
+      var binding = injector.jitBindingData.getPublishedJitBinding(key);
+      if (binding != null) {
+        return binding;
       }
-      return createJustInTimeBindingRecursive(key, errors, options.jitDisabled, jitType);
-    } // end synchronized(jitBindingData.lock())
+    }
+    return null;
+  }
+
+  /** Returns {@code binding}, unless JIT bindings are disabled and it may not be used. */
+  private <T> BindingImpl<T> checkJitAllowed(
+      BindingImpl<T> binding, Key<T> key, Errors errors, JitLimitation jitType, boolean jitOverride)
+      throws ErrorsException {
+    // If we found a JIT binding and we don't allow them,
+    // fail.  (But allow bindings created through TypeConverters.)
+    if (options.jitDisabled
+        && jitType == JitLimitation.NO_JIT
+        && !jitOverride
+        && !(binding instanceof ConvertedConstantBindingImpl)) {
+      throw errors.jitDisabled(key).toException();
+    }
+    return binding;
   }
 
   /** Returns true if the key type is Provider (but not a subclass of Provider). */
@@ -1,12 +1,15 @@
 package com.google.inject.internal;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.inject.Key;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A container for most just-in-time (JIT) binding data corresponding to an Injector. It
@@ -16,6 +19,14 @@ import java.util.Set;
 final class InjectorJitBindingData {
   /** Just-in-time binding cache. Guarded by {@link #lock}. */
   private final Map<Key<?>, BindingImpl<?>> jitBindings = Maps.newHashMap();
+  /**
+   * Fully initialized just-in-time bindings, readable without holding {@link #lock}. This is a
+   * subset of {@link #jitBindings}, which also holds partially constructed bindings while they are
+   * being created (to support circular dependencies).
+   */
+  private final Map<Key<?>, BindingImpl<?>> publishedJitBindings = new ConcurrentHashMap<>();
+  /** Keys added to {@link #jitBindings} since they were last published. Guarded by {@link #lock}. */
+  private final List<Key<?>> unpublishedKeys = Lists.newArrayList();
   /**
    * Cache of Keys that we were unable to create JIT bindings for, so we don't keep trying. Guarded
    * by {@link #lock}.
@@ -53,12 +64,39 @@ final class InjectorJitBindingData {
 
   <T> void putJitBinding(Key<T> key, BindingImpl<T> binding) {
     jitBindings.put(key, binding);
+    unpublishedKeys.add(key);
   }
 
   void removeJitBinding(Key<?> key) {
+    publishedJitBindings.remove(key);
     jitBindings.remove(key);
   }
 
+  /**
+   * Returns the published JIT binding for {@code key}, or null if there is none yet. Unlike {@link
+   * #getJitBinding}, this may be called without holding {@link #lock}.
+   */
+  <T> BindingImpl<T> getPublishedJitBinding(Key<T> key) {
+    @SuppressWarnings("unchecked") // safe because putJitBinding maintains this relationship
+    BindingImpl<T> binding = (BindingImpl<T>) publishedJitBindings.get(key);
+    return binding;
+  }
+
+  /**
+   * Makes the JIT bindings added since the last call visible to lock-free readers. Must be called
+   * while holding {@link #lock}, and only by a thread that isn't in the middle of creating JIT
+   * bindings, otherwise partially constructed bindings could escape.
+   */
+  void publishJitBindings() {
+    for (Key<?> key : unpublishedKeys) {
+      BindingImpl<?> binding = jitBindings.get(key);
+      if (binding != null) {
+        publishedJitBindings.put(key, binding);
+      }
+    }
+    unpublishedKeys.clear();
+  }
+
   boolean isFailedJitBinding(Key<?> key) {
     return failedJitBindings.contains(key);
   }
@@ -22,9 +22,17 @@ import static com.google.common.base.Preconditions.checkState;
 import com.google.inject.Stage;
 import com.google.inject.internal.InjectorImpl.InjectorOptions;
 import com.google.inject.spi.DisableCircularProxiesOption;
+import com.google.inject.spi.InjectionPointSnapshot;
+import com.google.inject.spi.InjectionPointSnapshotOption;
+import com.google.inject.spi.InjectorCreationStatsOption;
+import com.google.inject.spi.InterceptorStackTracePruningOption;
+import com.google.inject.spi.SharedInterceptorDispatchOption;
+import com.google.inject.spi.ParallelInjectorCreationOption;
+import com.google.inject.spi.ProvisionMetricsOption;
 import com.google.inject.spi.RequireAtInjectOnConstructorsOption;
 import com.google.inject.spi.RequireExactBindingAnnotationsOption;
 import com.google.inject.spi.RequireExplicitBindingsOption;
+import java.util.concurrent.Executor;
 
 /**
  * A processor to gather injector options.
@@ -37,6 +45,12 @@ class InjectorOptionsProcessor extends AbstractProcessor {
   private boolean jitDisabled = false;
   private boolean atInjectRequired = false;
   private boolean exactBindingAnnotationsRequired = false;
+  private boolean provisionMetricsEnabled = false;
+  private boolean injectorCreationStatsEnabled = false;
+  private boolean interceptorStackTracePruningDisabled = false;
+  private boolean sharedInterceptorDispatchEnabled = false;
+  private InjectionPointSnapshot injectionPointSnapshot = null;
+  private Executor parallelCreationExecutor = null;
 
   InjectorOptionsProcessor(Errors errors) {
     super(errors);
@@ -66,6 +80,42 @@ class InjectorOptionsProcessor extends AbstractProcessor {
     return true;
   }
 
+  @Override
+  public Boolean visit(ProvisionMetricsOption option) {
+    provisionMetricsEnabled = true;
+    return true;
+  }
+
+  @Override
+  public Boolean visit(InjectorCreationStatsOption option) {
+    injectorCreationStatsEnabled = true;
+    return true;
+  }
+
+  @Override
+  public Boolean visit(InterceptorStackTracePruningOption option) {
+    interceptorStackTracePruningDisabled = true;
+    return true;
+  }
+
+  @Override
+  public Boolean visit(SharedInterceptorDispatchOption option) {
+    sharedInterceptorDispatchEnabled = true;
+    return true;
+  }
+
+  @Override
+  public Boolean visit(InjectionPointSnapshotOption option) {
+    injectionPointSnapshot = option.getSnapshot();
+    return true;
+  }
+
+  @Override
+  public Boolean visit(ParallelInjectorCreationOption option) {
+    parallelCreationExecutor = option.getExecutor();
+    return true;
+  }
+
   InjectorOptions getOptions(Stage stage, InjectorOptions parentOptions) {
     checkNotNull(stage, "stage must be set");
     if (parentOptions == null) {
@@ -74,7 +124,13 @@ class InjectorOptionsProcessor extends AbstractProcessor {
           jitDisabled,
           disableCircularProxies,
           atInjectRequired,
-          exactBindingAnnotationsRequired);
+          exactBindingAnnotationsRequired,
+          provisionMetricsEnabled,
+          injectorCreationStatsEnabled,
+          interceptorStackTracePruningDisabled,
+          sharedInterceptorDispatchEnabled,
+          injectionPointSnapshot,
+          parallelCreationExecutor);
     } else {
       checkState(stage == parentOptions.stage, "child & parent stage don't match");
       return new InjectorOptions(
@@ -82,7 +138,18 @@ class InjectorOptionsProcessor extends AbstractProcessor {
           jitDisabled || parentOptions.jitDisabled,
           disableCircularProxies || parentOptions.disableCircularProxies,
           atInjectRequired || parentOptions.atInjectRequired,
-          exactBindingAnnotationsRequired || parentOptions.exactBindingAnnotationsRequired);
+          exactBindingAnnotationsRequired || parentOptions.exactBindingAnnotationsRequired,
+          provisionMetricsEnabled || parentOptions.provisionMetricsEnabled,
+          injectorCreationStatsEnabled || parentOptions.injectorCreationStatsEnabled,
+          interceptorStackTracePruningDisabled
+              || parentOptions.interceptorStackTracePruningDisabled,
+          sharedInterceptorDispatchEnabled || parentOptions.sharedInterceptorDispatchEnabled,
+          injectionPointSnapshot != null
+              ? injectionPointSnapshot
+              : parentOptions.injectionPointSnapshot,
+          parallelCreationExecutor != null
+              ? parallelCreationExecutor
+              : parentOptions.parallelCreationExecutor);
     }
   }
 }
@@ -161,7 +161,13 @@ final class InjectorShell {
       } else {
         modules.add(0, new InheritedScannersModule(parent.getBindingData()));
       }
-      elements.addAll(Elements.getElements(stage, modules));
+      InjectorCreationStatsCollector creationStats = processedBindingData.getCreationStats();
+      if (creationStats != null) {
+        elements.addAll(
+            Elements.getElements(GUICE_INTERNAL, stage, modules, creationStats::recordModule));
+      } else {
+        elements.addAll(Elements.getElements(stage, modules));
+      }
 
       // Check binding source restrictions only for the root shell (note that the root shell
       // can have a parent Injector, when Injector.createChildInjector is called). It isn't
@@ -200,7 +206,8 @@ final class InjectorShell {
       List<ProvisionListenerBinding> provisionListenerBindings =
           injector.getBindingData().getProvisionListenerBindings();
       injector.provisionListenerStore =
-          new ProvisionListenerCallbackStore(provisionListenerBindings);
+          new ProvisionListenerCallbackStore(
+              provisionListenerBindings, injector.options.provisionMetricsEnabled);
       stopwatch.resetAndLog("TypeListeners & ProvisionListener creation");
 
       new ScopeBindingProcessor(errors).process(injector, elements);
@@ -18,10 +18,11 @@ package com.google.inject.internal;
 
 import static com.google.inject.internal.BytecodeGen.ENHANCER_BY_GUICE_MARKER;
 
-import com.google.common.collect.Lists;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.BiFunction;
 import org.aopalliance.intercept.MethodInterceptor;
@@ -32,6 +33,15 @@ import org.aopalliance.intercept.MethodInvocation;
  *
  * <p>Acts as a JDK {@link InvocationHandler} so the proxy using it can avoid Guice-specific types.
  *
+ * <p>The first interceptor is called directly, so a method with a single interceptor allocates
+ * nothing but the invocation passed to it. With shared dispatch (see {@link
+ * com.google.inject.Binder#enableSharedInterceptorDispatch}), the interceptors of a call share a
+ * single invocation.
+ *
+ * <p>Exceptions thrown through the interceptors have the frames of the AOP machinery pruned from
+ * their stack traces, unless the injector disabled that. An exception rethrown by several
+ * interceptors is only pruned by the innermost one.
+ *
  * @author crazybob@google.com (Bob Lee)
  */
 final class InterceptorStackCallback implements InvocationHandler {
@@ -40,19 +50,42 @@ final class InterceptorStackCallback implements InvocationHandler {
   final Method method;
   final MethodInterceptor[] interceptors;
   final BiFunction<Object, Object[], Object> superInvoker;
+  final boolean sharedDispatch;
+  final boolean pruneStackTraces;
+
+  /**
+   * The throwable last pruned by each thread. As an exception propagates out through the
+   * interceptors of a call, and the calls that intercepted methods make to each other, all but the
+   * first attempt to prune it find it here and return immediately.
+   */
+  private static final ThreadLocal<WeakReference<Throwable>> lastPruned = new ThreadLocal<>();
 
   public InterceptorStackCallback(
       Method method,
       List<MethodInterceptor> interceptors,
-      BiFunction<Object, Object[], Object> superInvoker) {
+      BiFunction<Object, Object[], Object> superInvoker,
+      boolean pruneStackTraces,
+      boolean sharedDispatch) {
     this.method = method;
     this.interceptors = interceptors.toArray(new MethodInterceptor[interceptors.size()]);
     this.superInvoker = superInvoker;
+    this.pruneStackTraces = pruneStackTraces;
+    this.sharedDispatch = sharedDispatch && this.interceptors.length > 1;
   }
 
   @Override
   public Object invoke(Object proxy, Method unused, Object[] arguments) throws Throwable {
-    return new InterceptedMethodInvocation(proxy, arguments, 0).proceed();
+    if (sharedDispatch) {
+      return new SharedMethodInvocation(proxy, arguments).proceed();
+    }
+    try {
+      return interceptors.length == 0
+          ? superInvoker.apply(proxy, arguments)
+          : interceptors[0].invoke(new InterceptedMethodInvocation(proxy, arguments, 1));
+    } catch (Throwable t) {
+      pruneStacktrace(t);
+      throw t;
+    }
   }
 
   private class InterceptedMethodInvocation implements MethodInvocation {
@@ -101,23 +134,98 @@ final class InterceptorStackCallback implements InvocationHandler {
     }
   }
 
+  /**
+   * An invocation shared by the interceptors of a call, which calls the next interceptor with
+   * itself after advancing its index. The index is restored when that interceptor returns, so
+   * interceptors can proceed more than once.
+   */
+  private class SharedMethodInvocation implements MethodInvocation {
+
+    final Object proxy;
+    final Object[] arguments;
+    int interceptorIndex;
+
+    public SharedMethodInvocation(Object proxy, Object[] arguments) {
+      this.proxy = proxy;
+      this.arguments = arguments;
+    }
+
+    @Override
+    public Object proceed() throws Throwable {
+      int index = interceptorIndex;
+      try {
+        if (index == interceptors.length) {
+          return superInvoker.apply(proxy, arguments);
+        }
+        interceptorIndex = index + 1;
+        return interceptors[index].invoke(this);
+      } catch (Throwable t) {
+        pruneStacktrace(t);
+        throw t;
+      } finally {
+        interceptorIndex = index;
+      }
+    }
+
+    @Override
+    public Method getMethod() {
+      return method;
+    }
+
+    @Override
+    public Object[] getArguments() {
+      return arguments;
+    }
+
+    @Override
+    public Object getThis() {
+      return proxy;
+    }
+
+    @Override
+    public AccessibleObject getStaticPart() {
+      return getMethod();
+    }
+  }
+
   /**
    * Removes stacktrace elements related to AOP internal mechanics from the throwable's stack trace
-   * and any causes it may have.
+   * and any causes it may have. Does nothing if pruning is disabled or the throwable was already
+   * pruned, and stops at a cause that was already pruned.
    */
   private void pruneStacktrace(Throwable throwable) {
-    for (Throwable t = throwable; t != null; t = t.getCause()) {
-      StackTraceElement[] stackTrace = t.getStackTrace();
-      List<StackTraceElement> pruned = Lists.newArrayList();
-      for (StackTraceElement element : stackTrace) {
-        String className = element.getClassName();
-        if (!className.startsWith(InterceptorStackCallback.class.getName())
-            && !className.startsWith(GUICE_INTERNAL_AOP_PACKAGE)
-            && !className.contains(ENHANCER_BY_GUICE_MARKER)) {
-          pruned.add(element);
-        }
+    if (!pruneStackTraces) {
+      return;
+    }
+    WeakReference<Throwable> lastPrunedReference = lastPruned.get();
+    Throwable alreadyPruned = lastPrunedReference != null ? lastPrunedReference.get() : null;
+    if (throwable == alreadyPruned) {
+      return;
+    }
+    for (Throwable t = throwable; t != null && t != alreadyPruned; t = t.getCause()) {
+      pruneStacktraceOf(t);
+    }
+    lastPruned.set(new WeakReference<>(throwable));
+  }
+
+  private static void pruneStacktraceOf(Throwable t) {
+    StackTraceElement[] stackTrace = t.getStackTrace();
+    int length = 0;
+    for (int i = 0; i < stackTrace.length; i++) {
+      if (!isInternalFrame(stackTrace[i])) {
+        stackTrace[length++] = stackTrace[i];
       }
-      t.setStackTrace(pruned.toArray(new StackTraceElement[pruned.size()]));
     }
+    // getStackTrace returns a copy, so it can be compacted in place and only set if it changed
+    if (length < stackTrace.length) {
+      t.setStackTrace(Arrays.copyOf(stackTrace, length));
+    }
+  }
+
+  private static boolean isInternalFrame(StackTraceElement element) {
+    String className = element.getClassName();
+    return className.startsWith(InterceptorStackCallback.class.getName())
+        || className.startsWith(GUICE_INTERNAL_AOP_PACKAGE)
+        || className.contains(ENHANCER_BY_GUICE_MARKER);
   }
 }
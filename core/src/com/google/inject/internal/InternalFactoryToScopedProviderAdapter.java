@@ -126,6 +126,10 @@ class InternalFactoryToScopedProviderAdapter<T> extends InternalFactory<T> {
     // See https://github.com/google/guice/issues/1802 for more details.
     @LazyInit private volatile Object value = UNINITIALIZED_VALUE;
 
+    // Shared by every handle linked before the value is initialized, so that initializing the
+    // value through any path relinks all of them to a constant at once.
+    @LazyInit private volatile SingletonCallSite callSite;
+
     ForSingletonScope(Provider<? extends T> provider, Object source) {
       super(provider, source);
     }
@@ -146,11 +150,20 @@ class InternalFactoryToScopedProviderAdapter<T> extends InternalFactory<T> {
       T t = super.get(context, dependency, linked);
       if (!context.areCircularProxiesEnabled() || !BytecodeGen.isCircularProxy(t)) {
         // Avoid caching circular proxies.
-        this.value = t;
+        cache(t);
       }
       return t;
     }
 
+    /** Caches the initialized value, and relinks the shared call site to it. */
+    private void cache(Object value) {
+      this.value = value;
+      SingletonCallSite callSite = this.callSite;
+      if (callSite != null) {
+        callSite.relink(value);
+      }
+    }
+
     @Override
     MethodHandleResult makeHandle(LinkageContext context, boolean linked) {
       // If it is somehow already initialized, we can return a constant handle.
@@ -159,9 +172,24 @@ class InternalFactoryToScopedProviderAdapter<T> extends InternalFactory<T> {
         return makeCachable(getHandleForConstant(source, value));
       }
       // Otherwise we bind to a callsite that will patch itself once it is initialized.
-      var result = super.makeHandle(context, linked);
-      checkState(result.cachability == MethodHandleResult.Cachability.ALWAYS);
-      return makeCachable(new SingletonCallSite(result.methodHandle, source).dynamicInvoker());
+      SingletonCallSite callSite = this.callSite;
+      if (callSite == null) {
+        synchronized (this) {
+          callSite = this.callSite;
+          if (callSite == null) {
+            var result = super.makeHandle(context, linked);
+            checkState(result.cachability == MethodHandleResult.Cachability.ALWAYS);
+            callSite = new SingletonCallSite(result.methodHandle, this);
+            this.callSite = callSite;
+          }
+        }
+      }
+      // The value may have been cached before the callsite was published.
+      value = this.value;
+      if (value != UNINITIALIZED_VALUE) {
+        callSite.relink(value);
+      }
+      return makeCachable(callSite.dynamicInvoker());
     }
 
     private static MethodHandle getHandleForConstant(Object source, Object value) {
@@ -186,11 +214,11 @@ class InternalFactoryToScopedProviderAdapter<T> extends InternalFactory<T> {
               "boostrapCallSite",
               methodType(Object.class, Object.class, InternalContext.class, Dependency.class));
 
-      private final Object source;
+      private final ForSingletonScope<?> factory;
 
-      SingletonCallSite(MethodHandle actualGetHandle, Object source) {
+      SingletonCallSite(MethodHandle actualGetHandle, ForSingletonScope<?> factory) {
         super(actualGetHandle.type());
-        this.source = source;
+        this.factory = factory;
         // Invoke the 'actual' handle and then pass the result to the `boostrapCallSite` method.
         // This will allow us to eventually 'fold' the result into the callsite.
         // (InternalContext, InternalContext) -> Object
@@ -203,15 +231,20 @@ class InternalFactoryToScopedProviderAdapter<T> extends InternalFactory<T> {
       Object boostrapCallSite(Object result, InternalContext context, Dependency<?> dependency) {
         // Don't cache circular, proxies.
         if (!context.areCircularProxiesEnabled() || !BytecodeGen.isCircularProxy(result)) {
-          setTarget(getHandleForConstant(source, result));
-          // This ensures that other threads will see the new target.  This isn't strictly necessary
-          // since the underlying provider is both ThreadSafe and idempotent, but it should improve
-          // performance by giving the JIT and easy optimization opportunity.
-          MutableCallSite.syncAll(new MutableCallSite[] {this});
+          // Also caches the value for the non-handle paths, which then stop calling the provider.
+          factory.cache(result);
         }
         // otherwise we shouldn't cache the result.
         return result;
       }
+
+      void relink(Object value) {
+        setTarget(getHandleForConstant(factory.source, value));
+        // This ensures that other threads will see the new target.  This isn't strictly necessary
+        // since the underlying provider is both ThreadSafe and idempotent, but it should improve
+        // performance by giving the JIT and easy optimization opportunity.
+        MutableCallSite.syncAll(new MutableCallSite[] {this});
+      }
     }
 
     private T getAndCache(InjectorImpl injector, Dependency<?> dependency)
@@ -17,6 +17,9 @@
 package com.google.inject.internal;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.inject.Binding;
 import com.google.inject.Injector;
 import com.google.inject.Key;
@@ -26,17 +29,32 @@ import com.google.inject.Provider;
 import com.google.inject.Scope;
 import com.google.inject.Stage;
 import com.google.inject.TypeLiteral;
+import com.google.inject.internal.aop.ClassBuilding;
+import com.google.inject.internal.aop.ClassBuilding.GeneratedClassCounter;
 import com.google.inject.internal.util.ContinuousStopwatch;
 import com.google.inject.spi.Dependency;
 import com.google.inject.spi.Element;
+import com.google.inject.spi.HasDependencies;
 import com.google.inject.spi.InjectionPoint;
+import com.google.inject.spi.InjectorCreationStats;
+import com.google.inject.spi.ProvisionMetrics;
 import com.google.inject.spi.TypeConverterBinding;
 import java.lang.annotation.Annotation;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import javax.annotation.Nullable;
 
 /**
  * Builds a tree of injectors. This is a primary injector, plus child injectors needed for each
@@ -63,6 +81,12 @@ public final class InternalInjectorCreator {
   private final ContinuousStopwatch stopwatch =
       new ContinuousStopwatch(Stopwatch.createUnstarted());
   private final Errors errors = new Errors();
+  /**
+   * Where creation statistics are recorded. Whether they're wanted is only known once the modules
+   * have been run, so they're always collected until then and dropped if the option is off.
+   */
+  @Nullable private InjectorCreationStatsCollector creationStats =
+      new InjectorCreationStatsCollector();
 
   private final Initializer initializer = new Initializer();
   private final ProcessedBindingData processedBindingData;
@@ -71,9 +95,41 @@ public final class InternalInjectorCreator {
   private final InjectorShell.Builder shellBuilder = new InjectorShell.Builder();
   private List<InjectorShell> shells;
 
+  /** Set on the threads of {@link #loadEagerSingletonsInParallel} while they create singletons. */
+  private static final ThreadLocal<Boolean> loadingEagerSingletonsInParallel = new ThreadLocal<>();
+
   public InternalInjectorCreator() {
     injectionRequestProcessor = new InjectionRequestProcessor(errors, initializer);
-    processedBindingData = new ProcessedBindingData();
+    stopwatch.setListener(creationStats::recordPhase);
+    processedBindingData = new ProcessedBindingData(creationStats);
+  }
+
+  /**
+   * Returns the statistics recorded while {@code injector} was created, or null if none were
+   * recorded.
+   */
+  public static InjectorCreationStats getCreationStats(Injector injector) {
+    InjectorImpl injectorImpl = unwrap(injector);
+    return injectorImpl != null ? injectorImpl.creationStats : null;
+  }
+
+  /**
+   * Returns a snapshot of the provision metrics of {@code injector}, or an empty map if it doesn't
+   * record them.
+   */
+  public static ImmutableMap<Key<?>, ProvisionMetrics> getProvisionMetrics(Injector injector) {
+    InjectorImpl injectorImpl = unwrap(injector);
+    return injectorImpl != null
+        ? injectorImpl.provisionListenerStore.getProvisionMetrics()
+        : ImmutableMap.of();
+  }
+
+  @Nullable
+  private static InjectorImpl unwrap(Injector injector) {
+    if (injector instanceof ToolStageInjector) {
+      injector = ((ToolStageInjector) injector).delegateInjector;
+    }
+    return injector instanceof InjectorImpl ? (InjectorImpl) injector : null;
   }
 
   public InternalInjectorCreator stage(Stage stage) {
@@ -96,21 +152,43 @@ public final class InternalInjectorCreator {
     return this;
   }
 
+  /** Stops recording creation statistics, for injectors that don't enable them. */
+  private void discardCreationStats(GeneratedClassCounter previousCounter) {
+    ClassBuilding.attachGeneratedClassCounter(previousCounter);
+    stopwatch.setListener(null);
+    processedBindingData.discardCreationStats();
+    creationStats = null;
+  }
+
   public Injector build() {
     if (shellBuilder == null) {
       throw new AssertionError("Already built, builders are not reusable.");
     }
 
-    // Synchronize while we're building up the bindings and other injector data. This ensures that
-    // the JIT bindings in the parent injector don't change while we're being built
-    synchronized (shellBuilder.lock()) {
-      shells = shellBuilder.build(initializer, processedBindingData, stopwatch, errors);
-      stopwatch.resetAndLog("Injector construction");
+    GeneratedClassCounter previousCounter = creationStats.attachToCurrentThread();
+    try {
+      // Synchronize while we're building up the bindings and other injector data. This ensures
+      // that the JIT bindings in the parent injector don't change while we're being built
+      synchronized (shellBuilder.lock()) {
+        shells = shellBuilder.build(initializer, processedBindingData, stopwatch, errors);
+        stopwatch.resetAndLog("Injector construction");
+        if (!shells.get(0).getInjector().options.injectorCreationStatsEnabled) {
+          discardCreationStats(previousCounter);
+        }
+
+        initializeStatically();
+      }
 
-      initializeStatically();
+      injectDynamically();
+    } finally {
+      if (creationStats != null) {
+        ClassBuilding.attachGeneratedClassCounter(previousCounter);
+      }
     }
 
-    injectDynamically();
+    if (creationStats != null) {
+      shells.get(0).getInjector().creationStats = creationStats.build();
+    }
 
     if (shellBuilder.getStage() == Stage.TOOL) {
       // wrap the primaryInjector in a ToolStageInjector
@@ -123,7 +201,7 @@ public final class InternalInjectorCreator {
 
   /** Initialize and validate everything. */
   private void initializeStatically() {
-    processedBindingData.initializeBindings();
+    processedBindingData.initializeBindings(parallelCreationExecutor(shells.get(0).getInjector()));
     stopwatch.resetAndLog("Binding initialization");
 
     for (InjectorShell shell : shells) {
@@ -203,16 +281,41 @@ public final class InternalInjectorCreator {
       // jit bindings must be accessed while holding the lock.
       candidateBindings.addAll(injector.getJitBindingData().getJitBindings().values());
     }
+    List<BindingImpl<?>> eagerSingletons = new ArrayList<>();
+    for (BindingImpl<?> binding : candidateBindings) {
+      if (isEagerSingleton(injector, binding, stage)) {
+        eagerSingletons.add(binding);
+      }
+    }
+    Executor executor = parallelCreationExecutor(injector);
+    if (executor != null) {
+      List<List<BindingImpl<?>>> groups =
+          groupByDependencyCycles(eagerSingletons, candidateBindings);
+      if (groups.size() > 1) {
+        loadEagerSingletonsInParallel(injector, groups, executor, creationStats, errors);
+        return;
+      }
+    }
+    loadEagerSingletons(injector, eagerSingletons, creationStats, errors);
+  }
+
+  private static void loadEagerSingletons(
+      InjectorImpl injector,
+      List<BindingImpl<?>> eagerSingletons,
+      @Nullable InjectorCreationStatsCollector creationStats,
+      Errors errors) {
     InternalContext context = injector.enterContext();
     try {
-      for (BindingImpl<?> binding : candidateBindings) {
-        if (isEagerSingleton(injector, binding, stage)) {
-          Dependency<?> dependency = Dependency.get(binding.getKey());
-          try {
-            binding.getInternalFactory().get(context, dependency, false);
-          } catch (InternalProvisionException e) {
-            errors.withSource(dependency).merge(e);
-          }
+      for (BindingImpl<?> binding : eagerSingletons) {
+        Dependency<?> dependency = Dependency.get(binding.getKey());
+        long startNanos = creationStats != null ? System.nanoTime() : 0;
+        try {
+          binding.getInternalFactory().get(context, dependency, false);
+        } catch (InternalProvisionException e) {
+          errors.withSource(dependency).merge(e);
+        }
+        if (creationStats != null) {
+          creationStats.recordEagerSingleton(binding.getKey(), startNanos);
         }
       }
     } finally {
@@ -220,6 +323,175 @@ public final class InternalInjectorCreator {
     }
   }
 
+  /**
+   * Returns the executor to create {@code injector} in parallel on, or null to create it on the
+   * current thread. That is always the case when the current thread already creates eager
+   * singletons for an injector in parallel, for example when one of them creates a child injector,
+   * as waiting for more tasks of the same executor could starve it; and when the current thread
+   * holds singleton locks of the injector, as the tasks could need them. Neither wait would be seen
+   * by the cycle detection of {@link SingletonScope}.
+   */
+  @Nullable
+  private static Executor parallelCreationExecutor(InjectorImpl injector) {
+    Executor executor = injector.options.parallelCreationExecutor;
+    if (executor == null
+        || loadingEagerSingletonsInParallel.get() != null
+        || injector.cycleDetectingLockGraph.isLockOwner(Thread.currentThread())) {
+      return null;
+    }
+    return executor;
+  }
+
+  /**
+   * Loads each group of eager singletons on its own task of {@code executor}. {@link
+   * SingletonScope} makes sure that singletons shared by several groups are still only created
+   * once, and its cycle detection covers dependencies that are only discovered at runtime. Errors
+   * are merged in group order so they are reported deterministically.
+   */
+  private static void loadEagerSingletonsInParallel(
+      InjectorImpl injector,
+      List<List<BindingImpl<?>>> groups,
+      Executor executor,
+      @Nullable InjectorCreationStatsCollector creationStats,
+      Errors errors) {
+    List<Errors> groupErrors = new ArrayList<>(groups.size());
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[groups.size()];
+    for (int i = 0; i < groups.size(); i++) {
+      List<BindingImpl<?>> group = groups.get(i);
+      Errors errorsForGroup = new Errors();
+      groupErrors.add(errorsForGroup);
+      futures[i] =
+          CompletableFuture.runAsync(
+              () -> {
+                GeneratedClassCounter previousCounter =
+                    creationStats != null ? creationStats.attachToCurrentThread() : null;
+                Boolean wasLoadingInParallel = loadingEagerSingletonsInParallel.get();
+                loadingEagerSingletonsInParallel.set(true);
+                try {
+                  loadEagerSingletons(injector, group, creationStats, errorsForGroup);
+                } finally {
+                  if (wasLoadingInParallel == null) {
+                    loadingEagerSingletonsInParallel.remove();
+                  }
+                  if (creationStats != null) {
+                    ClassBuilding.attachGeneratedClassCounter(previousCounter);
+                  }
+                }
+              },
+              executor);
+    }
+    try {
+      CompletableFuture.allOf(futures).join();
+    } catch (CompletionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    }
+    for (Errors errorsForGroup : groupErrors) {
+      errors.merge(errorsForGroup);
+    }
+  }
+
+  /**
+   * Partitions {@code eagerSingletons} into groups that can be created independently. Singletons
+   * whose bindings depend on each other in a cycle end up in the same group, as resolving such a
+   * cycle (with a circular proxy) needs a single {@link InternalContext}. Groups, and the
+   * singletons within them, keep the order of {@code eagerSingletons}.
+   */
+  private static List<List<BindingImpl<?>>> groupByDependencyCycles(
+      List<BindingImpl<?>> eagerSingletons, List<BindingImpl<?>> candidateBindings) {
+    Map<Key<?>, BindingImpl<?>> bindings = new HashMap<>();
+    for (BindingImpl<?> binding : candidateBindings) {
+      bindings.put(binding.getKey(), binding);
+    }
+    Map<Key<?>, Integer> components = stronglyConnectedComponents(bindings);
+    Map<Integer, List<BindingImpl<?>>> groups = new LinkedHashMap<>();
+    for (BindingImpl<?> binding : eagerSingletons) {
+      groups
+          .computeIfAbsent(components.get(binding.getKey()), unused -> new ArrayList<>())
+          .add(binding);
+    }
+    return new ArrayList<>(groups.values());
+  }
+
+  /**
+   * Returns the strongly connected component of every key in {@code bindings}, following binding
+   * dependencies between them. This is Tarjan's algorithm, done iteratively because dependency
+   * chains can be deeper than the stack allows.
+   */
+  private static Map<Key<?>, Integer> stronglyConnectedComponents(
+      Map<Key<?>, BindingImpl<?>> bindings) {
+    Map<Key<?>, Integer> index = new HashMap<>();
+    Map<Key<?>, Integer> lowLink = new HashMap<>();
+    Map<Key<?>, Integer> components = new HashMap<>();
+    Deque<Key<?>> componentStack = new ArrayDeque<>();
+    Set<Key<?>> onComponentStack = new HashSet<>();
+    Deque<Key<?>> callStack = new ArrayDeque<>();
+    Deque<Iterator<Key<?>>> successorsStack = new ArrayDeque<>();
+    int nextIndex = 0;
+    int nextComponent = 0;
+    for (Key<?> root : bindings.keySet()) {
+      if (index.containsKey(root)) {
+        continue;
+      }
+      Key<?> next = root;
+      while (next != null || !callStack.isEmpty()) {
+        if (next != null) {
+          index.put(next, nextIndex);
+          lowLink.put(next, nextIndex);
+          nextIndex++;
+          componentStack.push(next);
+          onComponentStack.add(next);
+          callStack.push(next);
+          successorsStack.push(successors(bindings, next).iterator());
+          next = null;
+          continue;
+        }
+        Key<?> node = callStack.peek();
+        Iterator<Key<?>> successors = successorsStack.peek();
+        if (successors.hasNext()) {
+          Key<?> successor = successors.next();
+          if (!index.containsKey(successor)) {
+            next = successor;
+          } else if (onComponentStack.contains(successor)) {
+            lowLink.put(node, Math.min(lowLink.get(node), index.get(successor)));
+          }
+          continue;
+        }
+        callStack.pop();
+        successorsStack.pop();
+        if (lowLink.get(node).equals(index.get(node))) {
+          Key<?> member;
+          do {
+            member = componentStack.pop();
+            onComponentStack.remove(member);
+            components.put(member, nextComponent);
+          } while (!member.equals(node));
+          nextComponent++;
+        }
+        if (!callStack.isEmpty()) {
+          Key<?> caller = callStack.peek();
+          lowLink.put(caller, Math.min(lowLink.get(caller), lowLink.get(node)));
+        }
+      }
+    }
+    return components;
+  }
+
+  /** Returns the keys in {@code bindings} that the binding for {@code key} depends on. */
+  private static List<Key<?>> successors(Map<Key<?>, BindingImpl<?>> bindings, Key<?> key) {
+    BindingImpl<?> binding = bindings.get(key);
+    if (!(binding instanceof HasDependencies)) {
+      return ImmutableList.of();
+    }
+    List<Key<?>> successors = new ArrayList<>();
+    for (Dependency<?> dependency : ((HasDependencies) binding).getDependencies()) {
+      if (bindings.containsKey(dependency.getKey())) {
+        successors.add(dependency.getKey());
+      }
+    }
+    return successors;
+  }
+
   private boolean isEagerSingleton(InjectorImpl injector, BindingImpl<?> binding, Stage stage) {
     if (binding.getScoping().isEagerSingleton(stage)) {
       return true;
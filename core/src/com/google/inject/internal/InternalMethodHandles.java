@@ -431,6 +431,10 @@ public final class InternalMethodHandles {
     if (listener == null) {
       return delegate;
     }
+    if (!listener.hasListeners()) {
+      // Only recording metrics, which we can do without allocating a ProvisionCallback.
+      return recordProvisionMetrics(delegate, listener.getMetrics());
+    }
     // (InternalContext, Dependency, ProvisionCallback)->Object
     var provision = PROVISION_CALLBACK_PROVISION_HANDLE.bindTo(listener);
     // Support a few kinds of provision callbacks, as needed.
@@ -477,6 +481,45 @@ public final class InternalMethodHandles {
     }
   }
 
+  /**
+   * Returns a handle with the same signature as the delegate that records the time each invocation
+   * takes in {@code metrics}. The start time is threaded through as a {@code long} argument, so
+   * nothing is allocated per invocation.
+   */
+  private static MethodHandle recordProvisionMetrics(
+      MethodHandle delegate, BindingProvisionMetrics metrics) {
+    var returnType = delegate.type().returnType();
+    // (Throwable, R, long)->R
+    var cleanup =
+        MethodHandles.insertArguments(RECORD_PROVISION_HANDLE, 0, metrics)
+            .asType(methodType(returnType, Throwable.class, returnType, long.class));
+    // (long, InternalContext, Dependency, ...)->R
+    var timed =
+        MethodHandles.tryFinally(MethodHandles.dropArguments(delegate, 0, long.class), cleanup);
+    return MethodHandles.foldArguments(timed, NANO_TIME_HANDLE);
+  }
+
+  private static final MethodHandle NANO_TIME_HANDLE =
+      findStaticOrDie(System.class, "nanoTime", methodType(long.class));
+
+  private static final MethodHandle RECORD_PROVISION_HANDLE =
+      findStaticOrDie(
+          InternalMethodHandles.class,
+          "recordProvision",
+          methodType(
+              Object.class,
+              BindingProvisionMetrics.class,
+              Throwable.class,
+              Object.class,
+              long.class));
+
+  @Keep
+  private static Object recordProvision(
+      BindingProvisionMetrics metrics, Throwable unused, Object result, long startNanos) {
+    metrics.record(System.nanoTime() - startNanos);
+    return result;
+  }
+
   private static final MethodHandle MAKE_PROVISION_CALLBACK_1_HANDLE =
       findStaticOrDie(
           InternalMethodHandles.class,
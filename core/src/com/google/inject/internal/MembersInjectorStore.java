@@ -17,6 +17,7 @@
 package com.google.inject.internal;
 
 import static com.google.common.collect.ImmutableListMultimap.flatteningToImmutableListMultimap;
+import static com.google.inject.internal.GuiceInternal.GUICE_INTERNAL;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
@@ -25,12 +26,15 @@ import com.google.common.collect.Sets;
 import com.google.inject.ConfigurationException;
 import com.google.inject.TypeLiteral;
 import com.google.inject.spi.InjectionPoint;
+import com.google.inject.spi.InjectionPointSnapshot;
 import com.google.inject.spi.TypeListener;
 import com.google.inject.spi.TypeListenerBinding;
 import java.lang.reflect.Field;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Members injectors by type.
@@ -50,6 +54,10 @@ final class MembersInjectorStore {
         }
       };
 
+  /** Injectable members scanned ahead of time, consumed when the members injector is created. */
+  private final Map<TypeLiteral<?>, Set<InjectionPoint>> preloadedInjectionPoints =
+      new ConcurrentHashMap<>();
+
   MembersInjectorStore(InjectorImpl injector, List<TypeListenerBinding> typeListenerBindings) {
     this.injector = injector;
     this.typeListenerBindings = ImmutableList.copyOf(typeListenerBindings);
@@ -82,17 +90,52 @@ final class MembersInjectorStore {
     return cache.remove(type);
   }
 
+  /**
+   * Scans the injectable members of {@code type} so a later {@link #get} doesn't have to. This does
+   * no more than reflection and may be called from any thread. Types with invalid members are not
+   * preloaded, so their errors are reported by {@link #get} as usual.
+   */
+  void preloadInjectionPoints(TypeLiteral<?> type) {
+    try {
+      preloadedInjectionPoints.put(type, forInstanceMethodsAndFields(type));
+    } catch (ConfigurationException e) {
+      // reported when the members injector is created
+    }
+  }
+
+  /** Drops injection points that were preloaded but never used. */
+  void clearPreloadedInjectionPoints() {
+    preloadedInjectionPoints.clear();
+  }
+
+  /**
+   * Returns the injectable members of {@code type}, from the injector's snapshot if it has one that
+   * contains the type.
+   */
+  private Set<InjectionPoint> forInstanceMethodsAndFields(TypeLiteral<?> type) {
+    InjectionPointSnapshot snapshot = injector.options.injectionPointSnapshot;
+    if (snapshot != null) {
+      Set<InjectionPoint> injectionPoints = snapshot.getInstanceMembers(GUICE_INTERNAL, type);
+      if (injectionPoints != null) {
+        return injectionPoints;
+      }
+    }
+    return InjectionPoint.forInstanceMethodsAndFields(type);
+  }
+
   /** Creates a new members injector and attaches both injection listeners and method aspects. */
   private <T> MembersInjectorImpl<T> createWithListeners(TypeLiteral<T> type, Errors errors)
       throws ErrorsException {
     int numErrorsBefore = errors.size();
 
-    Set<InjectionPoint> injectionPoints;
-    try {
-      injectionPoints = InjectionPoint.forInstanceMethodsAndFields(type);
-    } catch (ConfigurationException e) {
-      errors.merge(e.getErrorMessages());
-      injectionPoints = e.getPartialValue();
+    Set<InjectionPoint> injectionPoints = preloadedInjectionPoints.remove(type);
+    if (injectionPoints == null) {
+      try {
+        injectionPoints = forInstanceMethodsAndFields(type);
+      } catch (ConfigurationException e) {
+        errors.merge(e.getErrorMessages());
+        injectionPoints = e.getPartialValue();
+      }
     }
     ImmutableList<SingleMemberInjector> injectors = getInjectors(injectionPoints, errors);
     errors.throwIfNewErrors(numErrorsBefore);
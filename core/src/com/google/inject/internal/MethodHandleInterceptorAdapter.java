@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.inject.internal.InternalMethodHandles.findStaticOrDie;
+import static com.google.inject.internal.InternalMethodHandles.findVirtualOrDie;
+import static java.lang.invoke.MethodType.methodType;
+
+import com.google.inject.spi.MethodHandleInterceptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.BiFunction;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Binds a {@link MethodHandleInterceptor} like any other {@link MethodInterceptor}, so it shows up
+ * in {@link com.google.inject.spi.InterceptorBinding}s and {@link
+ * com.google.inject.spi.ConstructorBinding#getMethodInterceptors}.
+ *
+ * <p>{@link ProxyFactory} recognizes these interceptors and weaves their handles into the enhanced
+ * class with {@link #interceptorChain}. Only if they're called as method interceptors, for example
+ * when the enhancer has no typed handles, is the handle built and invoked for each call.
+ */
+public final class MethodHandleInterceptorAdapter implements MethodInterceptor {
+
+  private static final MethodHandle PROCEED_HANDLE =
+      findStaticOrDie(
+          MethodHandleInterceptorAdapter.class,
+          "proceed",
+          methodType(Object.class, MethodInvocation.class, Object.class, Object[].class));
+
+  private static final MethodHandle INVOCATION_HANDLER_INVOKE_HANDLE =
+      findVirtualOrDie(
+          InvocationHandler.class,
+          "invoke",
+          methodType(Object.class, Object.class, Method.class, Object[].class));
+
+  private final MethodHandleInterceptor interceptor;
+
+  public MethodHandleInterceptorAdapter(MethodHandleInterceptor interceptor) {
+    this.interceptor = checkNotNull(interceptor, "interceptor");
+  }
+
+  public MethodHandleInterceptor getInterceptor() {
+    return interceptor;
+  }
+
+  /** Returns the type of handles that intercept the method. */
+  static MethodType handleType(Method method) {
+    return methodType(method.getReturnType(), method.getParameterTypes())
+        .insertParameterTypes(0, Object.class);
+  }
+
+  /** Returns the interceptor's handle for the method, which must have the type of the target. */
+  MethodHandle intercept(Method method, MethodHandle target) {
+    MethodHandle handle = interceptor.intercept(method, target);
+    if (handle == null || !handle.type().equals(target.type())) {
+      throw new IllegalStateException(
+          String.format(
+              "%s returned %s for %s, but the handle must have type %s",
+              interceptor, handle, method, target.type()));
+    }
+    return handle;
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    Method method = invocation.getMethod();
+    int parameterCount = method.getParameterCount();
+    MethodHandle proceed =
+        MethodHandles.insertArguments(PROCEED_HANDLE, 0, invocation)
+            .asCollector(Object[].class, parameterCount)
+            .asType(handleType(method));
+    return intercept(method, proceed)
+        .asSpreader(Object[].class, parameterCount)
+        .invoke(invocation.getThis(), invocation.getArguments());
+  }
+
+  /** Proceeds with the arguments the interceptor passed to its target. */
+  static Object proceed(MethodInvocation invocation, Object unused, Object[] arguments)
+      throws Throwable {
+    System.arraycopy(arguments, 0, invocation.getArguments(), 0, arguments.length);
+    return invocation.proceed();
+  }
+
+  /**
+   * Returns a handle with the type of {@code superHandle} that calls the interceptors in order, and
+   * then the original method. Method handle interceptors are composed directly; each run of other
+   * method interceptors is called through an {@link InterceptorStackCallback}, with boxed
+   * arguments.
+   */
+  static MethodHandle interceptorChain(
+      Method method,
+      List<MethodInterceptor> interceptors,
+      MethodHandle superHandle,
+      boolean pruneStackTraces,
+      boolean sharedDispatch) {
+    MethodHandle target = superHandle;
+    int end = interceptors.size();
+    for (int i = end - 1; i >= 0; i--) {
+      MethodInterceptor interceptor = interceptors.get(i);
+      if (interceptor instanceof MethodHandleInterceptorAdapter) {
+        if (i + 1 < end) {
+          target =
+              stackCallback(
+                  method,
+                  interceptors.subList(i + 1, end),
+                  target,
+                  pruneStackTraces,
+                  sharedDispatch);
+        }
+        target = ((MethodHandleInterceptorAdapter) interceptor).intercept(method, target);
+        end = i;
+      }
+    }
+    if (end > 0) {
+      target =
+          stackCallback(
+              method, interceptors.subList(0, end), target, pruneStackTraces, sharedDispatch);
+    }
+    return target;
+  }
+
+  /** Returns a handle with the type of the target that calls the interceptors, then the target. */
+  private static MethodHandle stackCallback(
+      Method method,
+      List<MethodInterceptor> interceptors,
+      MethodHandle target,
+      boolean pruneStackTraces,
+      boolean sharedDispatch) {
+    int parameterCount = method.getParameterCount();
+    MethodHandle spreadTarget =
+        target
+            .asSpreader(Object[].class, parameterCount)
+            .asType(methodType(Object.class, Object.class, Object[].class));
+    BiFunction<Object, Object[], Object> superInvoker =
+        (proxy, arguments) -> {
+          try {
+            return (Object) spreadTarget.invokeExact(proxy, arguments);
+          } catch (Throwable t) {
+            throw InternalMethodHandles.sneakyThrow(t);
+          }
+        };
+    InvocationHandler callback =
+        new InterceptorStackCallback(
+            method, interceptors, superInvoker, pruneStackTraces, sharedDispatch);
+    return MethodHandles.insertArguments(
+            INVOCATION_HANDLER_INVOKE_HANDLE.bindTo(callback), 1, (Object) null)
+        .asCollector(Object[].class, parameterCount)
+        .asType(target.type());
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return obj instanceof MethodHandleInterceptorAdapter
+        && interceptor.equals(((MethodHandleInterceptorAdapter) obj).interceptor);
+  }
+
+  @Override
+  public int hashCode() {
+    return interceptor.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return interceptor.toString();
+  }
+}
@@ -16,8 +16,15 @@
 
 package com.google.inject.internal;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import javax.annotation.Nullable;
 
 /**
  * Keeps track of creation listeners and uninitialized bindings, so they can be processed after
@@ -30,6 +37,24 @@ class ProcessedBindingData {
   private final List<CreationListener> creationListeners = Lists.newArrayList();
   private final List<Runnable> uninitializedBindings = Lists.newArrayList();
   private final List<Runnable> delayedUninitializedBindings = Lists.newArrayList();
+  private final List<ConstructorBindingImpl<?>> uninitializedConstructorBindings =
+      Lists.newArrayList();
+  @Nullable private InjectorCreationStatsCollector creationStats;
+
+  ProcessedBindingData(@Nullable InjectorCreationStatsCollector creationStats) {
+    this.creationStats = creationStats;
+  }
+
+  /** Returns where to record injector creation statistics, or null if they're not recorded. */
+  @Nullable
+  InjectorCreationStatsCollector getCreationStats() {
+    return creationStats;
+  }
+
+  /** Stops recording creation statistics. */
+  void discardCreationStats() {
+    creationStats = null;
+  }
 
   void addCreationListener(CreationListener listener) {
     creationListeners.add(listener);
@@ -43,11 +68,61 @@ class ProcessedBindingData {
     delayedUninitializedBindings.add(runnable);
   }
 
-  /** Initialize bindings. This may be done eagerly */
-  void initializeBindings() {
+  /**
+   * Tracks a constructor binding that was also scheduled with {@link #addUninitializedBinding}, so
+   * its reflection can be done ahead of time.
+   */
+  void addUninitializedConstructorBinding(ConstructorBindingImpl<?> binding) {
+    uninitializedConstructorBindings.add(binding);
+  }
+
+  /**
+   * Initialize bindings. This may be done eagerly
+   *
+   * @param executor scans constructor bindings in parallel, or null to scan them one by one
+   */
+  void initializeBindings(@Nullable Executor executor) {
+    boolean preload = executor != null && uninitializedConstructorBindings.size() > 1;
+    if (preload) {
+      preloadInjectionPoints(executor);
+    }
     for (Runnable initializer : uninitializedBindings) {
       initializer.run();
     }
+    if (preload) {
+      for (ConstructorBindingImpl<?> binding : uninitializedConstructorBindings) {
+        binding.getInjector().membersInjectorStore.clearPreloadedInjectionPoints();
+      }
+    }
+  }
+
+  /**
+   * Scans the injectable members of every constructor binding in parallel. Initialization itself
+   * stays on the calling thread, which holds the injector lock and so is the only one that can
+   * create just-in-time bindings; it picks the scanned members up in binding order, so bindings and
+   * errors come out the same as without preloading.
+   */
+  private void preloadInjectionPoints(Executor executor) {
+    Set<ConstructorBindingImpl<?>> bindings = Sets.newIdentityHashSet();
+    bindings.addAll(uninitializedConstructorBindings);
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[bindings.size()];
+    int i = 0;
+    for (ConstructorBindingImpl<?> binding : bindings) {
+      futures[i++] =
+          CompletableFuture.runAsync(
+              () ->
+                  binding
+                      .getInjector()
+                      .membersInjectorStore
+                      .preloadInjectionPoints(binding.getInternalConstructor().getDeclaringType()),
+              executor);
+    }
+    try {
+      CompletableFuture.allOf(futures).join();
+    } catch (CompletionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    }
   }
 
   /**
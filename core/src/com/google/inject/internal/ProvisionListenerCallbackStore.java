@@ -20,6 +20,7 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.inject.Binding;
@@ -28,8 +29,13 @@ import com.google.inject.Key;
 import com.google.inject.Stage;
 import com.google.inject.spi.ProvisionListener;
 import com.google.inject.spi.ProvisionListenerBinding;
+import com.google.inject.spi.ProvisionMetrics;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * {@link ProvisionListenerStackCallback} for each key.
@@ -45,6 +51,9 @@ final class ProvisionListenerCallbackStore {
 
   private final ImmutableList<ProvisionListenerBinding> listenerBindings;
 
+  /** Provision metrics by key, or null if metrics aren't enabled. */
+  @Nullable private final ConcurrentMap<Key<?>, BindingProvisionMetrics> provisionMetrics;
+
   private final LoadingCache<KeyBinding, ProvisionListenerStackCallback<?>> cache =
       CacheBuilder.newBuilder()
           .build(
@@ -55,13 +64,15 @@ final class ProvisionListenerCallbackStore {
                 }
               });
 
-  ProvisionListenerCallbackStore(List<ProvisionListenerBinding> listenerBindings) {
+  ProvisionListenerCallbackStore(
+      List<ProvisionListenerBinding> listenerBindings, boolean provisionMetricsEnabled) {
     this.listenerBindings = ImmutableList.copyOf(listenerBindings);
+    this.provisionMetrics = provisionMetricsEnabled ? new ConcurrentHashMap<>() : null;
   }
 
   /**
    * Returns a new {@link ProvisionListenerStackCallback} for the key or {@code null} if there are
-   * no listeners
+   * no listeners and provision metrics aren't enabled.
    */
   @SuppressWarnings(
       "unchecked") // the ProvisionListenerStackCallback type always agrees with the passed type
@@ -71,7 +82,7 @@ final class ProvisionListenerCallbackStore {
       ProvisionListenerStackCallback<T> callback =
           (ProvisionListenerStackCallback<T>)
               cache.getUnchecked(new KeyBinding(binding.getKey(), binding));
-      return callback.hasListeners() ? callback : null;
+      return callback.hasListeners() || callback.hasMetrics() ? callback : null;
     }
     return null;
   }
@@ -86,9 +97,30 @@ final class ProvisionListenerCallbackStore {
    * <p>Returns true if the type was stored in the cache, false otherwise.
    */
   boolean remove(Binding<?> type) {
+    if (provisionMetrics != null) {
+      provisionMetrics.remove(type.getKey());
+    }
     return cache.asMap().remove(type) != null;
   }
 
+  /**
+   * Returns a snapshot of the provision metrics of each key provisioned so far, or an empty map if
+   * metrics aren't enabled.
+   */
+  ImmutableMap<Key<?>, ProvisionMetrics> getProvisionMetrics() {
+    if (provisionMetrics == null) {
+      return ImmutableMap.of();
+    }
+    ImmutableMap.Builder<Key<?>, ProvisionMetrics> builder = ImmutableMap.builder();
+    for (Map.Entry<Key<?>, BindingProvisionMetrics> entry : provisionMetrics.entrySet()) {
+      ProvisionMetrics snapshot = entry.getValue().snapshot();
+      if (snapshot.getCount() > 0) {
+        builder.put(entry.getKey(), snapshot);
+      }
+    }
+    return builder.buildOrThrow();
+  }
+
   /**
    * Creates a new {@link ProvisionListenerStackCallback} with the correct listeners for the key.
    */
@@ -102,12 +134,17 @@ final class ProvisionListenerCallbackStore {
         listeners.addAll(provisionBinding.getListeners());
       }
     }
-    if (listeners == null || listeners.isEmpty()) {
+    BindingProvisionMetrics metrics =
+        provisionMetrics == null
+            ? null
+            : provisionMetrics.computeIfAbsent(binding.getKey(), BindingProvisionMetrics::new);
+    if ((listeners == null || listeners.isEmpty()) && metrics == null) {
       // Optimization: don't bother constructing the callback if there are
       // no listeners.
       return ProvisionListenerStackCallback.emptyListener();
     }
-    return new ProvisionListenerStackCallback<T>(binding, listeners);
+    return new ProvisionListenerStackCallback<T>(
+        binding, listeners == null ? ImmutableList.of() : listeners, metrics);
   }
 
   /** A struct that holds key and binding but uses just key for equality/hashcode. */
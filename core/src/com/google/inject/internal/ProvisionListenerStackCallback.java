@@ -24,6 +24,7 @@ import com.google.inject.spi.Dependency;
 import com.google.inject.spi.ProvisionListener;
 import java.util.List;
 import java.util.Set;
+import javax.annotation.Nullable;
 
 /**
  * Intercepts provisions with a stack of listeners.
@@ -36,18 +37,23 @@ final class ProvisionListenerStackCallback<T> {
 
   @SuppressWarnings({"rawtypes", "unchecked"})
   private static final ProvisionListenerStackCallback<?> EMPTY_CALLBACK =
-      new ProvisionListenerStackCallback(null /* unused, so ok */, ImmutableList.of());
+      new ProvisionListenerStackCallback(null /* unused, so ok */, ImmutableList.of(), null);
 
   private final ProvisionListener[] listeners;
   private final Binding<T> binding;
+  @Nullable private final BindingProvisionMetrics metrics;
 
   @SuppressWarnings("unchecked")
   public static <T> ProvisionListenerStackCallback<T> emptyListener() {
     return (ProvisionListenerStackCallback<T>) EMPTY_CALLBACK;
   }
 
-  public ProvisionListenerStackCallback(Binding<T> binding, List<ProvisionListener> listeners) {
+  public ProvisionListenerStackCallback(
+      Binding<T> binding,
+      List<ProvisionListener> listeners,
+      @Nullable BindingProvisionMetrics metrics) {
     this.binding = binding;
+    this.metrics = metrics;
     if (listeners.isEmpty()) {
       this.listeners = EMPTY_LISTENER;
     } else {
@@ -60,10 +66,24 @@ final class ProvisionListenerStackCallback<T> {
     return listeners.length > 0;
   }
 
+  public boolean hasMetrics() {
+    return metrics != null;
+  }
+
+  /** Returns where provisions are recorded, or null if provision metrics aren't enabled. */
+  @Nullable
+  BindingProvisionMetrics getMetrics() {
+    return metrics;
+  }
+
   @CanIgnoreReturnValue
   public T provision(
       InternalContext context, Dependency<?> dependency, ProvisionCallback<T> callable)
       throws InternalProvisionException {
+    if (listeners.length == 0) {
+      // Only recording metrics, skip the Provision allocation.
+      return callAndRecord(context, dependency, callable);
+    }
     Provision provision = new Provision(context, dependency, callable);
     RuntimeException caught = null;
     try {
@@ -89,6 +109,20 @@ final class ProvisionListenerStackCallback<T> {
     }
   }
 
+  private T callAndRecord(
+      InternalContext context, Dependency<?> dependency, ProvisionCallback<T> callable)
+      throws InternalProvisionException {
+    if (metrics == null) {
+      return callable.call(context, dependency);
+    }
+    long startNanos = System.nanoTime();
+    try {
+      return callable.call(context, dependency);
+    } finally {
+      metrics.record(System.nanoTime() - startNanos);
+    }
+  }
+
   interface ProvisionCallback<T> {
     T call(InternalContext context, Dependency<?> dependency) throws InternalProvisionException;
   }
@@ -113,7 +147,7 @@ final class ProvisionListenerStackCallback<T> {
       index++;
       if (index == listeners.length) {
         try {
-          result = callable.call(context, dependency);
+          result = callAndRecord(context, dependency, callable);
         } catch (InternalProvisionException ipe) {
           exceptionDuringProvision = ipe;
           throw ipe.toProvisionException();
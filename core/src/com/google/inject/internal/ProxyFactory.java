@@ -30,6 +30,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 import java.util.function.BiFunction;
@@ -52,10 +53,19 @@ final class ProxyFactory<T> implements ConstructionProxyFactory<T> {
 
   private final Function<String, BiFunction<Object, Object[], Object>> enhancer;
   private final ImmutableMap<Method, List<MethodInterceptor>> interceptors;
-  private final InvocationHandler[] callbacks;
+  private final Object[] callbacks;
 
   ProxyFactory(InjectionPoint injectionPoint, Iterable<MethodAspect> methodAspects)
       throws ErrorsException {
+    this(injectionPoint, methodAspects, true, false);
+  }
+
+  ProxyFactory(
+      InjectionPoint injectionPoint,
+      Iterable<MethodAspect> methodAspects,
+      boolean pruneStackTraces,
+      boolean sharedDispatch)
+      throws ErrorsException {
     this.injectionPoint = injectionPoint;
 
     Class<?> hostClass = injectionPoint.getMember().getDeclaringClass();
@@ -116,7 +126,8 @@ final class ProxyFactory<T> implements ConstructionProxyFactory<T> {
       throw new Errors().errorEnhancingClass(hostClass, e).toException();
     }
 
-    callbacks = new InvocationHandler[matchedMethodIndices.cardinality()];
+    Object[] callbacks = new Object[matchedMethodIndices.cardinality()];
+    boolean handlesWoven = false;
 
     ImmutableMap.Builder<Method, List<MethodInterceptor>> interceptorsMapBuilder =
         ImmutableMap.builder();
@@ -131,13 +142,46 @@ final class ProxyFactory<T> implements ConstructionProxyFactory<T> {
           ImmutableSet.copyOf(matchedInterceptors.get(method)).asList();
       interceptorsMapBuilder.put(method, deDuplicated);
 
-      BiFunction<Object, Object[], Object> superInvoker = BytecodeGen.superMethod(enhancer, method);
-      callbacks[callbackIndex++] = new InterceptorStackCallback(method, deDuplicated, superInvoker);
+      MethodHandle superHandle =
+          hasMethodHandleInterceptor(deDuplicated)
+              ? BytecodeGen.superMethodHandle(enhancer, method)
+              : null;
+      if (superHandle != null) {
+        try {
+          callbacks[callbackIndex++] =
+              MethodHandleInterceptorAdapter.interceptorChain(
+                  method, deDuplicated, superHandle, pruneStackTraces, sharedDispatch);
+        } catch (RuntimeException e) {
+          throw new Errors().errorEnhancingClass(hostClass, e).toException();
+        }
+        handlesWoven = true;
+      } else {
+        BiFunction<Object, Object[], Object> superInvoker =
+            BytecodeGen.superMethod(enhancer, method);
+        callbacks[callbackIndex++] =
+            new InterceptorStackCallback(
+                method, deDuplicated, superInvoker, pruneStackTraces, sharedDispatch);
+      }
     }
 
+    // glue pregenerated without typed handles expects an array of invocation handlers
+    this.callbacks =
+        handlesWoven
+            ? callbacks
+            : Arrays.copyOf(callbacks, callbacks.length, InvocationHandler[].class);
+
     interceptors = interceptorsMapBuilder.buildOrThrow();
   }
 
+  private static boolean hasMethodHandleInterceptor(List<MethodInterceptor> interceptors) {
+    for (MethodInterceptor interceptor : interceptors) {
+      if (interceptor instanceof MethodHandleInterceptorAdapter) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /** Returns the interceptors that apply to the constructed type. */
   public ImmutableMap<Method, List<MethodInterceptor>> getInterceptors() {
     return interceptors;
@@ -166,14 +210,14 @@ final class ProxyFactory<T> implements ConstructionProxyFactory<T> {
     final Constructor<T> constructor;
     final BiFunction<Object, Object[], Object> enhancedConstructor;
     final ImmutableMap<Method, List<MethodInterceptor>> interceptors;
-    final InvocationHandler[] callbacks;
+    final Object[] callbacks;
 
     @SuppressWarnings("unchecked") // the constructor promises to construct 'T's
     ProxyConstructor(
         InjectionPoint injectionPoint,
         Function<String, BiFunction<Object, Object[], Object>> enhancer,
         ImmutableMap<Method, List<MethodInterceptor>> interceptors,
-        InvocationHandler[] callbacks) {
+        Object[] callbacks) {
       this.injectionPoint = injectionPoint;
       this.constructor = (Constructor<T>) injectionPoint.getMember();
       this.enhancedConstructor = BytecodeGen.enhancedConstructor(enhancer, constructor);
@@ -69,11 +69,14 @@ public class SingletonScope implements Scope {
    * Allows us to detect when circular proxies are necessary. It's only used during singleton
    * instance initialization, after initialization direct access through volatile field is used.
    *
+   * <p>Singletons bound in an injector use the factory of their injector tree instead (see {@link
+   * InjectorImpl#singletonLockFactory}), so that unrelated injectors don't share lock bookkeeping.
+   * This one is only used by providers that are scoped outside of an injector.
+   *
    * <p>NB: Factory uses {@link Key}s as a user locks ids, different injectors can share them.
    * Cycles are detected properly as cycle detection does not rely on user locks ids, but error
    * message generated could be less than ideal.
    */
-  // TODO(user): we may use one factory per injector tree for optimization reasons
   private static final CycleDetectingLockFactory<Key<?>> cycleDetectingLockFactory =
       new CycleDetectingLockFactory<Key<?>>();
 
@@ -124,19 +127,6 @@ public class SingletonScope implements Scope {
        */
       DelegatingInvocationHandler invocationHandler;
 
-      /**
-       * For each binding there is a separate lock that we hold during object creation.
-       *
-       * <p>Locking strategy: singleton instance creation.
-       *
-       * <ul>
-       *   <li>allows to guarantee only one instance per singleton,
-       *   <li>special type of a lock, that prevents potential deadlocks,
-       *   <li>guards constructionContext for all operations except proxy creation
-       * </ul>
-       */
-      final CycleDetectingLock<Key<?>> creationLock = cycleDetectingLockFactory.create(key);
-
       /**
        * The singleton provider needs a reference back to the injector, in order to get ahold of
        * InternalContext during instantiation.
@@ -152,6 +142,21 @@ public class SingletonScope implements Scope {
         }
       }
 
+      /**
+       * For each binding there is a separate lock that we hold during object creation.
+       *
+       * <p>Locking strategy: singleton instance creation.
+       *
+       * <ul>
+       *   <li>allows to guarantee only one instance per singleton,
+       *   <li>special type of a lock, that prevents potential deadlocks,
+       *   <li>guards constructionContext for all operations except proxy creation
+       * </ul>
+       */
+      final CycleDetectingLock<Key<?>> creationLock =
+          (injector == null ? cycleDetectingLockFactory : injector.singletonLockFactory)
+              .create(key);
+
       @SuppressWarnings("DoubleCheckedLocking")
       @Override
       public T get() {
@@ -29,6 +29,7 @@ import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
@@ -92,12 +93,28 @@ abstract class AbstractGlueGenerator {
 
   protected final String proxyName;
 
+  protected final String marker;
+
+  /** True if the glue will be saved at build time and loaded by name from the host's loader. */
+  protected final boolean pregenerated;
+
   private static final AtomicInteger COUNTER = new AtomicInteger();
 
   protected AbstractGlueGenerator(Class<?> hostClass, String marker) {
     this.hostClass = hostClass;
     this.hostName = Type.getInternalName(hostClass);
     this.proxyName = proxyName(hostName, marker, hashCode());
+    this.marker = marker;
+    this.pregenerated = false;
+  }
+
+  /** Generator of pregenerated glue, with a name that can be found again at runtime. */
+  protected AbstractGlueGenerator(Class<?> hostClass, String marker, String suffix) {
+    this.hostClass = hostClass;
+    this.hostName = Type.getInternalName(hostClass);
+    this.proxyName = PregeneratedGlue.proxyName(hostName, marker, suffix);
+    this.marker = marker;
+    this.pregenerated = true;
   }
 
   /** Generates a unique name based on the original class name and marker. */
@@ -114,17 +131,54 @@ abstract class AbstractGlueGenerator {
   public final Function<String, BiFunction<Object, Object[], Object>> glue(
       NavigableMap<String, Executable> glueMap) {
     final MethodHandle invokerTable;
+    final MethodHandle handleTable;
+    Collection<String> signatures = glueMap.keySet();
     try {
-      byte[] bytecode = generateGlue(glueMap.values());
-      Class<?> glueClass = ClassDefining.define(hostClass, bytecode);
+      String suffix = pregeneratedSuffix(glueMap);
+      Class<?> glueClass;
+      // prefer glue generated at build time, as long as it still handles the members we need
+      Map.Entry<Class<?>, NavigableMap<String, String>> pregeneratedGlue =
+          PregeneratedGlue.find(
+              hostClass, PregeneratedGlue.proxyName(hostName, marker, suffix));
+      if (pregeneratedGlue != null
+          && canUsePregenerated(pregeneratedGlue.getValue(), PregeneratedGlue.describe(glueMap))) {
+        glueClass = pregeneratedGlue.getKey();
+        signatures = pregeneratedGlue.getValue().keySet();
+      } else {
+        byte[] bytecode = generateGlue(glueMap.values());
+        glueClass = ClassDefining.define(hostClass, bytecode);
+        if (PregeneratedGlue.isRecording()) {
+          PregeneratedGlue.record(hostClass, pregenerator(suffix), glueMap);
+        }
+      }
       invokerTable = lookupInvokerTable(glueClass);
+      handleTable = lookupHandleTable(glueClass);
     } catch (Throwable e) {
       throw new GlueException("Problem generating " + proxyName, e);
     }
 
     // build optimized index for these signatures and bind it to the generated invokers
-    ToIntFunction<String> signatureTable = ImmutableStringTrie.buildTrie(glueMap.keySet());
-    return bindSignaturesToInvokers(signatureTable, invokerTable);
+    ToIntFunction<String> signatureTable = ImmutableStringTrie.buildTrie(signatures);
+    Function<String, BiFunction<Object, Object[], Object>> invokers =
+        bindSignaturesToInvokers(signatureTable, invokerTable);
+    return handleTable != null ? new TypedGlue(invokers, signatureTable, handleTable) : invokers;
+  }
+
+  /** Returns a generator of pregenerated glue for the same host, using the given name suffix. */
+  protected abstract AbstractGlueGenerator pregenerator(String suffix);
+
+  /** Distinguishes pregenerated glue for different subsets of members of the same host. */
+  protected String pregeneratedSuffix(NavigableMap<String, Executable> glueMap) {
+    return "";
+  }
+
+  /**
+   * Returns true if pregenerated glue for the given members can be used in place of glue generated
+   * for the required members. Each member is described by its signature and descriptor.
+   */
+  protected boolean canUsePregenerated(
+      Map<String, String> pregeneratedMembers, Map<String, String> requiredMembers) {
+    return pregeneratedMembers.entrySet().containsAll(requiredMembers.entrySet());
   }
 
   /** Generates enhancer/fast-class bytecode for the given constructors/methods. */
@@ -133,6 +187,48 @@ abstract class AbstractGlueGenerator {
   /** Lookup the invoker table; this may be represented by a function or a trampoline. */
   protected abstract MethodHandle lookupInvokerTable(Class<?> glueClass) throws Throwable;
 
+  /**
+   * Lookup the table of typed handles, a function from integer index to handle; returns null if
+   * the glue has none.
+   */
+  protected MethodHandle lookupHandleTable(Class<?> glueClass) throws Throwable {
+    return null;
+  }
+
+  /**
+   * Glue that can also map signatures to typed handles, which take their arguments without boxing.
+   *
+   * @see ClassBuilding#typedInvoker
+   */
+  static final class TypedGlue implements Function<String, BiFunction<Object, Object[], Object>> {
+    private final Function<String, BiFunction<Object, Object[], Object>> invokers;
+    private final ToIntFunction<String> signatureTable;
+    private final MethodHandle handleTable;
+
+    TypedGlue(
+        Function<String, BiFunction<Object, Object[], Object>> invokers,
+        ToIntFunction<String> signatureTable,
+        MethodHandle handleTable) {
+      this.invokers = invokers;
+      this.signatureTable = signatureTable;
+      this.handleTable = handleTable;
+    }
+
+    @Override
+    public BiFunction<Object, Object[], Object> apply(String signature) {
+      return invokers.apply(signature);
+    }
+
+    /** Returns the typed handle for the signature, or null if it has none. */
+    MethodHandle handle(String signature) {
+      try {
+        return (MethodHandle) handleTable.invokeExact(signatureTable.applyAsInt(signature));
+      } catch (Throwable e) {
+        throw asIfUnchecked(e);
+      }
+    }
+  }
+
   /** Combines the signature and invoker tables into a mapping from signature to invoker. */
   private static Function<String, BiFunction<Object, Object[], Object>> bindSignaturesToInvokers(
       ToIntFunction<String> signatureTable, MethodHandle invokerTable) {
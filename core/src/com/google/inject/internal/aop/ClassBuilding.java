@@ -25,6 +25,7 @@ import static java.lang.reflect.Modifier.STATIC;
 
 import com.google.inject.TypeLiteral;
 import com.google.inject.internal.BytecodeGen;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
@@ -36,9 +37,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import javax.annotation.Nullable;
 
 /**
  * Entry-point for building enhanced classes and 'fast-class' invocation.
@@ -50,6 +53,50 @@ public final class ClassBuilding {
 
   private static final Method[] OVERRIDABLE_OBJECT_METHODS = getOverridableObjectMethods();
 
+  /** The counter of classes generated by the current thread, if any. */
+  private static final ThreadLocal<GeneratedClassCounter> generatedClassCounter =
+      new ThreadLocal<>();
+
+  /** Counts the classes generated by the threads it's attached to. */
+  public static final class GeneratedClassCounter {
+    final AtomicInteger fastClasses = new AtomicInteger();
+    final AtomicInteger enhancers = new AtomicInteger();
+
+    /** Returns the number of fast-classes generated so far. */
+    public int getFastClassCount() {
+      return fastClasses.get();
+    }
+
+    /** Returns the number of enhancers generated so far. */
+    public int getEnhancerCount() {
+      return enhancers.get();
+    }
+  }
+
+  /**
+   * Counts the classes generated by the current thread with {@code counter}, or stops counting
+   * them if it's null. Returns the counter that was attached before, so it can be restored.
+   */
+  @Nullable
+  public static GeneratedClassCounter attachGeneratedClassCounter(
+      @Nullable GeneratedClassCounter counter) {
+    GeneratedClassCounter previous = generatedClassCounter.get();
+    if (counter != null) {
+      generatedClassCounter.set(counter);
+    } else {
+      generatedClassCounter.remove();
+    }
+    return previous;
+  }
+
+  /** Adds a generated enhancer to the current thread's counter. */
+  static void countGeneratedEnhancer() {
+    GeneratedClassCounter counter = generatedClassCounter.get();
+    if (counter != null) {
+      counter.enhancers.incrementAndGet();
+    }
+  }
+
   /** Minimum signature needed to disambiguate constructors from the same host class. */
   public static String signature(Constructor<?> constructor) {
     return signature("<init>", constructor.getParameterTypes());
@@ -244,6 +291,18 @@ public final class ClassBuilding {
     return (clazz.getModifiers() & PUBLIC) != 0;
   }
 
+  /**
+   * Returns a handle that invokes the method through the glue without boxing, or null if the glue
+   * has no typed handles. For enhancers this calls the original unenhanced method; the handle takes
+   * the enhanced instance as an {@link Object} followed by the method's own parameters.
+   */
+  public static MethodHandle typedInvoker(
+      Function<String, BiFunction<Object, Object[], Object>> glue, Method method) {
+    return glue instanceof AbstractGlueGenerator.TypedGlue
+        ? ((AbstractGlueGenerator.TypedGlue) glue).handle(signature(method))
+        : null;
+  }
+
   /** Builds a 'fast-class' invoker that uses bytecode generation in place of reflection. */
   public static Function<String, BiFunction<Object, Object[], Object>> buildFastClass(
       Class<?> hostClass) {
@@ -252,7 +311,13 @@ public final class ClassBuilding {
     visitFastConstructors(hostClass, ctor -> glueMap.put(signature(ctor), ctor));
     visitFastMethods(hostClass, method -> glueMap.put(signature(method), method));
 
-    return new FastClass(hostClass).glue(glueMap);
+    Function<String, BiFunction<Object, Object[], Object>> fastClass =
+        new FastClass(hostClass).glue(glueMap);
+    GeneratedClassCounter counter = generatedClassCounter.get();
+    if (counter != null) {
+      counter.fastClasses.incrementAndGet();
+    }
+    return fastClass;
   }
 
   /** Visit all constructors for the host class that can be fast-invoked. */
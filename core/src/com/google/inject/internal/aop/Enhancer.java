@@ -38,8 +38,13 @@ import static org.objectweb.asm.Opcodes.ALOAD;
 import static org.objectweb.asm.Opcodes.ARETURN;
 import static org.objectweb.asm.Opcodes.CHECKCAST;
 import static org.objectweb.asm.Opcodes.DUP;
+import static org.objectweb.asm.Opcodes.F_SAME;
+import static org.objectweb.asm.Opcodes.F_SAME1;
 import static org.objectweb.asm.Opcodes.GETFIELD;
 import static org.objectweb.asm.Opcodes.H_INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.IFEQ;
+import static org.objectweb.asm.Opcodes.ILOAD;
+import static org.objectweb.asm.Opcodes.INSTANCEOF;
 import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
 import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
 import static org.objectweb.asm.Opcodes.INVOKESTATIC;
@@ -49,7 +54,6 @@ import static org.objectweb.asm.Opcodes.NEW;
 import static org.objectweb.asm.Opcodes.PUTFIELD;
 import static org.objectweb.asm.Opcodes.PUTSTATIC;
 import static org.objectweb.asm.Opcodes.RETURN;
-import static org.objectweb.asm.Opcodes.SWAP;
 import static org.objectweb.asm.Opcodes.V1_8;
 
 import java.lang.invoke.MethodHandle;
@@ -61,9 +65,11 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Type;
 
@@ -77,6 +83,10 @@ import org.objectweb.asm.Type;
  * handler delegates to the interceptor stack. Once the last interceptor returns the handler will
  * call back into the trampoline with the method index, which invokes the superclass method.
  *
+ * <p>A handler may instead be a {@link MethodHandle} taking the instance and the method's own
+ * parameters, which the enhanced method invokes exactly without packing its arguments. Such handles
+ * end by calling a typed accessor of the superclass method, found through the super-handle table.
+ *
  * <p>The trampoline also provides access to constructor invokers that take a context object (the
  * handler array) with an argument array and invokes the appropriate enhanced constructor. These
  * invokers are used in the proxy factory to create enhanced instances.
@@ -87,10 +97,10 @@ import org.objectweb.asm.Type;
  * public class HostClass$$EnhancerByGuice
  *   extends HostClass
  * {
- *   // InterceptorStackCallbacks, one per enhanced method
- *   private final InvocationHandler[] GUICE$HANDLERS;
+ *   // InterceptorStackCallbacks or MethodHandles, one per enhanced method
+ *   private final Object[] GUICE$HANDLERS;
  *
- *   public HostClass$$EnhancerByGuice(InvocationHandler[] handlers, ...) {
+ *   public HostClass$$EnhancerByGuice(Object[] handlers, ...) {
  *      // JVM lets us store this before calling the superclass constructor
  *     GUICE$HANDLERS = handlers;
  *     super(...);
@@ -108,10 +118,27 @@ import org.objectweb.asm.Type;
  *     return null;
  *   }
  *
+ *   private static MethodHandle GUICE$SUPER_HANDLE(int index) {
+ *     switch (index) {
+ *       case 1: {
+ *         return GUICE$SUPER$0; // handle to the accessor below
+ *       }
+ *     }
+ *     return null;
+ *   }
+ *
+ *   private static Object GUICE$SUPER$0(Object instance, ...) {
+ *     return instance.super.instanceMethod(...);
+ *   }
+ *
  *   // enhanced method
  *   public final Object instanceMethod(...) {
+ *     Object handler = GUICE$HANDLERS[0];
+ *     if (handler instanceof MethodHandle) {
+ *       return ((MethodHandle) handler).invokeExact(this, ...);
+ *     }
  *     // pack arguments and trigger the associated InterceptorStackCallback
- *     return GUICE$HANDLERS[0].invoke(this, null, args);
+ *     return ((InvocationHandler) handler).invoke(this, null, args);
  *   }
  *
  *   // ...
@@ -124,11 +151,21 @@ final class Enhancer extends AbstractGlueGenerator {
 
   private static final String HANDLERS_NAME = "GUICE$HANDLERS";
 
-  private static final String HANDLERS_DESCRIPTOR = "[Ljava/lang/reflect/InvocationHandler;";
+  private static final String HANDLERS_DESCRIPTOR = "[Ljava/lang/Object;";
 
   private static final String HANDLER_TYPE = Type.getInternalName(InvocationHandler.class);
 
-  private static final String HANDLER_ARRAY_TYPE = Type.getInternalName(InvocationHandler[].class);
+  private static final String HANDLER_ARRAY_TYPE = Type.getInternalName(Object[].class);
+
+  private static final String METHOD_HANDLE_TYPE = Type.getInternalName(MethodHandle.class);
+
+  private static final String SUPER_HANDLES_NAME = "GUICE$SUPER_HANDLES";
+
+  private static final String SUPER_HANDLE_NAME = "GUICE$SUPER_HANDLE";
+
+  private static final String SUPER_HANDLE_DESCRIPTOR = "(I)Ljava/lang/invoke/MethodHandle;";
+
+  private static final String SUPER_ACCESSOR_PREFIX = "GUICE$SUPER$";
 
   private static final String INVOKERS_NAME = "GUICE$INVOKERS";
 
@@ -171,6 +208,35 @@ final class Enhancer extends AbstractGlueGenerator {
     this.checkcastToProxy = ClassDefining.canDowncastToProxy(hostClass) ? proxyName : hostName;
   }
 
+  private Enhancer(Class<?> hostClass, Map<Method, Method> bridgeDelegates, String suffix) {
+    super(hostClass, ENHANCER_BY_GUICE_MARKER, suffix);
+    this.bridgeDelegates = bridgeDelegates;
+
+    // pregenerated glue is loaded like any other class, so we can always downcast to it
+    this.checkcastToProxy = proxyName;
+  }
+
+  @Override
+  protected AbstractGlueGenerator pregenerator(String suffix) {
+    return new Enhancer(hostClass, bridgeDelegates, suffix);
+  }
+
+  /** Each subset of enhanced methods needs its own glue, so the suffix identifies the subset. */
+  @Override
+  protected String pregeneratedSuffix(NavigableMap<String, Executable> glueMap) {
+    return Integer.toHexString(
+        PregeneratedGlue.methodsOf(PregeneratedGlue.describe(glueMap)).hashCode());
+  }
+
+  /** Methods are enhanced in signature order, so the methods must match exactly. */
+  @Override
+  protected boolean canUsePregenerated(
+      Map<String, String> pregeneratedMembers, Map<String, String> requiredMembers) {
+    return super.canUsePregenerated(pregeneratedMembers, requiredMembers)
+        && PregeneratedGlue.methodsOf(pregeneratedMembers)
+            .equals(PregeneratedGlue.methodsOf(requiredMembers));
+  }
+
   @Override
   protected byte[] generateGlue(Collection<Executable> members) {
     ClassWriter cw = new ClassWriter(COMPUTE_MAXS);
@@ -183,10 +249,16 @@ final class Enhancer extends AbstractGlueGenerator {
     cw.visitField(PUBLIC | STATIC | FINAL, INVOKERS_NAME, INVOKERS_DESCRIPTOR, null, null)
         .visitEnd();
 
+    // this shared field contains the lookup of typed handles to the original methods
+    cw.visitField(PUBLIC | STATIC | FINAL, SUPER_HANDLES_NAME, INVOKERS_DESCRIPTOR, null, null)
+        .visitEnd();
+
     setupInvokerTable(cw);
 
     generateTrampoline(cw, members);
 
+    generateSuperHandleTable(cw, members);
+
     // this field will hold the handlers configured for this particular enhanced instance
     cw.visitField(PRIVATE | FINAL, HANDLERS_NAME, HANDLERS_DESCRIPTOR, null, null).visitEnd();
 
@@ -197,6 +269,7 @@ final class Enhancer extends AbstractGlueGenerator {
       if (member instanceof Constructor<?>) {
         enhanceConstructor(cw, (Constructor<?>) member);
       } else {
+        generateSuperAccessor(cw, (Method) member, methodIndex);
         enhanceMethod(cw, (Method) member, methodIndex++);
         remainingBridgeMethods.remove(member);
       }
@@ -222,7 +295,7 @@ final class Enhancer extends AbstractGlueGenerator {
     Handle trampolineHandle =
         new Handle(H_INVOKESTATIC, proxyName, TRAMPOLINE_NAME, TRAMPOLINE_DESCRIPTOR, false);
 
-    if (ClassDefining.canLoadProxyByName(hostClass)) {
+    if (pregenerated || ClassDefining.canLoadProxyByName(hostClass)) {
       // generate lambda glue to make the raw trampoline look like an invoker table
 
       mv.visitMethodInsn(
@@ -259,6 +332,10 @@ final class Enhancer extends AbstractGlueGenerator {
 
     mv.visitFieldInsn(PUTSTATIC, proxyName, INVOKERS_NAME, INVOKERS_DESCRIPTOR);
 
+    mv.visitLdcInsn(
+        new Handle(H_INVOKESTATIC, proxyName, SUPER_HANDLE_NAME, SUPER_HANDLE_DESCRIPTOR, false));
+    mv.visitFieldInsn(PUTSTATIC, proxyName, SUPER_HANDLES_NAME, INVOKERS_DESCRIPTOR);
+
     mv.visitInsn(RETURN);
     mv.visitMaxs(0, 0);
     mv.visitEnd();
@@ -292,6 +369,95 @@ final class Enhancer extends AbstractGlueGenerator {
     mv.visitEnd();
   }
 
+  /**
+   * Generate a static method that returns the typed handle for the member with the given index:
+   * a handle to the member's super accessor for methods, or null for constructors.
+   */
+  private void generateSuperHandleTable(ClassWriter cw, Collection<Executable> members) {
+    MethodVisitor mv =
+        cw.visitMethod(PRIVATE | STATIC, SUPER_HANDLE_NAME, SUPER_HANDLE_DESCRIPTOR, null, null);
+    mv.visitCode();
+
+    Label[] labels = new Label[members.size()];
+    Arrays.setAll(labels, i -> new Label());
+    Label defaultLabel = new Label();
+
+    mv.visitVarInsn(ILOAD, 0);
+    mv.visitTableSwitchInsn(0, labels.length - 1, defaultLabel, labels);
+
+    int labelIndex = 0;
+    int methodIndex = 0;
+    for (Executable member : members) {
+      mv.visitLabel(labels[labelIndex++]);
+      mv.visitFrame(F_SAME, 0, null, 0, null);
+      if (member instanceof Constructor<?>) {
+        mv.visitInsn(ACONST_NULL);
+      } else {
+        Method method = (Method) member;
+        mv.visitLdcInsn(
+            new Handle(
+                H_INVOKESTATIC,
+                proxyName,
+                SUPER_ACCESSOR_PREFIX + methodIndex++,
+                accessorDescriptor(method),
+                false));
+      }
+      mv.visitInsn(ARETURN);
+    }
+
+    mv.visitLabel(defaultLabel);
+    mv.visitFrame(F_SAME, 0, null, 0, null);
+    mv.visitInsn(ACONST_NULL);
+    mv.visitInsn(ARETURN);
+
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+  }
+
+  /** Generate static accessor that takes an instance and the parameters of the original method. */
+  private void generateSuperAccessor(ClassWriter cw, Method method, int methodIndex) {
+    MethodVisitor mv =
+        cw.visitMethod(
+            PRIVATE | STATIC,
+            SUPER_ACCESSOR_PREFIX + methodIndex,
+            accessorDescriptor(method),
+            null,
+            null);
+    mv.visitCode();
+
+    Method target = bridgeDelegates.getOrDefault(method, method);
+
+    // same dispatch as the trampoline, see generateMethodInvoker
+    int invokeOpcode = target != method ? INVOKEVIRTUAL : INVOKESPECIAL;
+
+    mv.visitVarInsn(ALOAD, 0);
+    mv.visitTypeInsn(CHECKCAST, checkcastToProxy);
+
+    Class<?>[] parameterTypes = method.getParameterTypes();
+    Class<?>[] targetParameterTypes = target.getParameterTypes();
+
+    int slot = 1;
+    for (int i = 0, len = targetParameterTypes.length; i < len; i++) {
+      slot += loadArgument(mv, parameterTypes[i], slot);
+      if (targetParameterTypes[i] != parameterTypes[i]) {
+        mv.visitTypeInsn(CHECKCAST, Type.getInternalName(targetParameterTypes[i]));
+      }
+    }
+
+    mv.visitMethodInsn(
+        invokeOpcode, hostName, target.getName(), Type.getMethodDescriptor(target), false);
+
+    mv.visitInsn(Type.getType(method.getReturnType()).getOpcode(IRETURN));
+
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+  }
+
+  /** The descriptor of the method with an additional leading object parameter for the instance. */
+  private static String accessorDescriptor(Method method) {
+    return "(Ljava/lang/Object;" + Type.getMethodDescriptor(method).substring(1);
+  }
+
   /** Generate enhanced method that calls the handler with the same index. */
   private void enhanceMethod(ClassWriter cw, Method method, int methodIndex) {
     MethodVisitor mv =
@@ -302,19 +468,38 @@ final class Enhancer extends AbstractGlueGenerator {
             null,
             exceptionNames(method));
 
+    Class<?> returnType = method.getReturnType();
+    Label notMethodHandle = new Label();
+
     mv.visitVarInsn(ALOAD, 0);
-    mv.visitInsn(DUP);
     mv.visitFieldInsn(GETFIELD, proxyName, HANDLERS_NAME, HANDLERS_DESCRIPTOR);
     pushInteger(mv, methodIndex);
     mv.visitInsn(AALOAD);
-    mv.visitInsn(SWAP);
+
+    // handles have the type of the super accessor, so can be invoked exactly with our arguments
+    mv.visitInsn(DUP);
+    mv.visitTypeInsn(INSTANCEOF, METHOD_HANDLE_TYPE);
+    mv.visitJumpInsn(IFEQ, notMethodHandle);
+    mv.visitTypeInsn(CHECKCAST, METHOD_HANDLE_TYPE);
+    mv.visitVarInsn(ALOAD, 0);
+    int slot = 1;
+    for (Class<?> parameterType : method.getParameterTypes()) {
+      slot += loadArgument(mv, parameterType, slot);
+    }
+    mv.visitMethodInsn(
+        INVOKEVIRTUAL, METHOD_HANDLE_TYPE, "invokeExact", accessorDescriptor(method), false);
+    mv.visitInsn(Type.getType(returnType).getOpcode(IRETURN));
+
+    mv.visitLabel(notMethodHandle);
+    mv.visitFrame(F_SAME1, 0, null, 1, new Object[] {"java/lang/Object"});
+    mv.visitTypeInsn(CHECKCAST, HANDLER_TYPE);
+    mv.visitVarInsn(ALOAD, 0);
     // we don't use the method argument in InterceptorStackCallback.invoke, so can use null here
     mv.visitInsn(ACONST_NULL);
     packArguments(mv, method.getParameterTypes());
 
     mv.visitMethodInsn(INVOKEINTERFACE, HANDLER_TYPE, "invoke", CALLBACK_DESCRIPTOR, true);
 
-    Class<?> returnType = method.getReturnType();
     if (returnType == void.class) {
       mv.visitInsn(RETURN);
     } else if (returnType.isPrimitive()) {
@@ -413,6 +598,15 @@ final class Enhancer extends AbstractGlueGenerator {
     return (MethodHandle) glueClass.getField(INVOKERS_NAME).get(null);
   }
 
+  @Override
+  protected MethodHandle lookupHandleTable(Class<?> glueClass) throws Throwable {
+    try {
+      return (MethodHandle) glueClass.getField(SUPER_HANDLES_NAME).get(null);
+    } catch (NoSuchFieldException e) {
+      return null; // glue pregenerated by an earlier version
+    }
+  }
+
   /** Returns internal names of exceptions declared by the given constructor/method. */
   private static String[] exceptionNames(Executable member) {
     Class<?>[] exceptionClasses = member.getExceptionTypes();
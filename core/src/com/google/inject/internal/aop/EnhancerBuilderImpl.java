@@ -104,6 +104,9 @@ final class EnhancerBuilderImpl implements BytecodeGen.EnhancerBuilder {
       glueMap.put(signature(method), method);
     }
 
-    return new Enhancer(hostClass, bridgeDelegates).glue(glueMap);
+    Function<String, BiFunction<Object, Object[], Object>> enhancer =
+        new Enhancer(hostClass, bridgeDelegates).glue(glueMap);
+    ClassBuilding.countGeneratedEnhancer();
+    return enhancer;
   }
 }
@@ -121,6 +121,16 @@ final class FastClass extends AbstractGlueGenerator {
     hostIsInterface = hostClass.isInterface();
   }
 
+  private FastClass(Class<?> hostClass, String suffix) {
+    super(hostClass, FASTCLASS_BY_GUICE_MARKER, suffix);
+    hostIsInterface = hostClass.isInterface();
+  }
+
+  @Override
+  protected AbstractGlueGenerator pregenerator(String suffix) {
+    return new FastClass(hostClass, suffix);
+  }
+
   @Override
   protected byte[] generateGlue(Collection<Executable> members) {
     ClassWriter cw = new ClassWriter(COMPUTE_MAXS);
@@ -0,0 +1,280 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal.aop;
+
+import static java.lang.reflect.Modifier.FINAL;
+import static java.lang.reflect.Modifier.PUBLIC;
+import static java.lang.reflect.Modifier.STATIC;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.base.Splitter;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Maps;
+import com.google.common.io.Resources;
+import com.google.inject.Guice;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * Support for enhancer/fast-class glue generated at build time.
+ *
+ * <p>Running this class as a tool creates an injector for the given modules in {@link Stage#TOOL},
+ * records the glue Guice generates while initializing its bindings, and writes it out as ordinary
+ * class files next to an index:
+ *
+ * <pre>
+ * java com.google.inject.internal.aop.PregeneratedGlue target/classes com.example.MyModule ...
+ * </pre>
+ *
+ * <p>At runtime the glue is loaded by name from the host's {@link ClassLoader} instead of being
+ * generated. Each glue class lists the members it was generated for; glue that doesn't cover the
+ * members Guice needs, for example because the host class changed, is ignored and generated again.
+ * Because pregenerated glue is defined like any other class it also works where custom classloading
+ * is unavailable.
+ */
+public final class PregeneratedGlue {
+  private PregeneratedGlue() {}
+
+  private static final Logger logger = Logger.getLogger(PregeneratedGlue.class.getName());
+
+  /** Lists the pregenerated glue classes that can be found in the same part of the classpath. */
+  static final String INDEX_RESOURCE = "META-INF/guice/pregenerated-glue.idx";
+
+  private static final Splitter INDEX_SPLITTER =
+      Splitter.onPattern("\r?\n").trimResults().omitEmptyStrings();
+
+  /** Constant field listing the signature and descriptor of each member handled by the glue. */
+  static final String MEMBERS_NAME = "GUICE$MEMBERS";
+
+  private static final String PREGENERATED_MARKER = "Pregenerated";
+
+  /** Strings longer than this can't be stored as a class-file constant. */
+  private static final int MAX_CONSTANT_LENGTH = 65535;
+
+  /** Lazy association between class loaders and the glue classes they can load. */
+  private static final LoadingCache<ClassLoader, ImmutableSet<String>> INDEXES =
+      CacheBuilder.newBuilder().weakKeys().build(CacheLoader.from(PregeneratedGlue::readIndex));
+
+  /** Collects the glue generated while recording, keyed by internal class name. */
+  @Nullable private static volatile Map<String, byte[]> recording;
+
+  /** Returns the internal name of pregenerated glue for the given host. */
+  static String proxyName(String hostName, String marker, String suffix) {
+    return hostName + marker + PREGENERATED_MARKER + suffix;
+  }
+
+  /** Returns the signature and descriptor of each member, sorted by signature. */
+  static NavigableMap<String, String> describe(NavigableMap<String, Executable> glueMap) {
+    NavigableMap<String, String> members = new TreeMap<>();
+    glueMap.forEach(
+        (signature, member) ->
+            members.put(
+                signature,
+                member instanceof Constructor<?>
+                    ? Type.getConstructorDescriptor((Constructor<?>) member)
+                    : Type.getMethodDescriptor((Method) member)));
+    return members;
+  }
+
+  /**
+   * Returns the pregenerated glue class with the given internal name and the members it handles, or
+   * {@code null} if there is no such glue visible from the host.
+   */
+  @Nullable
+  static Map.Entry<Class<?>, NavigableMap<String, String>> find(
+      Class<?> hostClass, String proxyName) {
+    ClassLoader classLoader = hostClass.getClassLoader();
+    if (classLoader == null) {
+      return null;
+    }
+    String className = proxyName.replace('/', '.');
+    if (!INDEXES.getUnchecked(classLoader).contains(className)) {
+      return null;
+    }
+    try {
+      Class<?> glueClass = Class.forName(className, true, classLoader);
+      String members = (String) glueClass.getField(MEMBERS_NAME).get(null);
+      NavigableMap<String, String> signatures = new TreeMap<>();
+      for (String line : members.split("\n")) {
+        int split = line.indexOf(' ');
+        signatures.put(line.substring(0, split), line.substring(split + 1));
+      }
+      return Maps.immutableEntry(glueClass, signatures);
+    } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+      logger.fine("Ignoring pregenerated " + className + ": " + e);
+      return null;
+    }
+  }
+
+  private static ImmutableSet<String> readIndex(ClassLoader classLoader) {
+    ImmutableSet.Builder<String> classNames = ImmutableSet.builder();
+    try {
+      Enumeration<URL> indexes = classLoader.getResources(INDEX_RESOURCE);
+      while (indexes.hasMoreElements()) {
+        classNames.addAll(parseIndex(Resources.toString(indexes.nextElement(), UTF_8)));
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.fine("Ignoring pregenerated glue index: " + e);
+    }
+    return classNames.build();
+  }
+
+  /** Returns the class names in an index, which may use either {@code \n} or {@code \r\n}. */
+  static List<String> parseIndex(String index) {
+    return INDEX_SPLITTER.splitToList(index);
+  }
+
+  /** Returns true if glue generated now should also be recorded for pregeneration. */
+  static boolean isRecording() {
+    return recording != null;
+  }
+
+  /** Records pregenerated glue, adding the list of members it handles as a constant field. */
+  static void record(
+      Class<?> hostClass,
+      AbstractGlueGenerator pregenerator,
+      NavigableMap<String, Executable> glueMap) {
+    Map<String, byte[]> classes = recording;
+    if (classes == null || hostClass.getClassLoader() == null) {
+      return;
+    }
+    StringBuilder members = new StringBuilder();
+    describe(glueMap)
+        .forEach(
+            (signature, descriptor) ->
+                members.append(signature).append(' ').append(descriptor).append('\n'));
+    if (members.length() > MAX_CONSTANT_LENGTH / 3) {
+      logger.warning("Too many members to pregenerate glue for " + hostClass.getName());
+      return;
+    }
+
+    ClassWriter cw = new ClassWriter(0);
+    new ClassReader(pregenerator.generateGlue(glueMap.values()))
+        .accept(
+            new ClassVisitor(Opcodes.ASM9, cw) {
+              @Override
+              public void visitEnd() {
+                cv.visitField(
+                        PUBLIC | STATIC | FINAL,
+                        MEMBERS_NAME,
+                        "Ljava/lang/String;",
+                        null,
+                        members.toString())
+                    .visitEnd();
+                super.visitEnd();
+              }
+            },
+            0);
+    classes.put(pregenerator.proxyName, cw.toByteArray());
+  }
+
+  /**
+   * Creates an injector for the given modules in {@link Stage#TOOL} and returns the glue Guice
+   * needs for its bindings, keyed by internal class name. Glue that was already generated in this
+   * JVM before is not included.
+   */
+  static synchronized ImmutableMap<String, byte[]> generate(Iterable<? extends Module> modules) {
+    Map<String, byte[]> classes = new ConcurrentSkipListMap<>();
+    recording = classes;
+    try {
+      Guice.createInjector(Stage.TOOL, modules);
+    } finally {
+      recording = null;
+    }
+    return ImmutableMap.copyOf(classes);
+  }
+
+  /** Writes the glue classes under the output directory and adds them to its index. */
+  static void write(Path outputDir, Map<String, byte[]> classes) throws IOException {
+    Set<String> index = new TreeSet<>();
+    Path indexFile = outputDir.resolve(INDEX_RESOURCE);
+    if (Files.exists(indexFile)) {
+      index.addAll(parseIndex(new String(Files.readAllBytes(indexFile), UTF_8)));
+    }
+    for (Map.Entry<String, byte[]> glue : classes.entrySet()) {
+      Path classFile = outputDir.resolve(glue.getKey() + ".class");
+      Files.createDirectories(classFile.getParent());
+      Files.write(classFile, glue.getValue());
+      index.add(glue.getKey().replace('/', '.'));
+    }
+    Files.createDirectories(indexFile.getParent());
+    // always '\n', since the platform's line separator is irrelevant to the classpath reading it
+    StringBuilder contents = new StringBuilder();
+    index.forEach(className -> contents.append(className).append('\n'));
+    Files.write(indexFile, contents.toString().getBytes(UTF_8));
+  }
+
+  /** Pregenerates the glue for the modules given as arguments into an output directory. */
+  public static void main(String[] args) throws Exception {
+    if (args.length < 2) {
+      throw new IllegalArgumentException(
+          "Usage: PregeneratedGlue <output directory> <module class name> [<module class name>...]");
+    }
+    List<Module> modules = new ArrayList<>();
+    for (int i = 1; i < args.length; i++) {
+      Constructor<?> constructor =
+          Class.forName(args[i], true, Thread.currentThread().getContextClassLoader())
+              .getDeclaredConstructor();
+      constructor.setAccessible(true);
+      modules.add((Module) constructor.newInstance());
+    }
+    ImmutableMap<String, byte[]> classes = generate(modules);
+    write(Paths.get(args[0]), classes);
+    logger.info("Pregenerated " + classes.size() + " glue classes into " + args[0]);
+  }
+
+  /** Returns the described members that aren't constructors. */
+  static ImmutableSortedMap<String, String> methodsOf(Map<String, String> members) {
+    ImmutableSortedMap.Builder<String, String> methods = ImmutableSortedMap.naturalOrder();
+    members.forEach(
+        (signature, descriptor) -> {
+          if (!signature.startsWith("<init>")) {
+            methods.put(signature, descriptor);
+          }
+        });
+    return methods.buildOrThrow();
+  }
+}
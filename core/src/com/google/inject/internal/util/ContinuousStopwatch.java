@@ -16,9 +16,11 @@
 
 package com.google.inject.internal.util;
 
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 import com.google.common.base.Stopwatch;
+import java.time.Duration;
+import java.util.function.BiConsumer;
 import java.util.logging.Logger;
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -31,6 +33,7 @@ import javax.annotation.concurrent.NotThreadSafe;
 public final class ContinuousStopwatch {
   private final Logger logger = Logger.getLogger(ContinuousStopwatch.class.getName());
   private final Stopwatch stopwatch;
+  private BiConsumer<String, Duration> listener;
 
   /**
    * Constructs a ContinuousStopwatch, which will start timing immediately after construction.
@@ -42,16 +45,29 @@ public final class ContinuousStopwatch {
     reset();
   }
 
+  /** Sets a listener that is also told about every elapsed time logged by {@link #resetAndLog}. */
+  public void setListener(BiConsumer<String, Duration> listener) {
+    this.listener = listener;
+  }
+
   /** Resets and returns elapsed time in milliseconds. */
   public long reset() {
-    long elapsedTimeMs = stopwatch.elapsed(MILLISECONDS);
+    return NANOSECONDS.toMillis(resetNanos());
+  }
+
+  private long resetNanos() {
+    long elapsedTimeNanos = stopwatch.elapsed(NANOSECONDS);
     stopwatch.reset();
     stopwatch.start();
-    return elapsedTimeMs;
+    return elapsedTimeNanos;
   }
 
   /** Resets and logs elapsed time in milliseconds. */
   public void resetAndLog(String label) {
-    logger.fine(label + ": " + reset() + "ms");
+    long elapsedTimeNanos = resetNanos();
+    logger.fine(label + ": " + NANOSECONDS.toMillis(elapsedTimeNanos) + "ms");
+    if (listener != null) {
+      listener.accept(label, Duration.ofNanos(elapsedTimeNanos));
+    }
   }
 }
@@ -114,6 +114,36 @@ public abstract class DefaultElementVisitor<V> implements ElementVisitor<V> {
     return visitOther(option);
   }
 
+  @Override
+  public V visit(ProvisionMetricsOption option) {
+    return visitOther(option);
+  }
+
+  @Override
+  public V visit(InjectorCreationStatsOption option) {
+    return visitOther(option);
+  }
+
+  @Override
+  public V visit(InterceptorStackTracePruningOption option) {
+    return visitOther(option);
+  }
+
+  @Override
+  public V visit(SharedInterceptorDispatchOption option) {
+    return visitOther(option);
+  }
+
+  @Override
+  public V visit(InjectionPointSnapshotOption option) {
+    return visitOther(option);
+  }
+
+  @Override
+  public V visit(ParallelInjectorCreationOption option) {
+    return visitOther(option);
+  }
+
   @Override
   public V visit(ModuleAnnotatedMethodScannerBinding binding) {
     return visitOther(binding);
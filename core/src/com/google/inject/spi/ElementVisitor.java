@@ -103,6 +103,68 @@ public interface ElementVisitor<V> {
    */
   V visit(RequireExactBindingAnnotationsOption option);
 
+  /**
+   * Visit an enable provision metrics command. Like {@link DefaultElementVisitor#visitOther}, this
+   * ignores the command and returns null unless it's overridden.
+   *
+   * @since 7.0
+   */
+  default V visit(ProvisionMetricsOption option) {
+    return null;
+  }
+
+  /**
+   * Visit an enable injector creation stats command. Like {@link DefaultElementVisitor#visitOther},
+   * this ignores the command and returns null unless it's overridden.
+   *
+   * @since 7.0
+   */
+  default V visit(InjectorCreationStatsOption option) {
+    return null;
+  }
+
+  /**
+   * Visit a disable interceptor stack trace pruning command. Like {@link
+   * DefaultElementVisitor#visitOther}, this ignores the command and returns null unless it's
+   * overridden.
+   *
+   * @since 7.0
+   */
+  default V visit(InterceptorStackTracePruningOption option) {
+    return null;
+  }
+
+  /**
+   * Visit an enable shared interceptor dispatch command. Like {@link
+   * DefaultElementVisitor#visitOther}, this ignores the command and returns null unless it's
+   * overridden.
+   *
+   * @since 7.0
+   */
+  default V visit(SharedInterceptorDispatchOption option) {
+    return null;
+  }
+
+  /**
+   * Visit a use injection point snapshot command. Like {@link DefaultElementVisitor#visitOther},
+   * this ignores the command and returns null unless it's overridden.
+   *
+   * @since 7.0
+   */
+  default V visit(InjectionPointSnapshotOption option) {
+    return null;
+  }
+
+  /**
+   * Visit a parallelize injector creation command. Like {@link DefaultElementVisitor#visitOther},
+   * this ignores the command and returns null unless it's overridden.
+   *
+   * @since 7.0
+   */
+  default V visit(ParallelInjectorCreationOption option) {
+    return null;
+  }
+
   /**
    * Visits a {@link Binder#scanModulesForAnnotatedMethods} command.
    *
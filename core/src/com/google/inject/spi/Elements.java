@@ -49,6 +49,7 @@ import com.google.inject.internal.ExposureBuilder;
 import com.google.inject.internal.GuiceInternal;
 import com.google.inject.internal.InternalClassesToSkipSources;
 import com.google.inject.internal.InternalFlags.IncludeStackTraceOption;
+import com.google.inject.internal.MethodHandleInterceptorAdapter;
 import com.google.inject.internal.MoreTypes;
 import com.google.inject.internal.PrivateElementsImpl;
 import com.google.inject.internal.ProviderMethod;
@@ -61,12 +62,16 @@ import com.google.inject.multibindings.Multibinder;
 import com.google.inject.multibindings.OptionalBinder;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
 import org.aopalliance.intercept.MethodInterceptor;
 
 /**
@@ -108,7 +113,29 @@ public final class Elements {
 
   /** Records the elements executed by {@code modules}. */
   public static List<Element> getElements(Stage stage, Iterable<? extends Module> modules) {
-    RecordingBinder binder = new RecordingBinder(stage);
+    return getElements(stage, modules, null);
+  }
+
+  /**
+   * Internal version of {@link #getElements(Stage, Iterable)} that also reports the time spent
+   * configuring each installed module (including the modules it installs) to {@code moduleTimer}.
+   *
+   * @since 7.0
+   */
+  public static List<Element> getElements(
+      GuiceInternal guiceInternal,
+      Stage stage,
+      Iterable<? extends Module> modules,
+      BiConsumer<Class<?>, Duration> moduleTimer) {
+    checkNotNull(guiceInternal);
+    return getElements(stage, modules, checkNotNull(moduleTimer));
+  }
+
+  private static List<Element> getElements(
+      Stage stage,
+      Iterable<? extends Module> modules,
+      @Nullable BiConsumer<Class<?>, Duration> moduleTimer) {
+    RecordingBinder binder = new RecordingBinder(stage, moduleTimer);
     for (Module module : modules) {
       binder.install(module);
     }
@@ -213,6 +240,9 @@ public final class Elements {
 
     private final BindingSourceRestriction.PermitMapConstruction permitMapConstruction;
 
+    /** Told how long each module took to configure, if set. */
+    @Nullable private final BiConsumer<Class<?>, Duration> moduleTimer;
+
     /** The current modules stack */
     private ModuleSource moduleSource = null;
     /**
@@ -227,7 +257,8 @@ public final class Elements {
     private ModuleAnnotatedMethodScanner currentScanner = null;
     private boolean trustedSource = false;
 
-    private RecordingBinder(Stage stage) {
+    private RecordingBinder(
+        Stage stage, @Nullable BiConsumer<Class<?>, Duration> moduleTimer) {
       this.stage = stage;
       this.modules = Maps.newLinkedHashMap();
       this.scanners = Sets.newLinkedHashSet();
@@ -238,6 +269,7 @@ public final class Elements {
       this.privateElements = null;
       this.privateBindersForScanning = Lists.newArrayList();
       this.permitMapConstruction = new BindingSourceRestriction.PermitMapConstruction();
+      this.moduleTimer = moduleTimer;
     }
 
     /** Creates a recording binder that's backed by {@code prototype}. */
@@ -262,6 +294,7 @@ public final class Elements {
       this.privateBindersForScanning = prototype.privateBindersForScanning;
       this.permitMapConstruction = prototype.permitMapConstruction;
       this.scannerSource = prototype.scannerSource;
+      this.moduleTimer = prototype.moduleTimer;
     }
 
     /** Creates a private recording binder. */
@@ -279,6 +312,7 @@ public final class Elements {
       this.privateBindersForScanning = parent.privateBindersForScanning;
       this.permitMapConstruction = parent.permitMapConstruction;
       this.scannerSource = parent.scannerSource;
+      this.moduleTimer = parent.moduleTimer;
     }
 
     @Override
@@ -290,6 +324,19 @@ public final class Elements {
           new InterceptorBinding(getElementSource(), classMatcher, methodMatcher, interceptors));
     }
 
+    @Override
+    public void bindInterceptor(
+        Matcher<? super Class<?>> classMatcher,
+        Matcher<? super Method> methodMatcher,
+        MethodHandleInterceptor... interceptors) {
+      MethodInterceptor[] adapters = new MethodInterceptor[interceptors.length];
+      for (int i = 0; i < interceptors.length; i++) {
+        adapters[i] = new MethodHandleInterceptorAdapter(interceptors[i]);
+      }
+      elements.add(
+          new InterceptorBinding(getElementSource(), classMatcher, methodMatcher, adapters));
+    }
+
     @Override
     public void bindScope(Class<? extends Annotation> annotationType, Scope scope) {
       elements.add(new ScopeBinding(getElementSource(), annotationType, scope));
@@ -422,6 +469,7 @@ public final class Elements {
       // Always store this in the parent binder (even if it was a private module)
       // so that we know not to process it again, and so that scanners inherit down.
       modules.put(module, new ModuleInfo(moduleSource, skipScanning));
+      long startNanos = moduleTimer != null ? System.nanoTime() : 0;
       try {
         module.configure(binder);
       } catch (RuntimeException e) {
@@ -433,6 +481,9 @@ public final class Elements {
         }
       }
       binder.install(ProviderMethodsModule.forModule(module));
+      if (moduleTimer != null && !(module instanceof ProviderMethodsModule)) {
+        moduleTimer.accept(module.getClass(), Duration.ofNanos(System.nanoTime() - startNanos));
+      }
       // We are done with this module, so undo module source change
       if (newModuleClass != null) {
         moduleSource = moduleSource.getParent();
@@ -599,6 +650,36 @@ public final class Elements {
       elements.add(new RequireExactBindingAnnotationsOption(getElementSource()));
     }
 
+    @Override
+    public void enableProvisionMetrics() {
+      elements.add(new ProvisionMetricsOption(getElementSource()));
+    }
+
+    @Override
+    public void enableInjectorCreationStats() {
+      elements.add(new InjectorCreationStatsOption(getElementSource()));
+    }
+
+    @Override
+    public void disableInterceptorStackTracePruning() {
+      elements.add(new InterceptorStackTracePruningOption(getElementSource()));
+    }
+
+    @Override
+    public void enableSharedInterceptorDispatch() {
+      elements.add(new SharedInterceptorDispatchOption(getElementSource()));
+    }
+
+    @Override
+    public void useInjectionPointSnapshot(InjectionPointSnapshot snapshot) {
+      elements.add(new InjectionPointSnapshotOption(getElementSource(), snapshot));
+    }
+
+    @Override
+    public void parallelizeInjectorCreation(Executor executor) {
+      elements.add(new ParallelInjectorCreationOption(getElementSource(), executor));
+    }
+
     @Override
     public void scanModulesForAnnotatedMethods(ModuleAnnotatedMethodScanner scanner) {
       if (moduleScanning()) {
@@ -0,0 +1,541 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.spi;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.Binder;
+import com.google.inject.Binding;
+import com.google.inject.ConfigurationException;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+import com.google.inject.TypeLiteral;
+import com.google.inject.internal.GuiceInternal;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * The injectable constructors and members Guice discovered for a set of classes, captured ahead of
+ * time so that injectors created later can skip scanning those classes reflectively.
+ *
+ * <p>A snapshot is usually captured at build time by running this class as a tool:
+ *
+ * <pre>
+ * java com.google.inject.spi.InjectionPointSnapshot injection-points.bin com.example.MyModule ...
+ * </pre>
+ *
+ * <p>and read when the application starts, to be used by the injectors that ask for it with {@link
+ * Binder#useInjectionPointSnapshot}:
+ *
+ * <pre>
+ * InjectionPointSnapshot snapshot;
+ * try (InputStream in = ...) {
+ *   snapshot = InjectionPointSnapshot.readFrom(in, classLoader);
+ * }
+ * Injector injector = Guice.createInjector(
+ *     binder -> binder.useInjectionPointSnapshot(snapshot), new MyModule());
+ * </pre>
+ *
+ * <p>Every class is stored with a fingerprint of where its class hierarchy was loaded from: the
+ * size and modification time of each jar, or of each class file loaded from a directory. Like the
+ * JDK's class data sharing archives, a snapshot is only checked against these file attributes, so
+ * checking it costs one file stat per jar rather than reading any class files. Classes whose
+ * fingerprint changed, or whose members can no longer be found, are scanned as usual; a stale
+ * snapshot only makes startup slower, never wrong. Classes with generic type parameters, and
+ * classes loaded from anywhere but local jars and directories, are not captured.
+ *
+ * <p>A snapshot still finds the captured members reflectively, by name, as injection points refer
+ * to them. What it saves is walking every member of the class hierarchy, reading its annotations
+ * and resolving overridden methods.
+ *
+ * @since 7.0
+ */
+public final class InjectionPointSnapshot {
+
+  private static final int MAGIC = 0x47494e4a; // "GINJ"
+  private static final int VERSION = 2;
+
+  private static final byte FIELD = 'F';
+  private static final byte METHOD = 'M';
+
+  private static final Logger logger = Logger.getLogger(InjectionPointSnapshot.class.getName());
+
+  private final ImmutableMap<Class<?>, Entry> entries;
+
+  /** The stamps of the jars and class files that fingerprints were checked against. */
+  private final Map<Path, Long> stamps = new ConcurrentHashMap<>();
+
+  /** Injection points of entries that were checked, empty if the entry turned out to be stale. */
+  private final Map<Class<?>, Optional<Resolved>> resolved = new ConcurrentHashMap<>();
+
+  private InjectionPointSnapshot(ImmutableMap<Class<?>, Entry> entries) {
+    this.entries = entries;
+  }
+
+  /**
+   * Captures the injection points of the classes bound in {@code modules}. The modules are
+   * configured in {@link Stage#TOOL}, so no instances are created.
+   *
+   * @throws com.google.inject.CreationException if the modules are invalid
+   */
+  public static InjectionPointSnapshot capture(Iterable<? extends Module> modules) {
+    Injector injector = Guice.createInjector(Stage.TOOL, modules);
+    Set<TypeLiteral<?>> types = new LinkedHashSet<>();
+    for (Binding<?> binding : injector.getAllBindings().values()) {
+      if (binding instanceof ConstructorBinding) {
+        types.add(((ConstructorBinding<?>) binding).getConstructor().getDeclaringType());
+      } else if (binding instanceof InstanceBinding) {
+        types.add(TypeLiteral.get(((InstanceBinding<?>) binding).getInstance().getClass()));
+      } else if (binding instanceof ProviderInstanceBinding) {
+        types.add(
+            TypeLiteral.get(
+                ((ProviderInstanceBinding<?>) binding).getUserSuppliedProvider().getClass()));
+      }
+    }
+
+    ImmutableMap.Builder<Class<?>, Entry> entries = ImmutableMap.builder();
+    Map<Path, Long> stamps = new HashMap<>();
+    for (TypeLiteral<?> type : types) {
+      if (!(type.getType() instanceof Class)) {
+        continue; // generic types need type resolution, scan those as usual
+      }
+      Class<?> rawType = type.getRawType();
+      long fingerprint = fingerprint(rawType, stamps);
+      if (fingerprint == -1) {
+        continue;
+      }
+      // Scan again rather than using the bindings' injection points, those leave out optional
+      // members that can't be injected by this particular injector.
+      MemberInfo constructor;
+      try {
+        constructor = MemberInfo.of(InjectionPoint.forConstructorOf(type));
+      } catch (ConfigurationException e) {
+        constructor = null; // instances don't need an injectable constructor
+      }
+      ImmutableList.Builder<MemberInfo> members = ImmutableList.builder();
+      try {
+        for (InjectionPoint member : InjectionPoint.forInstanceMethodsAndFields(type)) {
+          members.add(MemberInfo.of(member));
+        }
+      } catch (ConfigurationException e) {
+        continue;
+      }
+      entries.put(rawType, new Entry(rawType, fingerprint, constructor, members.build()));
+    }
+    return new InjectionPointSnapshot(entries.buildOrThrow());
+  }
+
+  /** Returns the number of classes in this snapshot. */
+  public int size() {
+    return entries.size();
+  }
+
+  /** Writes this snapshot to {@code out}. */
+  public void writeTo(OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+    data.writeInt(MAGIC);
+    data.writeInt(VERSION);
+    data.writeInt(entries.size());
+    for (Entry entry : entries.values()) {
+      data.writeUTF(entry.type.getName());
+      data.writeLong(entry.fingerprint);
+      data.writeBoolean(entry.constructor != null);
+      if (entry.constructor != null) {
+        entry.constructor.writeTo(data);
+      }
+      data.writeInt(entry.members.size());
+      for (MemberInfo member : entry.members) {
+        member.writeTo(data);
+      }
+    }
+    data.flush();
+  }
+
+  /**
+   * Reads a snapshot written by {@link #writeTo}, loading its classes from {@code classLoader}.
+   * Classes that can't be found are left out.
+   */
+  public static InjectionPointSnapshot readFrom(InputStream in, ClassLoader classLoader)
+      throws IOException {
+    DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+    if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+      throw new IOException("Not an injection point snapshot, or written by another Guice version");
+    }
+    int size = data.readInt();
+    ImmutableMap.Builder<Class<?>, Entry> entries = ImmutableMap.builder();
+    for (int i = 0; i < size; i++) {
+      String typeName = data.readUTF();
+      long fingerprint = data.readLong();
+      MemberInfo constructor = data.readBoolean() ? MemberInfo.readFrom(data) : null;
+      int memberCount = data.readInt();
+      ImmutableList.Builder<MemberInfo> members = ImmutableList.builder();
+      for (int j = 0; j < memberCount; j++) {
+        members.add(MemberInfo.readFrom(data));
+      }
+      Class<?> type;
+      try {
+        type = Class.forName(typeName, false, classLoader);
+      } catch (ClassNotFoundException | LinkageError e) {
+        continue;
+      }
+      entries.put(type, new Entry(type, fingerprint, constructor, members.build()));
+    }
+    return new InjectionPointSnapshot(entries.buildKeepingLast());
+  }
+
+  /**
+   * Returns the constructor injection point of {@code type} from this snapshot, or null if it has
+   * to be scanned. Only Guice can call this, for the injectors that use this snapshot.
+   */
+  @Nullable
+  public InjectionPoint getConstructor(
+      GuiceInternal internalOnly, TypeLiteral<?> type, boolean atInjectRequired) {
+    checkNotNull(internalOnly);
+    return getConstructor(type, atInjectRequired);
+  }
+
+  /**
+   * Returns the instance member injection points of {@code type} from this snapshot, or null if
+   * they have to be scanned. Only Guice can call this, for the injectors that use this snapshot.
+   */
+  @Nullable
+  public Set<InjectionPoint> getInstanceMembers(GuiceInternal internalOnly, TypeLiteral<?> type) {
+    checkNotNull(internalOnly);
+    return getInstanceMembers(type);
+  }
+
+  @Nullable
+  InjectionPoint getConstructor(TypeLiteral<?> type, boolean atInjectRequired) {
+    Resolved resolved = resolve(type);
+    if (resolved == null
+        || resolved.constructor == null
+        || (atInjectRequired && !resolved.constructorAnnotated)) {
+      return null;
+    }
+    return resolved.constructor;
+  }
+
+  @Nullable
+  Set<InjectionPoint> getInstanceMembers(TypeLiteral<?> type) {
+    Resolved resolved = resolve(type);
+    return resolved != null ? resolved.members : null;
+  }
+
+  @Nullable
+  private Resolved resolve(TypeLiteral<?> type) {
+    if (!(type.getType() instanceof Class)) {
+      return null;
+    }
+    Entry entry = entries.get(type.getRawType());
+    if (entry == null) {
+      return null;
+    }
+    return resolved
+        .computeIfAbsent(
+            entry.type,
+            unused ->
+                fingerprint(entry.type, stamps) == entry.fingerprint
+                    ? entry.resolve()
+                    : Optional.empty())
+        .orElse(null);
+  }
+
+  /**
+   * Returns a fingerprint of where {@code type} and its superclasses were loaded from, or -1 if one
+   * of them wasn't loaded from a local jar or directory. The stamps of jars and class files are
+   * cached in {@code stamps}.
+   */
+  private static long fingerprint(Class<?> type, Map<Path, Long> stamps) {
+    long fingerprint = 1;
+    for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+      if (c.getClassLoader() == null) {
+        break; // platform classes don't change underneath us
+      }
+      Path file = classFile(c);
+      if (file == null) {
+        return -1;
+      }
+      long stamp = stamps.computeIfAbsent(file, InjectionPointSnapshot::stamp);
+      if (stamp == -1) {
+        return -1;
+      }
+      fingerprint = 31 * (31 * fingerprint + c.getName().hashCode()) + stamp;
+    }
+    return fingerprint;
+  }
+
+  /** Returns the jar, or class file in a directory, that {@code type} was loaded from. */
+  @Nullable
+  private static Path classFile(Class<?> type) {
+    CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+    URL location = codeSource != null ? codeSource.getLocation() : null;
+    if (location == null || !location.getProtocol().equals("file")) {
+      return null;
+    }
+    try {
+      Path path = Paths.get(location.toURI());
+      // class loaders give directories with a trailing slash, that saves checking the file system
+      return location.getPath().endsWith("/")
+          ? path.resolve(type.getName().replace('.', '/') + ".class")
+          : path;
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /** Returns a stamp of the size and modification time of {@code file}, or -1 if it's missing. */
+  private static long stamp(Path file) {
+    try {
+      BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+      return 31 * attributes.size() + attributes.lastModifiedTime().toMillis();
+    } catch (IOException e) {
+      return -1;
+    }
+  }
+
+  /** Captures the injection points of the modules given as arguments into a file. */
+  public static void main(String[] args) throws Exception {
+    if (args.length < 2) {
+      throw new IllegalArgumentException(
+          "Usage: InjectionPointSnapshot <output file> <module class name>"
+              + " [<module class name>...]");
+    }
+    List<Module> modules = new ArrayList<>();
+    for (String moduleName : Arrays.asList(args).subList(1, args.length)) {
+      Constructor<?> constructor =
+          Class.forName(moduleName, true, Thread.currentThread().getContextClassLoader())
+              .getDeclaredConstructor();
+      constructor.setAccessible(true);
+      modules.add((Module) constructor.newInstance());
+    }
+    InjectionPointSnapshot snapshot = capture(modules);
+    try (OutputStream out = new FileOutputStream(args[0])) {
+      snapshot.writeTo(out);
+    }
+    logger.info("Captured " + snapshot.size() + " classes into " + args[0]);
+  }
+
+  /** The injection points stored for one class. */
+  private static final class Entry {
+    final Class<?> type;
+    final long fingerprint;
+    @Nullable final MemberInfo constructor;
+    final ImmutableList<MemberInfo> members;
+
+    Entry(
+        Class<?> type,
+        long fingerprint,
+        @Nullable MemberInfo constructor,
+        ImmutableList<MemberInfo> members) {
+      this.type = type;
+      this.fingerprint = fingerprint;
+      this.constructor = constructor;
+      this.members = members;
+    }
+
+    /** Recreates the injection points, or returns empty if a member can't be found. */
+    Optional<Resolved> resolve() {
+      TypeLiteral<?> typeLiteral = TypeLiteral.get(type);
+      try {
+        InjectionPoint constructorPoint = null;
+        boolean constructorAnnotated = false;
+        if (constructor != null) {
+          Constructor<?> c = (Constructor<?>) constructor.find(type);
+          if (c == null) {
+            return Optional.empty();
+          }
+          constructorPoint = new InjectionPoint(typeLiteral, c);
+          constructorAnnotated =
+              c.isAnnotationPresent(Inject.class)
+                  || c.isAnnotationPresent(jakarta.inject.Inject.class);
+        }
+        ImmutableSet.Builder<InjectionPoint> memberPoints = ImmutableSet.builder();
+        for (MemberInfo memberInfo : members) {
+          Member member = memberInfo.find(type);
+          if (member == null) {
+            return Optional.empty();
+          }
+          TypeLiteral<?> declaringType = typeLiteral.getSupertype(member.getDeclaringClass());
+          memberPoints.add(
+              member instanceof Field
+                  ? new InjectionPoint(declaringType, (Field) member, memberInfo.optional)
+                  : new InjectionPoint(declaringType, (Method) member, memberInfo.optional));
+        }
+        return Optional.of(
+            new Resolved(constructorPoint, constructorAnnotated, memberPoints.build()));
+      } catch (ConfigurationException e) {
+        return Optional.empty(); // scanning reports this properly
+      }
+    }
+  }
+
+  /** The recreated injection points of one class. */
+  private static final class Resolved {
+    @Nullable final InjectionPoint constructor;
+    final boolean constructorAnnotated;
+    final ImmutableSet<InjectionPoint> members;
+
+    Resolved(
+        @Nullable InjectionPoint constructor,
+        boolean constructorAnnotated,
+        ImmutableSet<InjectionPoint> members) {
+      this.constructor = constructor;
+      this.constructorAnnotated = constructorAnnotated;
+      this.members = members;
+    }
+  }
+
+  /** Identifies a constructor, field or method by name, so it can be found without scanning. */
+  private static final class MemberInfo {
+    final byte kind;
+    final String declaringClass;
+    final String name;
+    final ImmutableList<String> parameterTypes;
+    final boolean optional;
+
+    MemberInfo(
+        byte kind,
+        String declaringClass,
+        String name,
+        ImmutableList<String> parameterTypes,
+        boolean optional) {
+      this.kind = kind;
+      this.declaringClass = declaringClass;
+      this.name = name;
+      this.parameterTypes = parameterTypes;
+      this.optional = optional;
+    }
+
+    static MemberInfo of(InjectionPoint injectionPoint) {
+      Member member = injectionPoint.getMember();
+      ImmutableList<String> parameterTypes = ImmutableList.of();
+      if (member instanceof Executable) {
+        parameterTypes =
+            Arrays.stream(((Executable) member).getParameterTypes())
+                .map(Class::getName)
+                .collect(ImmutableList.toImmutableList());
+      }
+      return new MemberInfo(
+          member instanceof Field ? FIELD : METHOD,
+          member.getDeclaringClass().getName(),
+          member instanceof Constructor ? "<init>" : member.getName(),
+          parameterTypes,
+          injectionPoint.isOptional());
+    }
+
+    void writeTo(DataOutputStream data) throws IOException {
+      data.writeByte(kind);
+      data.writeUTF(declaringClass);
+      data.writeUTF(name);
+      data.writeInt(parameterTypes.size());
+      for (String parameterType : parameterTypes) {
+        data.writeUTF(parameterType);
+      }
+      data.writeBoolean(optional);
+    }
+
+    static MemberInfo readFrom(DataInputStream data) throws IOException {
+      byte kind = data.readByte();
+      String declaringClass = data.readUTF();
+      String name = data.readUTF();
+      int parameterCount = data.readInt();
+      ImmutableList.Builder<String> parameterTypes = ImmutableList.builder();
+      for (int i = 0; i < parameterCount; i++) {
+        parameterTypes.add(data.readUTF());
+      }
+      return new MemberInfo(kind, declaringClass, name, parameterTypes.build(), data.readBoolean());
+    }
+
+    /** Returns this member of {@code type} or one of its superclasses, or null if it's gone. */
+    @Nullable
+    Member find(Class<?> type) {
+      Class<?> declaring = type;
+      while (declaring != null && !declaring.getName().equals(declaringClass)) {
+        declaring = declaring.getSuperclass();
+      }
+      if (declaring == null) {
+        return null;
+      }
+      if (kind == FIELD) {
+        try {
+          return declaring.getDeclaredField(name);
+        } catch (NoSuchFieldException e) {
+          return null;
+        }
+      }
+      Executable[] candidates =
+          name.equals("<init>")
+              ? declaring.getDeclaredConstructors()
+              : declaring.getDeclaredMethods();
+      for (Executable candidate : candidates) {
+        if ((candidate instanceof Constructor || candidate.getName().equals(name))
+            && hasParameterTypes(candidate)) {
+          return candidate;
+        }
+      }
+      return null;
+    }
+
+    private boolean hasParameterTypes(Executable executable) {
+      Class<?>[] types = executable.getParameterTypes();
+      if (types.length != parameterTypes.size()) {
+        return false;
+      }
+      for (int i = 0; i < types.length; i++) {
+        if (!types[i].getName().equals(parameterTypes.get(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.spi;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.inject.Binder;
+
+/**
+ * A request to use an {@link InjectionPointSnapshot} instead of scanning the classes it contains.
+ *
+ * @since 7.0
+ */
+public final class InjectionPointSnapshotOption implements Element {
+  private final Object source;
+  private final InjectionPointSnapshot snapshot;
+
+  InjectionPointSnapshotOption(Object source, InjectionPointSnapshot snapshot) {
+    this.source = checkNotNull(source, "source");
+    this.snapshot = checkNotNull(snapshot, "snapshot");
+  }
+
+  @Override
+  public Object getSource() {
+    return source;
+  }
+
+  public InjectionPointSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  @Override
+  public void applyTo(Binder binder) {
+    binder.withSource(getSource()).useInjectionPointSnapshot(snapshot);
+  }
+
+  @Override
+  public <T> T acceptVisitor(ElementVisitor<T> visitor) {
+    return visitor.visit(this);
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.spi;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.internal.GuiceInternal;
+import com.google.inject.internal.InternalInjectorCreator;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Where the time went while an injector was created. Guice only records these statistics for
+ * injectors whose modules call {@link com.google.inject.Binder#enableInjectorCreationStats}; use
+ * {@link #forInjector} to retrieve them once the injector has been created.
+ *
+ * <p>Timings are wall clock times. Module times include the time spent in the modules they
+ * install, and eager singleton times include the time spent creating their dependencies.
+ *
+ * @since 7.0
+ */
+public final class InjectorCreationStats {
+
+  private final ImmutableMap<String, Duration> phaseTimes;
+  private final ImmutableMap<Class<?>, Duration> moduleTimes;
+  private final ImmutableMap<Key<?>, Duration> bindingInitializationTimes;
+  private final ImmutableMap<Key<?>, Duration> eagerSingletonTimes;
+  private final int generatedFastClassCount;
+  private final int generatedEnhancerCount;
+
+  /**
+   * Guice creates these when an injector is built, they can't be created outside of Guice.
+   *
+   * @param eagerSingletonTimes must be ordered from slowest to fastest
+   */
+  public InjectorCreationStats(
+      GuiceInternal internalOnly,
+      Map<String, Duration> phaseTimes,
+      Map<Class<?>, Duration> moduleTimes,
+      Map<Key<?>, Duration> bindingInitializationTimes,
+      Map<Key<?>, Duration> eagerSingletonTimes,
+      int generatedFastClassCount,
+      int generatedEnhancerCount) {
+    checkNotNull(internalOnly);
+    this.phaseTimes = ImmutableMap.copyOf(phaseTimes);
+    this.moduleTimes = ImmutableMap.copyOf(moduleTimes);
+    this.bindingInitializationTimes = ImmutableMap.copyOf(bindingInitializationTimes);
+    this.eagerSingletonTimes = ImmutableMap.copyOf(eagerSingletonTimes);
+    this.generatedFastClassCount = generatedFastClassCount;
+    this.generatedEnhancerCount = generatedEnhancerCount;
+  }
+
+  /**
+   * Returns the statistics recorded while {@code injector} was created, or empty if they weren't
+   * recorded.
+   */
+  public static Optional<InjectorCreationStats> forInjector(Injector injector) {
+    return Optional.ofNullable(InternalInjectorCreator.getCreationStats(injector));
+  }
+
+  /**
+   * Returns the time spent in each phase of injector creation, in the order the phases ran. Phases
+   * that run once per private environment are added up.
+   */
+  public ImmutableMap<String, Duration> getPhaseTimes() {
+    return phaseTimes;
+  }
+
+  /** Returns the total time spent creating the injector. */
+  public Duration getTotalTime() {
+    Duration total = Duration.ZERO;
+    for (Duration phaseTime : phaseTimes.values()) {
+      total = total.plus(phaseTime);
+    }
+    return total;
+  }
+
+  /**
+   * Returns the time spent configuring each module class, in the order the modules finished
+   * configuring (so installed modules come before the modules that install them). Modules of the
+   * same class installed more than once are added up.
+   */
+  public ImmutableMap<Class<?>, Duration> getModuleTimes() {
+    return moduleTimes;
+  }
+
+  /** Returns the time spent initializing each explicit binding, in initialization order. */
+  public ImmutableMap<Key<?>, Duration> getBindingInitializationTimes() {
+    return bindingInitializationTimes;
+  }
+
+  /** Returns the time spent creating each eager singleton, slowest first. */
+  public ImmutableMap<Key<?>, Duration> getEagerSingletonTimes() {
+    return eagerSingletonTimes;
+  }
+
+  /** Returns the {@code limit} slowest eager singletons, slowest first. */
+  public ImmutableMap<Key<?>, Duration> getSlowestEagerSingletons(int limit) {
+    checkArgument(limit >= 0, "limit must not be negative: %s", limit);
+    return ImmutableMap.copyOf(Iterables.limit(eagerSingletonTimes.entrySet(), limit));
+  }
+
+  /**
+   * Returns the number of fast-classes generated by the threads that created the injector. Classes
+   * are generated once per JVM, so this only counts classes that other injectors didn't already
+   * generate.
+   */
+  public int getGeneratedFastClassCount() {
+    return generatedFastClassCount;
+  }
+
+  /**
+   * Returns the number of enhanced classes generated for method interception while the injector was
+   * created. The same caveats as {@link #getGeneratedFastClassCount} apply.
+   */
+  public int getGeneratedEnhancerCount() {
+    return generatedEnhancerCount;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(InjectorCreationStats.class)
+        .add("totalTime", getTotalTime())
+        .add("phaseTimes", phaseTimes)
+        .add("modules", moduleTimes.size())
+        .add("bindings", bindingInitializationTimes.size())
+        .add("slowestEagerSingletons", getSlowestEagerSingletons(10))
+        .add("generatedFastClassCount", generatedFastClassCount)
+        .add("generatedEnhancerCount", generatedEnhancerCount)
+        .toString();
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.spi;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+
+/**
+ * Intercepts methods by wrapping a {@link MethodHandle} to the intercepted method, rather than by
+ * being called with a {@link org.aopalliance.intercept.MethodInvocation}. Bound with {@link
+ * com.google.inject.Binder#bindInterceptor(com.google.inject.matcher.Matcher,
+ * com.google.inject.matcher.Matcher, MethodHandleInterceptor...)}.
+ *
+ * <p>Guice asks the interceptor for a handle when it sets up interception of a class, once for
+ * each intercepted method. Enhanced methods then invoke that handle exactly with their own
+ * arguments, so arguments and results are neither boxed nor copied into arrays. For example, an
+ * interceptor that counts calls:
+ *
+ * <pre>{@code
+ * MethodHandle increment =
+ *     lookup().findVirtual(LongAdder.class, "increment", methodType(void.class)).bindTo(counter);
+ * MethodHandleInterceptor counting =
+ *     (method, target) -> MethodHandles.foldArguments(target, increment);
+ * }</pre>
+ *
+ * <p>When method handle interceptors and {@link org.aopalliance.intercept.MethodInterceptor}s apply
+ * to the same method, they are called in the order they were bound, but the arguments are boxed for
+ * the method interceptors.
+ *
+ * @since 7.0
+ */
+@FunctionalInterface
+public interface MethodHandleInterceptor {
+
+  /**
+   * Returns a handle that intercepts calls to {@code method}, which may call {@code target} to
+   * proceed to the next interceptor or the intercepted method.
+   *
+   * <p>{@code target} takes the object the method is called on, as an {@link Object}, followed by
+   * the parameters of the method, and returns the return type of the method. The returned handle
+   * must have exactly the same type.
+   */
+  MethodHandle intercept(Method method, MethodHandle target);
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.spi;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Binder;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.internal.GuiceInternal;
+import com.google.inject.internal.InternalInjectorCreator;
+import java.time.Duration;
+
+/**
+ * A snapshot of how often a binding was provisioned and how long that took. Guice only records
+ * these metrics for injectors configured with {@link Binder#enableProvisionMetrics}; use {@link
+ * #forInjector} to take a snapshot of all the bindings of an injector.
+ *
+ * <p>A provision is Guice creating an instance, the same events a {@link ProvisionListener} is
+ * notified of. Instances returned from a scope without being created aren't counted. Times include
+ * the time spent creating dependencies that weren't created yet.
+ *
+ * <p>Latencies are kept in a histogram of power-of-two buckets, so percentiles are approximate:
+ * they are the upper bound of the bucket containing the percentile, at most twice the real value.
+ *
+ * @since 7.0
+ */
+public final class ProvisionMetrics {
+
+  private final Key<?> key;
+  private final long count;
+  private final long totalNanos;
+  private final long maxNanos;
+  private final long[] buckets;
+
+  /** Guice creates these when taking a snapshot, they can't be created outside of Guice. */
+  public ProvisionMetrics(
+      GuiceInternal internalOnly,
+      Key<?> key,
+      long count,
+      long totalNanos,
+      long maxNanos,
+      long[] buckets) {
+    checkNotNull(internalOnly);
+    this.key = key;
+    this.count = count;
+    this.totalNanos = totalNanos;
+    this.maxNanos = maxNanos;
+    this.buckets = buckets.clone();
+  }
+
+  /**
+   * Returns a snapshot of the provision metrics of every binding {@code injector} has provisioned,
+   * or an empty map if provision metrics aren't enabled for the injector.
+   */
+  public static ImmutableMap<Key<?>, ProvisionMetrics> forInjector(Injector injector) {
+    return InternalInjectorCreator.getProvisionMetrics(injector);
+  }
+
+  /** Returns the key of the provisioned binding. */
+  public Key<?> getKey() {
+    return key;
+  }
+
+  /** Returns the number of provisions. */
+  public long getCount() {
+    return count;
+  }
+
+  /** Returns the total time spent provisioning. */
+  public Duration getTotalTime() {
+    return Duration.ofNanos(totalNanos);
+  }
+
+  /** Returns the mean time of a provision, or zero if there weren't any. */
+  public Duration getMeanTime() {
+    return count == 0 ? Duration.ZERO : Duration.ofNanos(totalNanos / count);
+  }
+
+  /** Returns the time of the slowest provision. */
+  public Duration getMaxTime() {
+    return Duration.ofNanos(maxNanos);
+  }
+
+  /**
+   * Returns the approximate time that {@code percentile} percent of the provisions took at most,
+   * or zero if there weren't any provisions.
+   *
+   * @param percentile between 0 and 100
+   */
+  public Duration getPercentile(double percentile) {
+    checkArgument(
+        percentile >= 0 && percentile <= 100, "percentile must be in [0, 100]: %s", percentile);
+    long total = 0;
+    for (long bucket : buckets) {
+      total += bucket;
+    }
+    if (total == 0) {
+      return Duration.ZERO;
+    }
+    long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+    long seen = 0;
+    for (int i = 0; i < buckets.length; i++) {
+      seen += buckets[i];
+      if (seen >= rank) {
+        return Duration.ofNanos(Math.min(maxNanos, i == 0 ? 0 : (1L << i) - 1));
+      }
+    }
+    return getMaxTime();
+  }
+
+  /**
+   * Returns how many provisions fell into histogram bucket {@code index}. There are 64 buckets;
+   * bucket {@code i} counts provisions that took less than 2<sup>i</sup> ns, and more than those of
+   * the bucket before it, except that the last bucket counts all longer provisions too.
+   */
+  public long getBucketCount(int index) {
+    return buckets[index];
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(ProvisionMetrics.class)
+        .add("key", key)
+        .add("count", count)
+        .add("mean", getMeanTime())
+        .add("p50", getPercentile(50))
+        .add("p99", getPercentile(99))
+        .add("max", getMaxTime())
+        .toString();
+  }
+}
@@ -466,6 +466,76 @@ public final class Modules {
     }
   }
 
+  /**
+   * Returns a module that will configure the injector to record provision metrics.
+   *
+   * @since 7.0
+   * @see Binder#enableProvisionMetrics
+   */
+  public static Module enableProvisionMetricsModule() {
+    return new EnableProvisionMetricsModule();
+  }
+
+  private static final class EnableProvisionMetricsModule implements Module {
+    @Override
+    public void configure(Binder binder) {
+      binder.enableProvisionMetrics();
+    }
+  }
+
+  /**
+   * Returns a module that will configure the injector to record its creation statistics.
+   *
+   * @since 7.0
+   * @see Binder#enableInjectorCreationStats
+   */
+  public static Module enableInjectorCreationStatsModule() {
+    return new EnableInjectorCreationStatsModule();
+  }
+
+  private static final class EnableInjectorCreationStatsModule implements Module {
+    @Override
+    public void configure(Binder binder) {
+      binder.enableInjectorCreationStats();
+    }
+  }
+
+  /**
+   * Returns a module that will configure the injector to leave the stack traces of exceptions
+   * thrown through method interceptors unpruned.
+   *
+   * @since 7.0
+   * @see Binder#disableInterceptorStackTracePruning
+   */
+  public static Module disableInterceptorStackTracePruningModule() {
+    return new DisableInterceptorStackTracePruningModule();
+  }
+
+  private static final class DisableInterceptorStackTracePruningModule implements Module {
+    @Override
+    public void configure(Binder binder) {
+      binder.disableInterceptorStackTracePruning();
+    }
+  }
+
+  /**
+   * Returns a module that will configure the injector to share one invocation between the
+   * interceptors of an intercepted call.
+   *
+   * @since 7.0
+   * @see Binder#enableSharedInterceptorDispatch
+   */
+  public static Module enableSharedInterceptorDispatchModule() {
+    return new EnableSharedInterceptorDispatchModule();
+  }
+
+  private static final class EnableSharedInterceptorDispatchModule implements Module {
+    @Override
+    public void configure(Binder binder) {
+      binder.enableSharedInterceptorDispatch();
+    }
+  }
+
   /**
    * Returns a module that will configure the injector to disable circular proxies.
    *
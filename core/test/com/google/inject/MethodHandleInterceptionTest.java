@@ -0,0 +1,293 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodType.methodType;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Iterables;
+import com.google.inject.internal.InternalFlags;
+import com.google.inject.matcher.Matchers;
+import com.google.inject.spi.ConstructorBinding;
+import com.google.inject.spi.MethodHandleInterceptor;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class MethodHandleInterceptionTest {
+
+  private static final MethodHandle LONG_ADDER_INCREMENT =
+      findVirtual(LongAdder.class, "increment", methodType(void.class));
+
+  private static final MethodHandle LIST_ADD =
+      findVirtual(List.class, "add", methodType(boolean.class, Object.class));
+
+  private static final MethodHandle NEGATE =
+      findStatic(Math.class, "negateExact", methodType(int.class, int.class));
+
+  private static MethodHandle findVirtual(Class<?> type, String name, MethodType methodType) {
+    try {
+      return lookup().findVirtual(type, name, methodType);
+    } catch (ReflectiveOperationException e) {
+      throw new LinkageError(name, e);
+    }
+  }
+
+  private static MethodHandle findStatic(Class<?> type, String name, MethodType methodType) {
+    try {
+      return lookup().findStatic(type, name, methodType);
+    } catch (ReflectiveOperationException e) {
+      throw new LinkageError(name, e);
+    }
+  }
+
+  /** Returns an interceptor that adds the name to the calls before proceeding. */
+  private static MethodHandleInterceptor recording(List<String> calls, String name) {
+    MethodHandle record =
+        MethodHandles.insertArguments(LIST_ADD, 0, calls, name).asType(methodType(void.class));
+    return (method, target) -> MethodHandles.foldArguments(target, record);
+  }
+
+  @Before
+  public void checkBytecodeGenIsEnabled() {
+    assumeTrue(InternalFlags.isBytecodeGenEnabled());
+  }
+
+  public static class Calculator {
+    StackTraceElement[] lastElements;
+
+    public int add(int a, int b) {
+      lastElements = Thread.currentThread().getStackTrace();
+      return a + b;
+    }
+
+    public long scale(long value, double factor) {
+      return (long) (value * factor);
+    }
+
+    public void fail(String message) throws IOException {
+      throw new IOException(message);
+    }
+  }
+
+  @Test
+  public void testInterceptorsSeeTypedArgumentsAndResults() {
+    LongAdder counter = new LongAdder();
+    MethodHandle increment = LONG_ADDER_INCREMENT.bindTo(counter);
+    MethodHandleInterceptor counting =
+        (method, target) -> MethodHandles.foldArguments(target, increment);
+    MethodHandleInterceptor negating =
+        (method, target) ->
+            method.getName().equals("add")
+                ? MethodHandles.filterArguments(target, 2, NEGATE) // negates b
+                : target;
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bindInterceptor(Matchers.any(), Matchers.any(), counting, negating);
+              }
+            });
+
+    Calculator calculator = injector.getInstance(Calculator.class);
+    assertEquals(-1, calculator.add(1, 2));
+    assertEquals(5L, calculator.scale(2L, 2.5));
+    assertEquals(2, counter.sum());
+
+    // the handle is invoked directly, so there is no interceptor stack in between
+    assertFalse(
+        Arrays.toString(calculator.lastElements),
+        Arrays.stream(calculator.lastElements)
+            .anyMatch(e -> e.getClassName().contains("InterceptorStackCallback")));
+  }
+
+  @Test
+  public void testInterceptorsAreCalledInBindingOrder() {
+    List<String> calls = new ArrayList<>();
+    MethodInterceptor b =
+        invocation -> {
+          calls.add("b");
+          return invocation.proceed();
+        };
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bindInterceptor(Matchers.any(), Matchers.any(), recording(calls, "a"));
+                bindInterceptor(Matchers.any(), Matchers.any(), b);
+                bindInterceptor(Matchers.any(), Matchers.any(), recording(calls, "c"));
+              }
+            });
+
+    assertEquals(7, injector.getInstance(Calculator.class).add(3, 4));
+    assertThat(calls).containsExactly("a", "b", "c").inOrder();
+  }
+
+  @Test
+  public void testSharedInterceptorDispatchAroundHandleInterceptors() {
+    List<String> calls = new ArrayList<>();
+    List<MethodInvocation> invocations = new ArrayList<>();
+    MethodInterceptor b =
+        invocation -> {
+          calls.add("b");
+          invocations.add(invocation);
+          return invocation.proceed();
+        };
+    MethodInterceptor c =
+        invocation -> {
+          calls.add("c");
+          invocations.add(invocation);
+          return invocation.proceed();
+        };
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                binder().enableSharedInterceptorDispatch();
+                bindInterceptor(Matchers.any(), Matchers.any(), recording(calls, "a"));
+                bindInterceptor(Matchers.any(), Matchers.any(), b, c);
+                bindInterceptor(Matchers.any(), Matchers.any(), recording(calls, "d"));
+              }
+            });
+
+    assertEquals(7, injector.getInstance(Calculator.class).add(3, 4));
+    assertThat(calls).containsExactly("a", "b", "c", "d").inOrder();
+    assertThat(invocations).hasSize(2);
+    assertSame(invocations.get(0), invocations.get(1));
+  }
+
+  @Test
+  public void testExceptionsPropagate() {
+    List<String> calls = new ArrayList<>();
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bindInterceptor(Matchers.any(), Matchers.any(), recording(calls, "a"));
+              }
+            });
+
+    try {
+      injector.getInstance(Calculator.class).fail("kaboom!");
+      fail();
+    } catch (IOException expected) {
+      assertEquals("kaboom!", expected.getMessage());
+    }
+    assertThat(calls).containsExactly("a");
+  }
+
+  @Test
+  public void testHandleOfWrongTypeIsAnError() {
+    MethodHandleInterceptor wrongType =
+        (method, target) -> target.asType(target.type().generic());
+    try {
+      Guice.createInjector(
+              new AbstractModule() {
+                @Override
+                protected void configure() {
+                  bindInterceptor(Matchers.any(), Matchers.any(), wrongType);
+                }
+              })
+          .getInstance(Calculator.class);
+      fail();
+    } catch (ConfigurationException | ProvisionException expected) {
+      assertThat(Throwables.getRootCause(expected))
+          .hasMessageThat()
+          .contains("but the handle must have type");
+    }
+  }
+
+  @Test
+  public void testInterceptorCanBeCalledAsMethodInterceptor() throws Throwable {
+    List<String> calls = new ArrayList<>();
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bindInterceptor(
+                    Matchers.any(),
+                    Matchers.returns(Matchers.only(int.class)),
+                    recording(calls, "a"));
+              }
+            });
+
+    ConstructorBinding<?> binding =
+        (ConstructorBinding<?>) injector.getBinding(Calculator.class);
+    Method add = Calculator.class.getMethod("add", int.class, int.class);
+    MethodInterceptor interceptor =
+        Iterables.getOnlyElement(binding.getMethodInterceptors().get(add));
+
+    Calculator calculator = new Calculator();
+    Object[] arguments = {5, 6};
+    Object result =
+        interceptor.invoke(
+            new MethodInvocation() {
+              @Override
+              public Method getMethod() {
+                return add;
+              }
+
+              @Override
+              public Object[] getArguments() {
+                return arguments;
+              }
+
+              @Override
+              public Object proceed() {
+                return calculator.add((Integer) arguments[0], (Integer) arguments[1]);
+              }
+
+              @Override
+              public Object getThis() {
+                return calculator;
+              }
+
+              @Override
+              public AccessibleObject getStaticPart() {
+                return add;
+              }
+            });
+    assertEquals(11, result);
+    assertThat(calls).containsExactly("a");
+  }
+}
@@ -22,6 +22,7 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -41,6 +42,7 @@ import com.google.inject.spi.ConstructorBinding;
 import com.google.inject.spi.DefaultElementVisitor;
 import com.google.inject.spi.Element;
 import com.google.inject.spi.InterceptorBinding;
+import com.google.inject.util.Modules;
 import java.lang.annotation.Retention;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -315,6 +317,79 @@ public class MethodInterceptionTest {
     }
   }
 
+  @Test
+  public void testInterceptorsSeePrunedStackTraces() throws Exception {
+    List<StackTraceElement[]> seen = new ArrayList<>();
+    MethodInterceptor recordingInterceptor =
+        invocation -> {
+          try {
+            return invocation.proceed();
+          } catch (Exception e) {
+            seen.add(e.getStackTrace());
+            throw e;
+          }
+        };
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bindInterceptor(Matchers.any(), Matchers.any(), recordingInterceptor);
+                bindInterceptor(Matchers.any(), Matchers.any(), new NoOpInterceptor());
+              }
+            });
+
+    Interceptable interceptable = injector.getInstance(Interceptable.class);
+    try {
+      interceptable.explode();
+      fail();
+    } catch (Exception e) {
+      assertEquals(1, seen.size());
+      assertEquals(Arrays.asList(e.getStackTrace()), Arrays.asList(seen.get(0)));
+      assertFalse(Arrays.toString(e.getStackTrace()), hasInternalFrame(e.getStackTrace()));
+    }
+  }
+
+  @Test
+  public void testStackTracePruningCanBeDisabled() throws Exception {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                binder().disableInterceptorStackTracePruning();
+                bindInterceptor(Matchers.any(), Matchers.any(), new CountingInterceptor());
+              }
+            });
+
+    Interceptable interceptable = injector.getInstance(Interceptable.class);
+    try {
+      interceptable.explode();
+      fail();
+    } catch (Exception e) {
+      assertTrue(Arrays.toString(e.getStackTrace()), hasInternalFrame(e.getStackTrace()));
+      assertTrue(hasInternalFrame(e.getCause().getStackTrace()));
+    }
+
+    Injector child = injector.createChildInjector();
+    try {
+      child.getInstance(Interceptable.class).explode();
+      fail();
+    } catch (Exception e) {
+      assertTrue(Arrays.toString(e.getStackTrace()), hasInternalFrame(e.getStackTrace()));
+    }
+  }
+
+  private static boolean hasInternalFrame(StackTraceElement[] stackTrace) {
+    for (StackTraceElement element : stackTrace) {
+      if (element.getClassName().contains("$$EnhancerByGuice$$")
+          || element.getClassName().startsWith("com.google.inject.internal.")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private static boolean isLambdaFrame(StackTraceElement element) {
     var name = element.getClassName();
     return name.startsWith("java.lang.invoke.LambdaForm")
@@ -479,6 +554,136 @@ public class MethodInterceptionTest {
     assertEquals(1, count.get());
   }
 
+  @Test
+  public void testInterceptorsCanProceedMoreThanOnce() {
+    final List<String> callList = Lists.newArrayList();
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bindInterceptor(
+                    Matchers.any(),
+                    Matchers.any(),
+                    new NamedInterceptor("a", callList),
+                    methodInvocation -> {
+                      methodInvocation.proceed();
+                      return methodInvocation.proceed();
+                    },
+                    new NamedInterceptor("b", callList),
+                    new NamedInterceptor("c", callList));
+              }
+            });
+
+    Interceptable interceptable = injector.getInstance(Interceptable.class);
+    interceptable.foo();
+    assertEquals(Arrays.asList("a", "b", "c", "b", "c"), callList);
+    callList.clear();
+    interceptable.foo();
+    assertEquals(Arrays.asList("a", "b", "c", "b", "c"), callList);
+  }
+
+  @Test
+  public void testSharedInterceptorDispatch() {
+    final List<String> callList = Lists.newArrayList();
+    final List<MethodInvocation> invocations = Lists.newArrayList();
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                binder().enableSharedInterceptorDispatch();
+                bindInterceptor(
+                    Matchers.any(),
+                    Matchers.any(),
+                    recordingInvocations(invocations),
+                    new NamedInterceptor("a", callList),
+                    methodInvocation -> {
+                      methodInvocation.proceed();
+                      return methodInvocation.proceed();
+                    },
+                    new NamedInterceptor("b", callList),
+                    recordingInvocations(invocations));
+              }
+            });
+
+    Interceptable interceptable = injector.getInstance(Interceptable.class);
+    interceptable.foo();
+    assertEquals(Arrays.asList("a", "b", "b"), callList);
+    assertEquals(3, invocations.size());
+    assertSame(invocations.get(0), invocations.get(1));
+    assertSame(invocations.get(0), invocations.get(2));
+    assertNotNull(interceptable.lastElements);
+
+    invocations.clear();
+    injector.createChildInjector().getInstance(Interceptable.class).foo();
+    assertEquals(3, invocations.size());
+    assertSame(invocations.get(0), invocations.get(2));
+  }
+
+  @Test
+  public void testInterceptorsGetTheirOwnInvocationsByDefault() {
+    final List<MethodInvocation> invocations = Lists.newArrayList();
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bindInterceptor(
+                    Matchers.any(),
+                    Matchers.any(),
+                    recordingInvocations(invocations),
+                    recordingInvocations(invocations));
+              }
+            });
+
+    injector.getInstance(Interceptable.class).foo();
+    assertEquals(2, invocations.size());
+    assertNotSame(invocations.get(0), invocations.get(1));
+  }
+
+  /** Returns a new interceptor that adds the invocations it's given to {@code invocations}. */
+  private static MethodInterceptor recordingInvocations(List<MethodInvocation> invocations) {
+    return methodInvocation -> {
+      invocations.add(methodInvocation);
+      return methodInvocation.proceed();
+    };
+  }
+
+  @Test
+  public void testSharedInterceptorDispatchPrunesStackTraces() throws Exception {
+    List<StackTraceElement[]> seen = new ArrayList<>();
+    MethodInterceptor recordingInterceptor =
+        invocation -> {
+          try {
+            return invocation.proceed();
+          } catch (Exception e) {
+            seen.add(e.getStackTrace());
+            throw e;
+          }
+        };
+    Injector injector =
+        Guice.createInjector(
+            Modules.enableSharedInterceptorDispatchModule(),
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bindInterceptor(Matchers.any(), Matchers.any(), recordingInterceptor);
+                bindInterceptor(Matchers.any(), Matchers.any(), new NoOpInterceptor());
+              }
+            });
+
+    Interceptable interceptable = injector.getInstance(Interceptable.class);
+    try {
+      interceptable.explode();
+      fail();
+    } catch (Exception e) {
+      assertEquals(1, seen.size());
+      assertEquals(Arrays.asList(e.getStackTrace()), Arrays.asList(seen.get(0)));
+      assertFalse(Arrays.toString(e.getStackTrace()), hasInternalFrame(e.getStackTrace()));
+    }
+  }
+
   @Test
   public void testCallLater() {
     final Queue<Runnable> queue = Lists.newLinkedList();
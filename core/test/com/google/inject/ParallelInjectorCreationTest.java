@@ -0,0 +1,424 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.inject.Asserts.assertContains;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests building injectors with {@link Binder#parallelizeInjectorCreation}. */
+@RunWith(JUnit4.class)
+public class ParallelInjectorCreationTest {
+
+  private static final String THREAD_NAME = "parallel-injector-creation-test";
+
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    Shared.instanceCount.set(0);
+    creatingThreads.clear();
+    executor =
+        Executors.newFixedThreadPool(
+            4,
+            runnable -> {
+              Thread thread = new Thread(runnable, THREAD_NAME);
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  private Injector createInjector(Stage stage, Module module) {
+    return Guice.createInjector(
+        stage, module, binder -> binder.parallelizeInjectorCreation(executor));
+  }
+
+  static final Map<Class<?>, Thread> creatingThreads = new ConcurrentHashMap<>();
+
+  @Singleton
+  static class Shared {
+    static final AtomicInteger instanceCount = new AtomicInteger();
+
+    Shared() {
+      instanceCount.incrementAndGet();
+      creatingThreads.put(Shared.class, Thread.currentThread());
+    }
+  }
+
+  static class First {
+    @Inject
+    First(Shared shared) {
+      creatingThreads.put(First.class, Thread.currentThread());
+    }
+  }
+
+  static class Second {
+    @Inject
+    Second(Shared shared) {
+      creatingThreads.put(Second.class, Thread.currentThread());
+    }
+  }
+
+  static class Third {
+    @Inject
+    Third(Shared shared) {
+      creatingThreads.put(Third.class, Thread.currentThread());
+    }
+  }
+
+  @Test
+  public void testSharedSingletonIsCreatedOnce() {
+    Injector injector =
+        createInjector(
+            Stage.PRODUCTION,
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(First.class).asEagerSingleton();
+                bind(Second.class).asEagerSingleton();
+                bind(Third.class).asEagerSingleton();
+              }
+            });
+
+    assertEquals(1, Shared.instanceCount.get());
+    assertSame(injector.getInstance(First.class), injector.getInstance(First.class));
+    assertThat(creatingThreads.keySet())
+        .containsExactly(Shared.class, First.class, Second.class, Third.class);
+  }
+
+  private static final Module EAGER_SINGLETONS =
+      new AbstractModule() {
+        @Override
+        protected void configure() {
+          bind(First.class).asEagerSingleton();
+          bind(Second.class).asEagerSingleton();
+          bind(Third.class).asEagerSingleton();
+        }
+      };
+
+  @Test
+  public void testEagerSingletonsAreCreatedOnTheExecutor() {
+    createInjector(Stage.PRODUCTION, EAGER_SINGLETONS);
+
+    assertThat(creatingThreads).hasSize(4);
+    for (Thread thread : creatingThreads.values()) {
+      assertThat(thread.getName()).isEqualTo(THREAD_NAME);
+    }
+    assertThat(executor.isShutdown()).isFalse();
+  }
+
+  @Test
+  public void testEagerSingletonsAreCreatedOnTheCallingThreadByDefault() {
+    Guice.createInjector(Stage.PRODUCTION, EAGER_SINGLETONS);
+
+    assertThat(creatingThreads).hasSize(4);
+    for (Thread thread : creatingThreads.values()) {
+      assertSame(Thread.currentThread(), thread);
+    }
+  }
+
+  @Test
+  public void testChildInjectorsInheritTheExecutor() {
+    Injector parent = createInjector(Stage.PRODUCTION, new AbstractModule() {});
+    parent.createChildInjector(EAGER_SINGLETONS);
+
+    assertThat(creatingThreads).hasSize(4);
+    for (Thread thread : creatingThreads.values()) {
+      assertThat(thread.getName()).isEqualTo(THREAD_NAME);
+    }
+  }
+
+  static class ChildInjectorCreator {
+    @Inject
+    ChildInjectorCreator(Injector injector) {
+      injector.createChildInjector(EAGER_SINGLETONS);
+    }
+  }
+
+  @Test(timeout = 60_000)
+  public void testEagerSingletonCreatingChildInjectorDoesNotStarveExecutor() {
+    ExecutorService singleThread = Executors.newSingleThreadExecutor();
+    try {
+      Guice.createInjector(
+          Stage.PRODUCTION,
+          new AbstractModule() {
+            @Override
+            protected void configure() {
+              binder().parallelizeInjectorCreation(singleThread);
+              bind(ChildInjectorCreator.class).asEagerSingleton();
+              bind(Ping.class).to(PingImpl.class).asEagerSingleton();
+              bind(Pong.class).to(PongImpl.class).asEagerSingleton();
+            }
+          });
+    } finally {
+      singleThread.shutdownNow();
+    }
+
+    assertThat(creatingThreads).hasSize(4);
+    assertEquals(1, Shared.instanceCount.get());
+  }
+
+  public interface Parent {}
+
+  @Singleton
+  static class ParentImpl implements Parent {
+    @Inject
+    ParentImpl(Injector injector) {
+      injector.createChildInjector(
+          new AbstractModule() {
+            @Override
+            protected void configure() {
+              bind(ParentUser.class).asEagerSingleton();
+              bind(First.class).asEagerSingleton();
+            }
+          });
+    }
+  }
+
+  static class ParentUser {
+    @Inject
+    ParentUser(Parent parent) {}
+  }
+
+  @Test(timeout = 60_000)
+  public void testChildInjectorCreatedWhileHoldingSingletonLockLoadsSerially() {
+    Injector injector =
+        createInjector(
+            Stage.DEVELOPMENT,
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(Parent.class).to(ParentImpl.class);
+              }
+            });
+
+    injector.getInstance(Parent.class);
+    assertSame(Thread.currentThread(), creatingThreads.get(First.class));
+  }
+
+  static class FailingFirst {
+    FailingFirst() {
+      throw new IllegalStateException("first failed");
+    }
+  }
+
+  static class FailingSecond {
+    FailingSecond() {
+      throw new IllegalStateException("second failed");
+    }
+  }
+
+  static class FailingThird {
+    FailingThird() {
+      throw new IllegalStateException("third failed");
+    }
+  }
+
+  @Test
+  public void testEagerSingletonErrorsAreReportedInBindingOrder() {
+    try {
+      createInjector(
+          Stage.PRODUCTION,
+          new AbstractModule() {
+            @Override
+            protected void configure() {
+              bind(FailingFirst.class).asEagerSingleton();
+              bind(First.class).asEagerSingleton();
+              bind(FailingSecond.class).asEagerSingleton();
+              bind(FailingThird.class).asEagerSingleton();
+            }
+          });
+      fail();
+    } catch (CreationException expected) {
+      assertEquals(3, expected.getErrorMessages().size());
+      assertContains(
+          expected.getMessage(),
+          "1) [Guice/ErrorInjectingConstructor]: IllegalStateException: first failed",
+          "2) [Guice/ErrorInjectingConstructor]: IllegalStateException: second failed",
+          "3) [Guice/ErrorInjectingConstructor]: IllegalStateException: third failed");
+    }
+    assertThat(creatingThreads).containsKey(First.class);
+  }
+
+  public interface Ping {
+    Pong pong();
+
+    Ping self();
+  }
+
+  public interface Pong {
+    Ping ping();
+
+    Pong self();
+  }
+
+  static class PingImpl implements Ping {
+    final Pong pong;
+
+    @Inject
+    PingImpl(Pong pong) {
+      this.pong = pong;
+    }
+
+    @Override
+    public Pong pong() {
+      return pong;
+    }
+
+    @Override
+    public Ping self() {
+      return this;
+    }
+  }
+
+  static class PongImpl implements Pong {
+    final Ping ping;
+
+    @Inject
+    PongImpl(Ping ping) {
+      this.ping = ping;
+    }
+
+    @Override
+    public Ping ping() {
+      return ping;
+    }
+
+    @Override
+    public Pong self() {
+      return this;
+    }
+  }
+
+  @Test
+  public void testSingletonsInADependencyCycleAreStillResolved() {
+    Injector injector =
+        createInjector(
+            Stage.PRODUCTION,
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(Ping.class).to(PingImpl.class).in(Singleton.class);
+                bind(Pong.class).to(PongImpl.class).in(Singleton.class);
+                bind(First.class).asEagerSingleton();
+                bind(Second.class).asEagerSingleton();
+              }
+            });
+
+    Ping ping = injector.getInstance(Ping.class);
+    Pong pong = injector.getInstance(Pong.class);
+    // one of the two was injected with a circular proxy, which delegates to the singleton
+    assertSame(pong.self(), ping.pong().self());
+    assertSame(ping.self(), pong.ping().self());
+    assertEquals(1, Shared.instanceCount.get());
+  }
+
+  static class WithMembers {
+    @Inject Shared field;
+    Shared method;
+
+    @Inject
+    void inject(Shared method) {
+      this.method = method;
+    }
+  }
+
+  static class WithMoreMembers extends WithMembers {
+    @Inject First first;
+  }
+
+  @Test
+  public void testMembersOfConstructorBindingsAreInjected() {
+    Injector injector =
+        createInjector(
+            Stage.DEVELOPMENT,
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(WithMembers.class);
+                bind(WithMoreMembers.class);
+                bind(First.class);
+              }
+            });
+
+    WithMoreMembers instance = injector.getInstance(WithMoreMembers.class);
+    assertSame(instance.field, instance.method);
+    assertThat(instance.first).isNotNull();
+    List<Key<?>> keys = ImmutableList.copyOf(injector.getBindings().keySet());
+    assertThat(keys)
+        .containsAtLeast(
+            Key.get(WithMembers.class), Key.get(WithMoreMembers.class), Key.get(First.class))
+        .inOrder();
+  }
+
+  static class FinalFirst {
+    @jakarta.inject.Inject final Shared first = null;
+  }
+
+  static class FinalSecond {
+    @jakarta.inject.Inject final Shared second = null;
+  }
+
+  static class FinalThird {
+    @jakarta.inject.Inject final Shared third = null;
+  }
+
+  @Test
+  public void testMemberErrorsAreReportedInBindingOrder() {
+    try {
+      createInjector(
+          Stage.DEVELOPMENT,
+          new AbstractModule() {
+            @Override
+            protected void configure() {
+              bind(FinalFirst.class);
+              bind(WithMembers.class);
+              bind(FinalSecond.class);
+              bind(FinalThird.class);
+            }
+          });
+      fail();
+    } catch (CreationException expected) {
+      assertEquals(3, expected.getErrorMessages().size());
+      assertContains(
+          expected.getMessage(),
+          "1) [Guice/InjectFinalField]: Injected field ParallelInjectorCreationTest$FinalFirst",
+          "2) [Guice/InjectFinalField]: Injected field ParallelInjectorCreationTest$FinalSecond",
+          "3) [Guice/InjectFinalField]: Injected field ParallelInjectorCreationTest$FinalThird");
+    }
+  }
+}
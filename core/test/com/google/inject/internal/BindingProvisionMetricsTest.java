@@ -0,0 +1,43 @@
+package com.google.inject.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.inject.Key;
+import com.google.inject.spi.ProvisionMetrics;
+import java.time.Duration;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class BindingProvisionMetricsTest {
+
+  @Test
+  public void bucketOf() {
+    assertThat(BindingProvisionMetrics.bucketOf(0)).isEqualTo(0);
+    assertThat(BindingProvisionMetrics.bucketOf(1)).isEqualTo(1);
+    assertThat(BindingProvisionMetrics.bucketOf(1023)).isEqualTo(10);
+    assertThat(BindingProvisionMetrics.bucketOf(1024)).isEqualTo(11);
+    assertThat(BindingProvisionMetrics.bucketOf(Long.MAX_VALUE))
+        .isEqualTo(BindingProvisionMetrics.BUCKET_COUNT - 1);
+  }
+
+  @Test
+  public void snapshot() {
+    BindingProvisionMetrics recorder = new BindingProvisionMetrics(Key.get(String.class));
+    for (int i = 0; i < 99; i++) {
+      recorder.record(1000);
+    }
+    recorder.record(1_000_000);
+
+    ProvisionMetrics metrics = recorder.snapshot();
+    assertThat(metrics.getCount()).isEqualTo(100);
+    assertThat(metrics.getBucketCount(10)).isEqualTo(99);
+    assertThat(metrics.getBucketCount(20)).isEqualTo(1);
+    assertThat(metrics.getPercentile(50)).isEqualTo(Duration.ofNanos(1023));
+    assertThat(metrics.getPercentile(99)).isEqualTo(Duration.ofNanos(1023));
+    assertThat(metrics.getPercentile(100)).isEqualTo(Duration.ofNanos(1_000_000));
+    assertThat(metrics.getMeanTime()).isEqualTo(Duration.ofNanos(10_990));
+    assertThat(metrics.getMaxTime()).isEqualTo(Duration.ofNanos(1_000_000));
+  }
+}
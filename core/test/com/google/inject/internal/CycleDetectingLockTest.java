@@ -5,6 +5,7 @@ import static com.google.common.truth.Truth.assertThat;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimaps;
+import com.google.inject.Guice;
 import com.google.inject.internal.CycleDetectingLock.CycleDetectingLockFactory;
 import com.google.inject.internal.CycleDetectingLock.CycleDetectingLockFactory.ReentrantCycleDetectingLock;
 import java.util.ArrayList;
@@ -267,4 +268,59 @@ public class CycleDetectingLockTest extends TestCase {
     }
     service.shutdown();
   }
+
+  /**
+   * Verifies that factories sharing an explicit lock graph detect cycles spanning each other, just
+   * like factories using the default graph do.
+   */
+  public void testCycleDetectingLockFactoriesSharingGraphDoNotDeadlock() throws Exception {
+    CycleDetectingLockFactory.LockGraph graph = new CycleDetectingLockFactory.LockGraph();
+    final CycleDetectingLock<String> lockA =
+        new CycleDetectingLockFactory<String>(graph).create("A");
+    final CycleDetectingLock<String> lockB =
+        new CycleDetectingLockFactory<String>(graph).create("B");
+    final CyclicBarrier eachThreadAcquiredFirstLock = new CyclicBarrier(2);
+    ExecutorService service = Executors.newFixedThreadPool(2);
+    Future<Boolean> threadA =
+        service.submit(
+            () -> {
+              assertTrue(lockA.lockOrDetectPotentialLocksCycle().isEmpty());
+              eachThreadAcquiredFirstLock.await(DEADLOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+              boolean isEmpty = lockB.lockOrDetectPotentialLocksCycle().isEmpty();
+              if (isEmpty) {
+                lockB.unlock();
+              }
+              lockA.unlock();
+              return isEmpty;
+            });
+    Future<Boolean> threadB =
+        service.submit(
+            () -> {
+              assertTrue(lockB.lockOrDetectPotentialLocksCycle().isEmpty());
+              eachThreadAcquiredFirstLock.await(DEADLOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+              boolean isEmpty = lockA.lockOrDetectPotentialLocksCycle().isEmpty();
+              if (isEmpty) {
+                lockA.unlock();
+              }
+              lockB.unlock();
+              return isEmpty;
+            });
+
+    boolean deadlockADetected = threadA.get(DEADLOCK_TIMEOUT_SECONDS * 2, TimeUnit.SECONDS);
+    boolean deadlockBDetected = threadB.get(DEADLOCK_TIMEOUT_SECONDS * 2, TimeUnit.SECONDS);
+    service.shutdown();
+
+    assertTrue("One deadlock should get detected", deadlockADetected != deadlockBDetected);
+  }
+
+  public void testInjectorTreeSharesOneLockGraph() {
+    InjectorImpl parent = (InjectorImpl) Guice.createInjector();
+    InjectorImpl child = (InjectorImpl) parent.createChildInjector();
+    InjectorImpl unrelated = (InjectorImpl) Guice.createInjector();
+
+    assertThat(child.cycleDetectingLockGraph).isSameInstanceAs(parent.cycleDetectingLockGraph);
+    assertThat(child.singletonLockFactory).isSameInstanceAs(parent.singletonLockFactory);
+    assertThat(unrelated.cycleDetectingLockGraph)
+        .isNotSameInstanceAs(parent.cycleDetectingLockGraph);
+  }
 }
@@ -0,0 +1,64 @@
+package com.google.inject.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.inject.Binding;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import junit.framework.TestCase;
+
+public class InjectorJitBindingDataTest extends TestCase {
+
+  static class Foo {}
+
+  static class Bar {
+    @jakarta.inject.Inject
+    Bar(Foo foo) {}
+  }
+
+  public void testExistingJitBindingIsReadWithoutLock() throws Exception {
+    InjectorImpl injector = (InjectorImpl) Guice.createInjector();
+    Binding<Bar> created = injector.getBinding(Bar.class);
+    // The first lookup after creation publishes the binding.
+    assertThat(injector.getBinding(Bar.class)).isSameInstanceAs(created);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      synchronized (injector.getJitBindingData().lock()) {
+        Future<Binding<Bar>> lookup = executor.submit(() -> injector.getBinding(Bar.class));
+        Future<Binding<Foo>> existing =
+            executor.submit(() -> injector.getExistingBinding(Key.get(Foo.class)));
+        assertThat(lookup.get(5, TimeUnit.SECONDS)).isSameInstanceAs(created);
+        assertThat(existing.get(5, TimeUnit.SECONDS)).isNotNull();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  public void testChildInjectorReadsParentJitBinding() {
+    InjectorImpl parent = (InjectorImpl) Guice.createInjector();
+    Binding<Bar> created = parent.getBinding(Bar.class);
+    Injector child = parent.createChildInjector();
+    assertThat(child.getBinding(Bar.class)).isSameInstanceAs(created);
+    assertThat(child.getBinding(Bar.class)).isSameInstanceAs(created);
+    assertThat(parent.getJitBindingData().getPublishedJitBinding(Key.get(Bar.class)))
+        .isSameInstanceAs(created);
+  }
+
+  public void testBindingsCreatedDuringInjectorCreationArePublishedLazily() {
+    InjectorImpl injector =
+        (InjectorImpl)
+            Guice.createInjector(
+                binder -> binder.getProvider(Bar.class)); // creates JIT bindings under the lock
+    assertThat(injector.getJitBindingData().getPublishedJitBinding(Key.get(Bar.class))).isNull();
+    Binding<Bar> binding = injector.getBinding(Bar.class);
+    assertThat(injector.getJitBindingData().getPublishedJitBinding(Key.get(Bar.class)))
+        .isSameInstanceAs(binding);
+  }
+}
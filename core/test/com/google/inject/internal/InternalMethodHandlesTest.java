@@ -32,6 +32,7 @@ import com.google.inject.Inject;
 import com.google.inject.Key;
 import com.google.inject.Provider;
 import com.google.inject.ProvisionException;
+import com.google.inject.Scopes;
 import com.google.inject.spi.Dependency;
 import com.google.inject.spi.InjectionPoint;
 import java.lang.invoke.MethodHandle;
@@ -186,6 +187,47 @@ public final class InternalMethodHandlesTest {
     assertThat(callCount.get()).isEqualTo(1);
   }
 
+  @Test
+  public void testSingletonHandles_shareOneCallSite() throws Throwable {
+    InjectorImpl injector = (InjectorImpl) Guice.createInjector();
+    AtomicInteger callCount = new AtomicInteger(0);
+    InternalFactory<String> factory =
+        InternalFactoryToScopedProviderAdapter.create(
+            Scopes.SINGLETON,
+            () -> "Hello World " + callCount.incrementAndGet(),
+            "[a source]");
+    var first = factory.getHandle(new LinkageContext(), /* linked= */ false);
+    var second = factory.getHandle(new LinkageContext(), /* linked= */ false);
+    Dependency<?> dependency = Dependency.get(Key.get(String.class));
+
+    try (InternalContext context = injector.enterContext()) {
+      assertThat((Object) first.invokeExact(context, dependency)).isEqualTo("Hello World 1");
+      // the second handle was relinked to the constant by the first call
+      assertThat((Object) second.invokeExact(context, dependency)).isEqualTo("Hello World 1");
+      assertThat(factory.get(context, dependency, false)).isEqualTo("Hello World 1");
+    }
+    assertThat(callCount.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void testSingletonHandles_relinkedWhenInitializedWithoutHandles() throws Throwable {
+    InjectorImpl injector = (InjectorImpl) Guice.createInjector();
+    AtomicInteger callCount = new AtomicInteger(0);
+    InternalFactory<String> factory =
+        InternalFactoryToScopedProviderAdapter.create(
+            Scopes.SINGLETON,
+            () -> "Hello World " + callCount.incrementAndGet(),
+            "[a source]");
+    var handle = factory.getHandle(new LinkageContext(), /* linked= */ false);
+    Dependency<?> dependency = Dependency.get(Key.get(String.class));
+
+    try (InternalContext context = injector.enterContext()) {
+      assertThat(factory.get(context, dependency, false)).isEqualTo("Hello World 1");
+      assertThat((Object) handle.invokeExact(context, dependency)).isEqualTo("Hello World 1");
+    }
+    assertThat(callCount.get()).isEqualTo(1);
+  }
+
   @Test
   public void testInitialiableFactoryGetHandle_calledMultipleTimesWhenThrowing() throws Throwable {
     AtomicInteger callCount = new AtomicInteger(0);
@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal.aop;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.inject.internal.BytecodeGen.ENHANCER_BY_GUICE_MARKER;
+import static com.google.inject.matcher.Matchers.only;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assume.assumeTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.internal.BytecodeGen;
+import com.google.inject.internal.InternalFlags;
+import com.google.inject.matcher.AbstractMatcher;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class PregeneratedGlueTest {
+
+  public static class Plain {
+    public String greet(String name) {
+      return "hello " + name;
+    }
+  }
+
+  public static class Intercepted {
+    public String greet(String name) {
+      return "hello " + name;
+    }
+
+    public String wave() {
+      return "wave";
+    }
+  }
+
+  public static class Shouting implements MethodInterceptor {
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+      return ((String) invocation.proceed()).toUpperCase();
+    }
+  }
+
+  public static class GreetingModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      bind(Plain.class);
+      bind(Intercepted.class);
+      bindInterceptor(only(Intercepted.class), new MethodNamed("greet"), new Shouting());
+    }
+  }
+
+  public static class WavingModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      bind(Intercepted.class);
+      bindInterceptor(only(Intercepted.class), new MethodNamed("wave"), new Shouting());
+    }
+  }
+
+  static class MethodNamed extends AbstractMatcher<Method> {
+    private final String name;
+
+    MethodNamed(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public boolean matches(Method method) {
+      return method.getName().equals(name);
+    }
+  }
+
+  private static final String FAST_CLASS_NAME =
+      PregeneratedGlue.proxyName(
+          Plain.class.getName().replace('.', '/'), BytecodeGen.FASTCLASS_BY_GUICE_MARKER, "");
+
+  /** Glue is only generated once per JVM, so all tests share the same pregenerated glue. */
+  private static Path outputDir;
+
+  @BeforeClass
+  public static void pregenerateGlue() throws Exception {
+    assumeTrue(InternalFlags.isBytecodeGenEnabled());
+    ImmutableMap<String, byte[]> classes =
+        PregeneratedGlue.generate(ImmutableList.of(new GreetingModule()));
+    assertThat(classes).containsKey(FAST_CLASS_NAME);
+    assertThat(classes.keySet().stream().filter(name -> name.contains(ENHANCER_BY_GUICE_MARKER)))
+        .hasSize(1);
+    outputDir = Files.createTempDirectory("glue");
+    PregeneratedGlue.write(outputDir, classes);
+  }
+
+  @Test
+  public void glueIsLoadedInsteadOfGenerated() throws Exception {
+    IsolatingClassLoader loader = new IsolatingClassLoader(outputDir);
+
+    Injector injector = Guice.createInjector(loader.newModule(GreetingModule.class));
+    Object intercepted = injector.getInstance(loader.loadClass(Intercepted.class.getName()));
+    assertThat(intercepted.getClass().getName()).contains("$$Pregenerated");
+    assertThat(greet(intercepted)).isEqualTo("HELLO GUICE");
+    Object plain = injector.getInstance(loader.loadClass(Plain.class.getName()));
+    assertThat(greet(plain)).isEqualTo("hello guice");
+    assertThat(loader.loaded).contains(FAST_CLASS_NAME.replace('/', '.'));
+  }
+
+  @Test
+  public void glueForOtherMembersIsIgnored() throws Exception {
+    IsolatingClassLoader loader = new IsolatingClassLoader(outputDir);
+
+    // intercepts a different method, so the pregenerated enhancer doesn't fit
+    Injector injector = Guice.createInjector(loader.newModule(WavingModule.class));
+    Object intercepted = injector.getInstance(loader.loadClass(Intercepted.class.getName()));
+    assertThat(intercepted.getClass().getName()).doesNotContain("$$Pregenerated");
+    assertThat(greet(intercepted)).isEqualTo("hello guice");
+  }
+
+  @Test
+  public void indexIsWrittenWithNewlinesAndReadWithEither() throws Exception {
+    String index =
+        new String(
+            Files.readAllBytes(outputDir.resolve(PregeneratedGlue.INDEX_RESOURCE)), UTF_8);
+    assertThat(index).contains(FAST_CLASS_NAME.replace('/', '.') + "\n");
+    assertThat(index).doesNotContain("\r");
+
+    assertThat(PregeneratedGlue.parseIndex("a.B\r\nc.D\n\ne.F"))
+        .containsExactly("a.B", "c.D", "e.F")
+        .inOrder();
+  }
+
+  private static String greet(Object greeter) throws Exception {
+    return (String) greeter.getClass().getMethod("greet", String.class).invoke(greeter, "guice");
+  }
+
+  /** Loads fresh copies of this test's classes, and the glue pregenerated for them. */
+  static class IsolatingClassLoader extends URLClassLoader {
+    final Set<String> loaded = ConcurrentHashMap.newKeySet();
+
+    IsolatingClassLoader(Path outputDir) throws Exception {
+      super(
+          new URL[] {
+            outputDir.toUri().toURL(),
+            PregeneratedGlueTest.class.getProtectionDomain().getCodeSource().getLocation()
+          },
+          PregeneratedGlueTest.class.getClassLoader());
+    }
+
+    Module newModule(Class<?> moduleClass) throws Exception {
+      return (Module) loadClass(moduleClass.getName()).getConstructor().newInstance();
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+      if (!name.startsWith(PregeneratedGlueTest.class.getName())) {
+        return super.loadClass(name, resolve);
+      }
+      synchronized (getClassLoadingLock(name)) {
+        Class<?> c = findLoadedClass(name);
+        if (c == null) {
+          c = findClass(name);
+          loaded.add(name);
+        }
+        return c;
+      }
+    }
+  }
+}
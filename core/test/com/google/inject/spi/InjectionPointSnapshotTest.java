@@ -0,0 +1,171 @@
+package com.google.inject.spi;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Bytes;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.TypeLiteral;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import junit.framework.TestCase;
+
+/** Tests for {@link InjectionPointSnapshot}. */
+public class InjectionPointSnapshotTest extends TestCase {
+
+  static class Foo {}
+
+  static class Base {
+    @Inject Foo baseFoo;
+  }
+
+  static class Bar extends Base {
+    final Foo constructorFoo;
+    Foo methodFoo;
+
+    @Inject
+    Bar(Foo foo) {
+      this.constructorFoo = foo;
+    }
+
+    @Inject
+    void setFoo(Foo foo) {
+      this.methodFoo = foo;
+    }
+
+    @Inject(optional = true)
+    void setMissing(Runnable missing) {
+      throw new AssertionError("not bound");
+    }
+  }
+
+  static class Listener {
+    @Inject Foo foo;
+  }
+
+  static class BarModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      bind(Bar.class);
+      bind(Listener.class).toInstance(new Listener());
+    }
+  }
+
+  /** Returns a module that makes the injector use {@code snapshot}. */
+  private static Module using(InjectionPointSnapshot snapshot) {
+    return binder -> binder.useInjectionPointSnapshot(snapshot);
+  }
+
+  public void testCapture() {
+    InjectionPointSnapshot snapshot =
+        InjectionPointSnapshot.capture(ImmutableList.of(new BarModule()));
+    assertThat(snapshot.size()).isAtLeast(3); // Bar, Foo (just in time) and Listener
+  }
+
+  public void testSnapshotMatchesScanning() throws IOException {
+    TypeLiteral<Bar> bar = TypeLiteral.get(Bar.class);
+    InjectionPointSnapshot snapshot = roundTrip(new BarModule());
+
+    assertThat(snapshot.getConstructor(bar, false)).isEqualTo(InjectionPoint.forConstructorOf(bar));
+    assertThat(snapshot.getInstanceMembers(bar))
+        .containsExactlyElementsIn(InjectionPoint.forInstanceMethodsAndFields(bar))
+        .inOrder();
+    assertThat(snapshot.getInstanceMembers(TypeLiteral.get(Listener.class))).hasSize(1);
+  }
+
+  public void testInjectorsThatUseTheSnapshot() throws IOException {
+    TypeLiteral<Bar> bar = TypeLiteral.get(Bar.class);
+    InjectionPointSnapshot snapshot = roundTrip(new BarModule());
+    Injector injector = Guice.createInjector(using(snapshot), new BarModule());
+
+    // the snapshot's injection points are used as they are, not scanned again
+    ConstructorBinding<Bar> binding = (ConstructorBinding<Bar>) injector.getBinding(Bar.class);
+    assertThat(binding.getConstructor()).isSameInstanceAs(snapshot.getConstructor(bar, false));
+    assertThat(binding.getInjectableMembers()).isNotEmpty();
+    for (InjectionPoint member : binding.getInjectableMembers()) {
+      assertThat(snapshot.getInstanceMembers(bar).stream().anyMatch(m -> m == member)).isTrue();
+    }
+
+    Bar instance = injector.getInstance(Bar.class);
+    assertThat(instance.constructorFoo).isNotNull();
+    assertThat(instance.methodFoo).isNotNull();
+    assertThat(instance.baseFoo).isNotNull();
+    assertThat(injector.getInstance(Listener.class).foo).isNotNull();
+
+    // child injectors inherit the snapshot
+    Injector child = injector.createChildInjector();
+    assertThat(((ConstructorBinding<?>) child.getBinding(Foo.class)).getConstructor())
+        .isSameInstanceAs(snapshot.getConstructor(TypeLiteral.get(Foo.class), false));
+  }
+
+  public void testOtherInjectorsDontUseTheSnapshot() throws IOException {
+    TypeLiteral<Bar> bar = TypeLiteral.get(Bar.class);
+    InjectionPointSnapshot snapshot = roundTrip(new BarModule());
+    Guice.createInjector(using(snapshot), new BarModule());
+
+    Injector injector = Guice.createInjector(new BarModule());
+    InjectionPoint constructor =
+        ((ConstructorBinding<?>) injector.getBinding(Bar.class)).getConstructor();
+    assertThat(constructor).isEqualTo(snapshot.getConstructor(bar, false));
+    assertThat(constructor).isNotSameInstanceAs(snapshot.getConstructor(bar, false));
+  }
+
+  public void testAtInjectRequiredIgnoresUnannotatedConstructors() throws IOException {
+    InjectionPointSnapshot snapshot = roundTrip(new BarModule());
+    assertThat(snapshot.getConstructor(TypeLiteral.get(Foo.class), false)).isNotNull();
+    assertThat(snapshot.getConstructor(TypeLiteral.get(Foo.class), true)).isNull();
+    assertThat(snapshot.getConstructor(TypeLiteral.get(Bar.class), true)).isNotNull();
+  }
+
+  public void testGenericTypesAreNotCaptured() throws IOException {
+    InjectionPointSnapshot snapshot = roundTrip(new BarModule());
+    assertThat(snapshot.getInstanceMembers(new TypeLiteral<Generic<String>>() {})).isNull();
+  }
+
+  static class Generic<T> {}
+
+  public void testStaleEntriesAreScanned() throws IOException {
+    InjectionPointSnapshot snapshot = roundTrip(new BarModule());
+    byte[] bytes = write(snapshot);
+    // corrupt the fingerprint of Bar, which is written right after its class name
+    byte[] name = Bar.class.getName().getBytes(UTF_8);
+    int fingerprintOffset = Bytes.indexOf(bytes, name) + name.length;
+    bytes[fingerprintOffset + 7] ^= 1;
+    InjectionPointSnapshot stale =
+        InjectionPointSnapshot.readFrom(
+            new ByteArrayInputStream(bytes), getClass().getClassLoader());
+
+    assertThat(stale.getConstructor(TypeLiteral.get(Bar.class), false)).isNull();
+    assertThat(stale.getInstanceMembers(TypeLiteral.get(Bar.class))).isNull();
+    assertThat(stale.getInstanceMembers(TypeLiteral.get(Listener.class))).isNotNull();
+    assertThat(Guice.createInjector(using(stale), new BarModule()).getInstance(Bar.class).methodFoo)
+        .isNotNull();
+  }
+
+  public void testReadRejectsOtherData() {
+    assertThrows(
+        IOException.class,
+        () ->
+            InjectionPointSnapshot.readFrom(
+                new ByteArrayInputStream(new byte[8]), getClass().getClassLoader()));
+  }
+
+  private InjectionPointSnapshot roundTrip(Module... modules) throws IOException {
+    byte[] bytes = write(InjectionPointSnapshot.capture(ImmutableList.copyOf(modules)));
+    return InjectionPointSnapshot.readFrom(
+        new ByteArrayInputStream(bytes), getClass().getClassLoader());
+  }
+
+  private static byte[] write(InjectionPointSnapshot snapshot) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    snapshot.writeTo(out);
+    return out.toByteArray();
+  }
+}
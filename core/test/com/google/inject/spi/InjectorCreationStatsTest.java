@@ -0,0 +1,142 @@
+package com.google.inject.spi;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import com.google.inject.Stage;
+import com.google.inject.internal.InternalFlags;
+import com.google.inject.matcher.Matchers;
+import com.google.inject.util.Modules;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import junit.framework.TestCase;
+
+/** Tests for {@link InjectorCreationStats}. */
+public class InjectorCreationStatsTest extends TestCase {
+
+  static class Foo {}
+
+  static class OuterModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      install(new InnerModule());
+      bind(Foo.class);
+    }
+  }
+
+  static class InnerModule extends AbstractModule {
+    @Provides
+    @Singleton
+    String provideString() {
+      return "string";
+    }
+  }
+
+  public void testStatsAreOnlyRecordedWhenEnabled() {
+    Injector injector = Guice.createInjector(new OuterModule());
+    assertThat(InjectorCreationStats.forInjector(injector).isPresent()).isFalse();
+
+    injector =
+        Guice.createInjector(new OuterModule(), Modules.enableInjectorCreationStatsModule());
+    assertThat(InjectorCreationStats.forInjector(injector).isPresent()).isTrue();
+  }
+
+  public void testStatsAreRecorded() {
+    Injector injector =
+        Guice.createInjector(
+            Stage.PRODUCTION, new OuterModule(), Modules.enableInjectorCreationStatsModule());
+    InjectorCreationStats stats = InjectorCreationStats.forInjector(injector).get();
+
+    assertThat(stats.getPhaseTimes().keySet())
+        .containsAtLeast("Module execution", "Binding initialization", "Preloading singletons")
+        .inOrder();
+    assertThat(stats.getTotalTime()).isAtLeast(stats.getPhaseTimes().get("Module execution"));
+    assertThat(stats.getModuleTimes().keySet())
+        .containsAtLeast(OuterModule.class, InnerModule.class);
+    assertThat(stats.getModuleTimes().get(OuterModule.class))
+        .isAtLeast(stats.getModuleTimes().get(InnerModule.class));
+    assertThat(stats.getBindingInitializationTimes()).containsKey(Key.get(Foo.class));
+    assertThat(stats.getEagerSingletonTimes()).containsKey(Key.get(String.class));
+    assertThat(stats.getSlowestEagerSingletons(1)).hasSize(1);
+    assertThat(stats.getSlowestEagerSingletons(0)).isEmpty();
+    Duration previous = null;
+    for (Duration time : stats.getEagerSingletonTimes().values()) {
+      if (previous != null) {
+        assertThat(time).isAtMost(previous);
+      }
+      previous = time;
+    }
+  }
+
+  public void testChildAndToolStageInjectorsRecordTheirOwnStats() {
+    Injector parent =
+        Guice.createInjector(
+            Stage.TOOL, new OuterModule(), Modules.enableInjectorCreationStatsModule());
+    InjectorCreationStats parentStats = InjectorCreationStats.forInjector(parent).get();
+    assertThat(parentStats.getPhaseTimes()).doesNotContainKey("Preloading singletons");
+
+    Injector child =
+        Guice.createInjector(Modules.enableInjectorCreationStatsModule())
+            .createChildInjector(new OuterModule());
+    InjectorCreationStats childStats = InjectorCreationStats.forInjector(child).get();
+    assertThat(childStats).isNotSameInstanceAs(parentStats);
+    assertThat(childStats.getModuleTimes()).containsKey(OuterModule.class);
+  }
+
+  public static class Intercepted {
+    public void run() {}
+  }
+
+  public static class OtherIntercepted {
+    public void run() {}
+  }
+
+  private static Module interceptingModule(Class<?> type) {
+    return new AbstractModule() {
+      @Override
+      protected void configure() {
+        bindInterceptor(Matchers.only(type), Matchers.any(), invocation -> invocation.proceed());
+        bind(type);
+      }
+    };
+  }
+
+  public void testGeneratedClassesAreCountedPerInjector() {
+    if (!InternalFlags.isBytecodeGenEnabled()) {
+      return;
+    }
+    AtomicReference<Injector> other = new AtomicReference<>();
+    Injector injector =
+        Guice.createInjector(
+            interceptingModule(Intercepted.class),
+            Modules.enableInjectorCreationStatsModule(),
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                // another injector, created while this one is, generates its own enhancer
+                Module otherModule =
+                    Modules.combine(
+                        interceptingModule(OtherIntercepted.class),
+                        Modules.enableInjectorCreationStatsModule());
+                Thread thread = new Thread(() -> other.set(Guice.createInjector(otherModule)));
+                thread.start();
+                try {
+                  thread.join();
+                } catch (InterruptedException e) {
+                  throw new AssertionError(e);
+                }
+              }
+            });
+
+    assertThat(InjectorCreationStats.forInjector(injector).get().getGeneratedEnhancerCount())
+        .isEqualTo(1);
+    assertThat(InjectorCreationStats.forInjector(other.get()).get().getGeneratedEnhancerCount())
+        .isEqualTo(1);
+  }
+}
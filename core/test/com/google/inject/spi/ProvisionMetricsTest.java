@@ -0,0 +1,141 @@
+package com.google.inject.spi;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.inject.matcher.Matchers.any;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provides;
+import com.google.inject.ProvisionException;
+import com.google.inject.Singleton;
+import com.google.inject.Stage;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import com.google.inject.util.Modules;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.TestCase;
+
+/** Tests for {@link ProvisionMetrics}. */
+public class ProvisionMetricsTest extends TestCase {
+
+  static class Foo {}
+
+  @Singleton
+  static class Bar {
+    @jakarta.inject.Inject
+    Bar(Foo foo) {}
+  }
+
+  static class Broken {
+    @jakarta.inject.Inject
+    Broken() {
+      throw new IllegalStateException("broken");
+    }
+  }
+
+  static class MetricsModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      binder().enableProvisionMetrics();
+      bind(Foo.class);
+      bind(Bar.class);
+    }
+
+    @Provides
+    @Named("provided")
+    String provideString(Foo foo) {
+      return "provided";
+    }
+  }
+
+  public void testMetricsAreNotRecordedByDefault() {
+    Injector injector = Guice.createInjector();
+    injector.getInstance(Foo.class);
+    assertThat(ProvisionMetrics.forInjector(injector)).isEmpty();
+  }
+
+  public void testProvisionsAreCounted() {
+    Injector injector = Guice.createInjector(new MetricsModule());
+    for (int i = 0; i < 3; i++) {
+      injector.getInstance(Foo.class);
+      injector.getInstance(Bar.class);
+      injector.getInstance(Key.get(String.class, Names.named("provided")));
+    }
+
+    ImmutableMap<Key<?>, ProvisionMetrics> metrics = ProvisionMetrics.forInjector(injector);
+    // 3 direct, 1 for the Bar singleton and 3 for the provider method
+    assertThat(metrics.get(Key.get(Foo.class)).getCount()).isEqualTo(7);
+    assertThat(metrics.get(Key.get(Bar.class)).getCount()).isEqualTo(1);
+    ProvisionMetrics provided = metrics.get(Key.get(String.class, Names.named("provided")));
+    assertThat(provided.getKey()).isEqualTo(Key.get(String.class, Names.named("provided")));
+    assertThat(provided.getCount()).isEqualTo(3);
+    assertThat(provided.getTotalTime()).isAtLeast(provided.getMaxTime());
+    assertThat(provided.getMaxTime()).isAtLeast(provided.getMeanTime());
+    assertThat(provided.getPercentile(100)).isAtMost(provided.getMaxTime());
+    assertThat(provided.getPercentile(50)).isAtMost(provided.getPercentile(100));
+  }
+
+  public void testFailedProvisionsAreCounted() {
+    Injector injector =
+        Guice.createInjector(
+            Modules.enableProvisionMetricsModule(),
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(Broken.class);
+              }
+            });
+    assertThrows(ProvisionException.class, () -> injector.getInstance(Broken.class));
+    assertThat(ProvisionMetrics.forInjector(injector).get(Key.get(Broken.class)).getCount())
+        .isEqualTo(1);
+  }
+
+  public void testMetricsAreRecordedAlongsideProvisionListeners() {
+    AtomicInteger notified = new AtomicInteger();
+    Injector injector =
+        Guice.createInjector(
+            new MetricsModule(),
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bindListener(
+                    any(),
+                    new ProvisionListener() {
+                      @Override
+                      public <T> void onProvision(ProvisionInvocation<T> provision) {
+                        notified.incrementAndGet();
+                      }
+                    });
+              }
+            });
+    injector.getInstance(Foo.class);
+    assertThat(notified.get()).isEqualTo(1);
+    assertThat(ProvisionMetrics.forInjector(injector).get(Key.get(Foo.class)).getCount())
+        .isEqualTo(1);
+  }
+
+  public void testChildInjectorsInheritTheOption() {
+    Injector parent = Guice.createInjector(Modules.enableProvisionMetricsModule());
+    Injector child =
+        parent.createChildInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(Foo.class);
+              }
+            });
+    child.getInstance(Foo.class);
+    assertThat(ProvisionMetrics.forInjector(child).get(Key.get(Foo.class)).getCount())
+        .isEqualTo(1);
+    assertThat(ProvisionMetrics.forInjector(parent)).isEmpty();
+  }
+
+  public void testToolStageInjector() {
+    Injector injector = Guice.createInjector(Stage.TOOL, new MetricsModule());
+    assertThat(ProvisionMetrics.forInjector(injector)).isEmpty();
+  }
+}
@@ -41,30 +41,41 @@ import com.google.inject.Provider;
 import com.google.inject.ProvisionException;
 import com.google.inject.Scopes;
 import com.google.inject.TypeLiteral;
+import com.google.inject.assistedinject.internal.FactoryInvoker;
 import com.google.inject.internal.Annotations;
 import com.google.inject.internal.Errors;
 import com.google.inject.internal.ErrorsException;
+import com.google.inject.internal.InternalProvisionException;
 import com.google.inject.internal.UniqueAnnotations;
 import com.google.inject.internal.util.Classes;
 import com.google.inject.spi.BindingTargetVisitor;
+import com.google.inject.spi.ConstructorBinding;
 import com.google.inject.spi.Dependency;
+import com.google.inject.spi.Element;
 import com.google.inject.spi.HasDependencies;
 import com.google.inject.spi.InjectionPoint;
 import com.google.inject.spi.Message;
 import com.google.inject.spi.ProviderInstanceBinding;
 import com.google.inject.spi.ProviderWithExtensionVisitor;
+import com.google.inject.spi.ProvisionListenerBinding;
 import com.google.inject.spi.Toolable;
+import com.google.inject.spi.TypeListenerBinding;
 import com.google.inject.util.Providers;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -80,6 +91,11 @@ import java.util.logging.Logger;
  * The newer implementation of factory provider. This implementation uses a child injector to create
  * values.
  *
+ * <p>Factories with a single method are implemented by a generated class, which passes the
+ * arguments to a {@link FactoryInvoker}. Once the injector is known, the invoker calls the
+ * implementation's constructor directly if nothing but the constructor's parameters needs to be
+ * injected. Other factories are implemented by a {@link Proxy}.
+ *
  * @author jessewilson@google.com (Jesse Wilson)
  * @author dtm@google.com (Daniel Martin)
  * @author schmitt@google.com (Peter Schmitt)
@@ -160,12 +176,19 @@ final class FactoryProvider2<F>
     /** The factory method associated with this data */
     final Method factoryMethod;
 
-    /** true if {@link #isValidForOptimizedAssistedInject} returned true. */
+    /** true if {@link #findSlowDependencies} found none. */
     final boolean optimized;
+    /** the dependencies that prevent the optimized form, empty if optimized. */
+    final Set<Dependency<?>> slowDependencies;
     /** the list of optimized providers, empty if not optimized. */
     final List<ThreadLocalProvider> providers;
     /** used to perform optimized factory creations. */
     volatile Binding<?> cachedBinding; // TODO: volatile necessary?
+    /**
+     * calls the constructor directly with the spread arguments, or null if the factory is generated
+     * or the constructor can't be called directly.
+     */
+    volatile MethodHandle directPath;
 
     AssistData(
         Constructor<?> constructor,
@@ -174,7 +197,7 @@ final class FactoryProvider2<F>
         TypeLiteral<?> implementationType,
         Method factoryMethod,
         Set<Dependency<?>> dependencies,
-        boolean optimized,
+        Set<Dependency<?>> slowDependencies,
         List<ThreadLocalProvider> providers) {
       this.constructor = constructor;
       this.returnType = returnType;
@@ -182,7 +205,8 @@ final class FactoryProvider2<F>
       this.implementationType = implementationType;
       this.factoryMethod = factoryMethod;
       this.dependencies = dependencies;
-      this.optimized = optimized;
+      this.optimized = slowDependencies.isEmpty();
+      this.slowDependencies = slowDependencies;
       this.providers = providers;
     }
 
@@ -234,6 +258,9 @@ final class FactoryProvider2<F>
   /** the factory interface, implemented and provided */
   private final F factory;
 
+  /** the target of the generated factory class, or null if the factory is a proxy. */
+  private final FactoryInvoker invoker;
+
   /** The key that this is bound to. */
   private final Key<F> factoryKey;
 
@@ -342,19 +369,18 @@ final class FactoryProvider2<F>
         Constructor<?> constructor = (Constructor<?>) ctorInjectionPoint.getMember();
         List<ThreadLocalProvider> providers = Collections.emptyList();
         Set<Dependency<?>> deps = getDependencies(ctorInjectionPoint, implementation);
-        boolean optimized = false;
         // Now go through all dependencies of the implementation and see if it is OK to
         // use an optimized form of assistedinject2.  The optimized form requires that
         // all injections directly inject the object itself (and not a Provider of the object,
         // or an Injector), because it caches a single child injector and mutates the Provider
         // of the arguments in a ThreadLocal.
-        if (isValidForOptimizedAssistedInject(deps, implementation.getRawType(), factoryType)) {
+        Set<Dependency<?>> slowDeps = findSlowDependencies(deps);
+        if (slowDeps.isEmpty()) {
           ImmutableList.Builder<ThreadLocalProvider> providerListBuilder = ImmutableList.builder();
           for (int i = 0; i < params.size(); i++) {
             providerListBuilder.add(new ThreadLocalProvider());
           }
           providers = providerListBuilder.build();
-          optimized = true;
         }
 
         AssistData data =
@@ -365,23 +391,44 @@ final class FactoryProvider2<F>
                 implementation,
                 method,
                 removeAssistedDeps(deps),
-                optimized,
+                slowDeps,
                 providers);
         assistDataBuilder.put(method, data);
       }
 
-      factory =
-          factoryRawType.cast(
-              Proxy.newProxyInstance(
-                  factoryRawType.getClassLoader(), new Class<?>[] {factoryRawType}, this));
+      Map<Method, AssistData> dataSoFar = assistDataBuilder.buildOrThrow();
+
+      // Factories with a single method are implemented by a generated class, which calls the
+      // invoker with the arguments on the stack. Everything else is implemented by a proxy.
+      FactoryInvoker generatedInvoker = null;
+      F generatedFactory = null;
+      if (otherMethods.size() == 1 && dataSoFar.size() == 1 && !errors.hasErrors()) {
+        AssistData data = getOnlyElement(dataSoFar.values());
+        if (data.paramTypes.size() <= FactoryInvoker.MAX_PARAMETERS) {
+          generatedInvoker = new FactoryInvoker(slowPath(data));
+          generatedFactory =
+              generateFactory(factoryRawType, data.factoryMethod, generatedInvoker, userLookups);
+        }
+      }
+      if (generatedFactory != null) {
+        factory = generatedFactory;
+        invoker = generatedInvoker;
+      } else {
+        factory =
+            factoryRawType.cast(
+                Proxy.newProxyInstance(
+                    factoryRawType.getClassLoader(), new Class<?>[] {factoryRawType}, this));
+        invoker = null;
+      }
 
       // Now go back through default methods. Try to use MethodHandles to make things
       // work.  If that doesn't work, fallback to trying to find compatible method
-      // signatures.
-      Map<Method, AssistData> dataSoFar = assistDataBuilder.buildOrThrow();
+      // signatures. Generated factories inherit the default methods, so need none of this.
       ImmutableMap.Builder<Method, MethodHandle> methodHandleBuilder = ImmutableMap.builder();
+      Collection<Map.Entry<String, Method>> defaultEntries =
+          invoker == null ? defaultMethods.entries() : ImmutableList.of();
       boolean warnedAboutUserLookups = false;
-      for (Map.Entry<String, Method> entry : defaultMethods.entries()) {
+      for (Map.Entry<String, Method> entry : defaultEntries) {
         if (!warnedAboutUserLookups
             && userLookups == null
             && !Modifier.isPublic(factory.getClass().getModifiers())) {
@@ -399,8 +446,8 @@ final class FactoryProvider2<F>
         // Note: If the user didn't supply a valid lookup, we always try to fallback to the hacky
         // signature comparing workaround below.
         // This is because all these shenanigans are only necessary because we're implementing
-        // AssistedInject through a Proxy. If we were to generate a subclass (which we theoretically
-        // _could_ do), then we wouldn't inadvertantly proxy the javac-generated default methods
+        // AssistedInject through a Proxy. When we generate a class (which we do for factories with
+        // a single method), we don't inadvertantly proxy the javac-generated default methods
         // too (and end up with a stack overflow from infinite recursion).
         // As such, we try our hardest to "make things work" requiring requiring extra effort from
         // the user.
@@ -701,13 +748,13 @@ final class FactoryProvider2<F>
   }
 
   /**
-   * Returns true if all dependencies are suitable for the optimized version of AssistedInject. The
-   * optimized version caches the binding and uses a ThreadLocal Provider, so can only be applied if
-   * the assisted bindings are immediately provided. This looks for hints that the values may be
-   * lazily retrieved, by looking for injections of Injector or a Provider for the assisted values.
+   * Returns the dependencies that aren't suitable for the optimized version of AssistedInject, empty
+   * if all are. The optimized version caches the binding and uses a ThreadLocal Provider, so can
+   * only be applied if the assisted bindings are immediately provided. This looks for hints that
+   * the values may be lazily retrieved, by looking for injections of Injector or a Provider for the
+   * assisted values.
    */
-  private boolean isValidForOptimizedAssistedInject(
-      Set<Dependency<?>> dependencies, Class<?> implementation, TypeLiteral<?> factoryType) {
+  private Set<Dependency<?>> findSlowDependencies(Set<Dependency<?>> dependencies) {
     Set<Dependency<?>> badDeps = null; // optimization: create lazily
     for (Dependency<?> dep : dependencies) {
       if (isInjectorOrAssistedProvider(dep)) {
@@ -717,18 +764,7 @@ final class FactoryProvider2<F>
         badDeps.add(dep);
       }
     }
-    if (badDeps != null && !badDeps.isEmpty()) {
-      logger.log(
-          Level.WARNING,
-          "AssistedInject factory {0} will be slow "
-              + "because {1} has assisted Provider dependencies or injects the Injector. "
-              + "Stop injecting @Assisted Provider<T> (instead use @Assisted T) "
-              + "or Injector to speed things up. (It will be a ~6500% speed bump!)  "
-              + "The exact offending deps are: {2}",
-          new Object[] {factoryType, implementation, badDeps});
-      return false;
-    }
-    return true;
+    return badDeps != null ? badDeps : ImmutableSet.of();
   }
 
   /**
@@ -791,6 +827,7 @@ final class FactoryProvider2<F>
     }
 
     this.injector = injector;
+    List<Element> listeners = listenerBindings(injector);
 
     for (Map.Entry<Method, AssistData> entry : assistDataByMethod.entrySet()) {
       Method method = entry.getKey();
@@ -802,8 +839,27 @@ final class FactoryProvider2<F>
       } else {
         args = null; // won't be used -- instead will bind to data.providers.
       }
-      getBindingFromNewInjector(
-          method, args, data); // throws if the binding isn't properly configured
+      Binding<?> binding =
+          getBindingFromNewInjector(
+              method, args, data); // throws if the binding isn't properly configured
+      MethodHandle directPath = directPath(data, binding, listeners);
+      if (directPath == null) {
+        if (!data.optimized) {
+          logger.log(
+              Level.WARNING,
+              "AssistedInject factory {0} will be slow "
+                  + "because {1} has assisted Provider dependencies or injects the Injector, "
+                  + "and can't be constructed directly. "
+                  + "Stop injecting @Assisted Provider<T> (instead use @Assisted T) "
+                  + "or Injector to speed things up. (It will be a ~6500% speed bump!)  "
+                  + "The exact offending deps are: {2}",
+              new Object[] {factoryKey.getTypeLiteral(), data.implementationType, data.slowDependencies});
+        }
+      } else if (invoker != null) {
+        invoker.relink(directPath);
+      } else {
+        data.directPath = directPath.asSpreader(Object[].class, data.paramTypes.size());
+      }
     }
   }
 
@@ -812,6 +868,19 @@ final class FactoryProvider2<F>
    */
   public Binding<?> getBindingFromNewInjector(
       final Method method, final Object[] args, final AssistData data) {
+    Injector forCreate = newChildInjector(method, args, data);
+    Binding<?> binding =
+        forCreate.getBinding(Key.get(data.returnType.getTypeLiteral(), RETURN_ANNOTATION));
+    // If we have providers cached in data, cache the binding for future optimizations.
+    if (data.optimized) {
+      data.cachedBinding = binding;
+    }
+    return binding;
+  }
+
+  /** Creates a child injector that binds the args and the method's result. */
+  private Injector newChildInjector(
+      final Method method, final Object[] args, final AssistData data) {
     checkState(
         injector != null,
         "Factories.create() factories cannot be used until they're initialized by Guice.");
@@ -858,13 +927,7 @@ final class FactoryProvider2<F>
           }
         };
 
-    Injector forCreate = injector.createChildInjector(assistedModule);
-    Binding<?> binding = forCreate.getBinding(returnKey);
-    // If we have providers cached in data, cache the binding for future optimizations.
-    if (data.optimized) {
-      data.cachedBinding = binding;
-    }
-    return binding;
+    return injector.createChildInjector(assistedModule);
   }
 
   /**
@@ -892,6 +955,15 @@ final class FactoryProvider2<F>
 
     AssistData data = assistDataByMethod.get(method);
     checkState(data != null, "No data for method: %s", method);
+    MethodHandle directPath = data.directPath;
+    if (directPath != null) {
+      return (Object) directPath.invokeExact(args != null ? args : NO_ARGS);
+    }
+    return create(method, data, args);
+  }
+
+  /** Creates the value for the factory method, using a child injector that binds the args. */
+  private Object create(Method method, AssistData data, Object[] args) throws Throwable {
     Provider<?> provider;
     if (data.cachedBinding != null) { // Try to get optimized form...
       provider = data.cachedBinding.getProvider();
@@ -905,15 +977,7 @@ final class FactoryProvider2<F>
       }
       return provider.get();
     } catch (ProvisionException e) {
-      // if this is an exception declared by the factory method, throw it as-is
-      if (e.getErrorMessages().size() == 1) {
-        Message onlyError = getOnlyElement(e.getErrorMessages());
-        Throwable cause = onlyError.getCause();
-        if (cause != null && canRethrow(method, cause)) {
-          throw cause;
-        }
-      }
-      throw e;
+      throw unwrap(method, e);
     } finally {
       for (ThreadLocalProvider tlp : data.providers) {
         tlp.remove();
@@ -921,6 +985,362 @@ final class FactoryProvider2<F>
     }
   }
 
+  /**
+   * Returns the cause of the exception if it is an exception declared by the factory method, so it
+   * can be thrown as-is. Otherwise returns the exception.
+   */
+  private static Throwable unwrap(Method method, ProvisionException e) {
+    if (e.getErrorMessages().size() == 1) {
+      Message onlyError = getOnlyElement(e.getErrorMessages());
+      Throwable cause = onlyError.getCause();
+      if (cause != null && canRethrow(method, cause)) {
+        return cause;
+      }
+    }
+    return e;
+  }
+
+  /** Returns a handle that creates values for the factory method the same way a proxy does. */
+  private MethodHandle slowPath(AssistData data) {
+    return CREATE
+        .bindTo(this)
+        .bindTo(data.factoryMethod)
+        .bindTo(data)
+        .asCollector(Object[].class, data.paramTypes.size());
+  }
+
+  /**
+   * Returns a class implementing the factory, which passes the factory method's arguments to the
+   * invoker, or null if no such class can be generated. The class is generated by {@link
+   * LambdaMetafactory}, which defines it next to the lookup's class.
+   */
+  private static <F> F generateFactory(
+      Class<F> factoryType,
+      Method method,
+      FactoryInvoker invoker,
+      MethodHandles.Lookup userLookups) {
+    MethodHandles.Lookup lookup = userLookups != null ? userLookups : MethodHandles.lookup();
+    if (!isVisible(lookup, factoryType)
+        || !isVisible(lookup, FactoryInvoker.class)
+        || !isVisible(lookup, method.getReturnType())) {
+      return null;
+    }
+    for (Class<?> parameterType : method.getParameterTypes()) {
+      if (!isVisible(lookup, parameterType)) {
+        return null;
+      }
+    }
+    MethodType methodType = MethodType.methodType(method.getReturnType(), method.getParameterTypes());
+    try {
+      CallSite callSite =
+          LambdaMetafactory.metafactory(
+              lookup,
+              method.getName(),
+              MethodType.methodType(factoryType, FactoryInvoker.class),
+              methodType,
+              FactoryInvoker.findInvoker(lookup, method.getParameterCount()),
+              methodType);
+      return factoryType.cast(callSite.getTarget().invoke(invoker));
+    } catch (Throwable t) {
+      // Anything the JDK refuses to generate is implemented by a proxy instead.
+      logger.log(Level.FINE, "Unable to generate AssistedInject factory " + factoryType, t);
+      return null;
+    }
+  }
+
+  /** Returns true if classes defined next to the lookup's class can link to {@code type}. */
+  private static boolean isVisible(MethodHandles.Lookup lookup, Class<?> type) {
+    while (type.isArray()) {
+      type = type.getComponentType();
+    }
+    if (type.isPrimitive()) {
+      return true;
+    }
+    try {
+      lookup.accessClass(type);
+      return Class.forName(type.getName(), false, lookup.lookupClass().getClassLoader()) == type;
+    } catch (IllegalAccessException | ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns a handle that calls the implementation's constructor directly, with the assisted
+   * arguments passed through and the other parameters provided by the injector, or null if that
+   * wouldn't create the same value as the child injector. That is the case when the implementation
+   * is intercepted, has injectable members, is seen by a listener, or depends on bindings that
+   * only exist in the child injector (because they depend on the assisted arguments).
+   *
+   * <p>{@literal @}Assisted Providers are given a provider of the argument, and the Injector is
+   * given a proxy of the child injector, which is only created if the proxy is used.
+   *
+   * @param listeners the provision and type listener bindings of the injector and its parents
+   */
+  private MethodHandle directPath(
+      AssistData data, Binding<?> validatedBinding, List<Element> listeners) {
+    if (!(validatedBinding instanceof ConstructorBinding)) {
+      return null;
+    }
+    ConstructorBinding<?> binding = (ConstructorBinding<?>) validatedBinding;
+    if (!binding.getMethodInterceptors().isEmpty()
+        || !binding.getInjectableMembers().isEmpty()
+        || isListenedTo(binding, data.implementationType, listeners)) {
+      return null;
+    }
+
+    Constructor<?> constructor = (Constructor<?>) binding.getConstructor().getMember();
+    List<Dependency<?>> dependencies = binding.getConstructor().getDependencies();
+    MethodHandle handle;
+    try {
+      constructor.setAccessible(true);
+      handle = MethodHandles.lookup().unreflectConstructor(constructor);
+    } catch (IllegalAccessException | RuntimeException e) {
+      return null;
+    }
+
+    // Replace the non-assisted parameters by their providers, last to first so that the positions
+    // of the remaining parameters don't change. The remaining parameters are taken from the
+    // arguments of the handle built below: the child injector, followed by the method's arguments.
+    int[] sources = new int[dependencies.size()];
+    int sourceCount = 0;
+    boolean injectsInjector = false;
+    for (int i = dependencies.size() - 1; i >= 0; i--) {
+      Dependency<?> dependency = dependencies.get(i);
+      Key<?> key = dependency.getKey();
+      Class<?> rawType = key.getTypeLiteral().getRawType();
+      Key<?> providedKey = isProvider(rawType) ? providedKey(key) : null;
+      int assistedIndex = data.paramTypes.indexOf(key);
+      int providedIndex = providedKey != null ? data.paramTypes.indexOf(providedKey) : -1;
+      if (assistedIndex != -1) {
+        sources[sourceCount++] = assistedIndex + 1;
+      } else if (rawType == Injector.class) {
+        sources[sourceCount++] = 0;
+        injectsInjector = true;
+      } else if (providedIndex != -1) {
+        MethodType providerType = MethodType.methodType(handle.type().parameterType(i), Object.class);
+        handle = MethodHandles.filterArguments(handle, i, PROVIDER_OF.asType(providerType));
+        sources[sourceCount++] = providedIndex + 1;
+      } else if (isProvider(rawType)
+          && (providedKey == null || providedKey.getTypeLiteral().getRawType() == Injector.class)) {
+        return null; // only the child injector knows how to provide it
+      } else if (isInjectionPointSensitive(rawType)) {
+        return null; // the provider below doesn't know where the value is injected
+      } else {
+        Binding<?> dependencyBinding = injector.getExistingBinding(key);
+        if (dependencyBinding == null) {
+          return null;
+        }
+        MethodHandle provide =
+            PROVIDE
+                .bindTo(dependencyBinding.getProvider())
+                .bindTo(dependency)
+                .asType(MethodType.methodType(handle.type().parameterType(i)));
+        handle = MethodHandles.collectArguments(handle, i, provide);
+      }
+    }
+
+    int[] reorder = new int[sourceCount];
+    for (int i = 0; i < sourceCount; i++) {
+      reorder[i] = sources[sourceCount - 1 - i];
+    }
+    int parameterCount = data.paramTypes.size();
+    handle =
+        MethodHandles.permuteArguments(
+            handle.asType(MethodType.genericMethodType(sourceCount)),
+            MethodType.genericMethodType(parameterCount + 1),
+            reorder);
+    MethodHandle slowPath = slowPath(data);
+    if (injectsInjector) {
+      handle =
+          MethodHandles.foldArguments(
+              handle,
+              LAZY_CHILD_INJECTOR
+                  .bindTo(this)
+                  .bindTo(data.factoryMethod)
+                  .bindTo(data)
+                  .asCollector(Object[].class, parameterCount)
+                  .asType(slowPath.type()));
+    } else {
+      handle = MethodHandles.insertArguments(handle, 0, (Object) null);
+    }
+    // A missing dependency is reported by the slow path, with the same errors as before.
+    handle =
+        MethodHandles.catchException(
+            handle,
+            MissingDependency.class,
+            MethodHandles.dropArguments(slowPath, 0, MissingDependency.class));
+    return MethodHandles.catchException(
+        handle,
+        Throwable.class,
+        MethodHandles.dropArguments(
+            RETHROW.bindTo(data.factoryMethod), 1, slowPath.type().parameterList()));
+  }
+
+  /**
+   * Returns true if Guice provides values of the type based on where they are injected, as it names
+   * loggers after the class they're injected into.
+   */
+  private static boolean isInjectionPointSensitive(Class<?> rawType) {
+    return rawType == Logger.class;
+  }
+
+  private static boolean isProvider(Class<?> rawType) {
+    return rawType == Provider.class || rawType == jakarta.inject.Provider.class;
+  }
+
+  /** Returns the key of the type provided by the provider key, with the same annotation. */
+  private static Key<?> providedKey(Key<?> providerKey) {
+    Type providerType = providerKey.getTypeLiteral().getType();
+    if (!(providerType instanceof ParameterizedType)) {
+      return null;
+    }
+    return providerKey.ofType(((ParameterizedType) providerType).getActualTypeArguments()[0]);
+  }
+
+  /** Returns a proxy of the child injector of a single creation, created when first used. */
+  private Injector lazyChildInjector(Method method, AssistData data, Object[] args) {
+    return (Injector)
+        Proxy.newProxyInstance(
+            Injector.class.getClassLoader(),
+            new Class<?>[] {Injector.class},
+            new LazyChildInjector(method, data, args));
+  }
+
+  private final class LazyChildInjector implements InvocationHandler {
+    private final Method method;
+    private final AssistData data;
+    private final Object[] args;
+    private Injector childInjector;
+
+    LazyChildInjector(Method method, AssistData data, Object[] args) {
+      this.method = method;
+      this.data = data;
+      this.args = args;
+    }
+
+    synchronized Injector childInjector() {
+      if (childInjector == null) {
+        childInjector = newChildInjector(method, args, data);
+      }
+      return childInjector;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method invoked, Object[] invokedArgs) throws Throwable {
+      if (invoked.getDeclaringClass().equals(Object.class)) {
+        if ("equals".equals(invoked.getName())) {
+          return proxy == invokedArgs[0];
+        } else if ("hashCode".equals(invoked.getName())) {
+          return System.identityHashCode(proxy);
+        }
+      }
+      try {
+        return invoked.invoke(childInjector(), invokedArgs);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
+  /** Returns true if one of the listener bindings applies to the binding. */
+  private static boolean isListenedTo(
+      ConstructorBinding<?> binding, TypeLiteral<?> implementationType, List<Element> listeners) {
+    for (Element listener : listeners) {
+      if (listener instanceof ProvisionListenerBinding
+          ? ((ProvisionListenerBinding) listener).getBindingMatcher().matches(binding)
+          : ((TypeListenerBinding) listener).getTypeMatcher().matches(implementationType)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the provision and type listener bindings of {@code injector} and its parents. They are
+   * collected once per factory rather than cached by injector, as listeners often hold on to their
+   * injector, which would keep it from being collected.
+   */
+  private static List<Element> listenerBindings(Injector injector) {
+    ImmutableList.Builder<Element> listeners = ImmutableList.builder();
+    for (Injector level = injector; level != null; level = level.getParent()) {
+      for (Element element : level.getElements()) {
+        if (element instanceof ProvisionListenerBinding
+            || element instanceof TypeListenerBinding) {
+          listeners.add(element);
+        }
+      }
+    }
+    return listeners.build();
+  }
+
+  /** Returns the dependency's value, as the injector would inject it. */
+  private static Object provide(Provider<?> provider, Dependency<?> dependency) {
+    Object value = provider.get();
+    if (value == null && !dependency.isNullable()) {
+      throw MissingDependency.INSTANCE;
+    }
+    return value;
+  }
+
+  /** Throws what a proxy would have thrown, given what the direct path threw. */
+  private static Object rethrow(Method method, Throwable t) throws Throwable {
+    if (t instanceof ProvisionException) {
+      throw unwrap(method, (ProvisionException) t);
+    } else if (canRethrow(method, t)) {
+      throw t;
+    }
+    throw InternalProvisionException.errorInjectingConstructor(t).toProvisionException();
+  }
+
+  /** Thrown by the direct path when a dependency that can't be null is null. */
+  private static final class MissingDependency extends RuntimeException {
+    static final MissingDependency INSTANCE = new MissingDependency();
+
+    private MissingDependency() {
+      super(null, null, false, false);
+    }
+  }
+
+  private static final Object[] NO_ARGS = {};
+
+  private static final MethodHandle CREATE;
+  private static final MethodHandle PROVIDE;
+  private static final MethodHandle RETHROW;
+  private static final MethodHandle PROVIDER_OF;
+  private static final MethodHandle LAZY_CHILD_INJECTOR;
+
+  static {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    try {
+      CREATE =
+          lookup.findVirtual(
+              FactoryProvider2.class,
+              "create",
+              MethodType.methodType(Object.class, Method.class, AssistData.class, Object[].class));
+      PROVIDE =
+          lookup.findStatic(
+              FactoryProvider2.class,
+              "provide",
+              MethodType.methodType(Object.class, Provider.class, Dependency.class));
+      RETHROW =
+          lookup.findStatic(
+              FactoryProvider2.class,
+              "rethrow",
+              MethodType.methodType(Object.class, Method.class, Throwable.class));
+      PROVIDER_OF =
+          lookup.findStatic(
+              Providers.class, "of", MethodType.methodType(Provider.class, Object.class));
+      LAZY_CHILD_INJECTOR =
+          lookup.findVirtual(
+              FactoryProvider2.class,
+              "lazyChildInjector",
+              MethodType.methodType(
+                  Injector.class, Method.class, AssistData.class, Object[].class));
+    } catch (ReflectiveOperationException e) {
+      throw new LinkageError(e.getMessage(), e);
+    }
+  }
+
   @Override
   public String toString() {
     return factory.getClass().getInterfaces()[0].getName();
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.assistedinject.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+
+/**
+ * The target of generated factory classes. A factory class implements the factory interface by
+ * calling one of the {@code invoke} methods with the arguments of its factory method, which calls
+ * the current target with the arguments still on the stack.
+ *
+ * <p>The target starts out creating values the slow way, and is relinked once the injector is
+ * known. This is public only so generated factory classes can link to it, and is not an API.
+ */
+public final class FactoryInvoker {
+  /** The most parameters a factory method can have to be implemented by a generated class. */
+  public static final int MAX_PARAMETERS = 8;
+
+  private final MutableCallSite callSite;
+  private final MethodHandle target;
+
+  /**
+   * @param target takes the factory method's arguments as objects, and returns the created object
+   */
+  public FactoryInvoker(MethodHandle target) {
+    int parameterCount = target.type().parameterCount();
+    if (parameterCount > MAX_PARAMETERS) {
+      throw new IllegalArgumentException("Too many parameters: " + target);
+    }
+    this.callSite = new MutableCallSite(MethodType.genericMethodType(parameterCount));
+    this.callSite.setTarget(target);
+    this.target = callSite.dynamicInvoker();
+  }
+
+  /** Changes the target, which must have the same type as the initial one. */
+  public void relink(MethodHandle target) {
+    callSite.setTarget(target);
+    MutableCallSite.syncAll(new MutableCallSite[] {callSite});
+  }
+
+  /** Returns the name of the {@code invoke} method for the number of parameters. */
+  public static String methodName(int parameterCount) {
+    return "invoke" + parameterCount;
+  }
+
+  /** Returns the {@code invoke} method for the number of parameters. */
+  public static MethodHandle findInvoker(MethodHandles.Lookup lookup, int parameterCount)
+      throws ReflectiveOperationException {
+    return lookup.findVirtual(
+        FactoryInvoker.class,
+        methodName(parameterCount),
+        MethodType.genericMethodType(parameterCount));
+  }
+
+  public Object invoke0() throws Throwable {
+    return target.invokeExact();
+  }
+
+  public Object invoke1(Object a0) throws Throwable {
+    return target.invokeExact(a0);
+  }
+
+  public Object invoke2(Object a0, Object a1) throws Throwable {
+    return target.invokeExact(a0, a1);
+  }
+
+  public Object invoke3(Object a0, Object a1, Object a2) throws Throwable {
+    return target.invokeExact(a0, a1, a2);
+  }
+
+  public Object invoke4(Object a0, Object a1, Object a2, Object a3) throws Throwable {
+    return target.invokeExact(a0, a1, a2, a3);
+  }
+
+  public Object invoke5(Object a0, Object a1, Object a2, Object a3, Object a4)
+      throws Throwable {
+    return target.invokeExact(a0, a1, a2, a3, a4);
+  }
+
+  public Object invoke6(Object a0, Object a1, Object a2, Object a3, Object a4, Object a5)
+      throws Throwable {
+    return target.invokeExact(a0, a1, a2, a3, a4, a5);
+  }
+
+  public Object invoke7(
+      Object a0, Object a1, Object a2, Object a3, Object a4, Object a5, Object a6)
+      throws Throwable {
+    return target.invokeExact(a0, a1, a2, a3, a4, a5, a6);
+  }
+
+  public Object invoke8(
+      Object a0, Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7)
+      throws Throwable {
+    return target.invokeExact(a0, a1, a2, a3, a4, a5, a6, a7);
+  }
+}
@@ -18,9 +18,11 @@ package com.google.inject.assistedinject;
 
 import static com.google.inject.Asserts.assertContains;
 import static com.google.inject.Asserts.assertEqualsBothWays;
+import static com.google.inject.Asserts.awaitClear;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
@@ -34,6 +36,7 @@ import com.google.inject.Inject;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.Provider;
+import com.google.inject.ProvisionException;
 import com.google.inject.Stage;
 import com.google.inject.TypeLiteral;
 import com.google.inject.assistedinject.FactoryProvider2Test.Equals.ComparisonMethod;
@@ -43,10 +46,14 @@ import com.google.inject.internal.InternalFlags;
 import com.google.inject.matcher.Matchers;
 import com.google.inject.name.Named;
 import com.google.inject.name.Names;
+import com.google.inject.spi.ProvisionListener;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Proxy;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.Test;
@@ -1344,6 +1351,49 @@ public class FactoryProvider2Test {
     }
   }
 
+  static class Scooter implements Car {
+    final Injector injector;
+    final Provider<Color> colorProvider;
+    final double engineSize;
+
+    @Inject
+    Scooter(Injector injector, @Assisted Provider<Color> colorProvider, double engineSize) {
+      this.injector = injector;
+      this.colorProvider = colorProvider;
+      this.engineSize = engineSize;
+    }
+  }
+
+  @Test
+  public void testConstructorInjectingInjectorAndAssistedProvider() {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(double.class).toInstance(5.0d);
+                install(
+                    new FactoryModuleBuilder()
+                        .implement(Car.class, Scooter.class)
+                        .build(ColoredCarFactory.class));
+              }
+            });
+
+    ColoredCarFactory carFactory = injector.getInstance(ColoredCarFactory.class);
+    Scooter green = (Scooter) carFactory.create(Color.GREEN);
+    Scooter pink = (Scooter) carFactory.create(Color.PINK);
+    assertEquals(5.0d, green.engineSize, 0.0);
+    assertSame(Color.GREEN, green.colorProvider.get());
+    assertSame(Color.PINK, pink.colorProvider.get());
+
+    Key<Color> colorKey = Key.get(Color.class, FactoryProvider2.DEFAULT_ANNOTATION);
+    assertSame(Color.PINK, pink.injector.getInstance(colorKey));
+    assertSame(Color.GREEN, green.injector.getInstance(colorKey));
+    assertSame(injector, green.injector.getParent());
+    assertEquals(green.injector, green.injector);
+    assertFalse(green.injector.equals(pink.injector));
+  }
+
   @Test
   public void testReturnValueMatchesParamValue() {
     Injector injector =
@@ -1479,4 +1529,147 @@ public class FactoryProvider2Test {
     AbstractAssisted.Factory<ConcreteAssisted, String> factory5 = injector.getInstance(concreteKey);
     factory5.create("foo");
   }
+
+  @Test
+  public void testFactoryWithOneMethodIsGenerated() {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(double.class).toInstance(5.0d);
+                install(
+                    new FactoryModuleBuilder()
+                        .implement(Car.class, Mustang.class)
+                        .build(ColoredCarFactory.class));
+              }
+            });
+    ColoredCarFactory carFactory = injector.getInstance(ColoredCarFactory.class);
+    assertFalse(Proxy.isProxyClass(carFactory.getClass()));
+
+    Mustang blueMustang = (Mustang) carFactory.create(Color.BLUE);
+    assertEquals(Color.BLUE, blueMustang.color);
+    assertEquals(5.0d, blueMustang.engineSize, 0.0);
+    assertNotSame(blueMustang, carFactory.create(Color.BLUE));
+  }
+
+  @Test
+  public void testGeneratedFactoryNotifiesProvisionListeners() {
+    AtomicInteger provisions = new AtomicInteger();
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(double.class).toInstance(5.0d);
+                bindListener(
+                    Matchers.any(),
+                    new ProvisionListener() {
+                      @Override
+                      public <T> void onProvision(ProvisionInvocation<T> provision) {
+                        if (provision.provision() instanceof Mustang) {
+                          provisions.incrementAndGet();
+                        }
+                      }
+                    });
+                install(
+                    new FactoryModuleBuilder()
+                        .implement(Car.class, Mustang.class)
+                        .build(ColoredCarFactory.class));
+              }
+            });
+    ColoredCarFactory carFactory = injector.getInstance(ColoredCarFactory.class);
+
+    carFactory.create(Color.BLUE);
+    carFactory.create(Color.RED);
+    assertEquals(2, provisions.get());
+  }
+
+  /** A provision listener that holds on to its injector, as listeners often do. */
+  static class InjectorHoldingListener implements ProvisionListener {
+    @Inject Injector injector;
+
+    @Override
+    public <T> void onProvision(ProvisionInvocation<T> provision) {}
+  }
+
+  @Test
+  public void testFactoryDoesNotLeakInjectorWithListeners() {
+    WeakReference<Injector> injector = createInjectorWithListenerAndFactory();
+    awaitClear(injector);
+  }
+
+  private static WeakReference<Injector> createInjectorWithListenerAndFactory() {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(double.class).toInstance(5.0d);
+                InjectorHoldingListener listener = new InjectorHoldingListener();
+                requestInjection(listener);
+                bindListener(Matchers.only(Key.get(Integer.class)), listener);
+                install(
+                    new FactoryModuleBuilder()
+                        .implement(Car.class, Mustang.class)
+                        .build(ColoredCarFactory.class));
+              }
+            });
+    Mustang mustang = (Mustang) injector.getInstance(ColoredCarFactory.class).create(Color.BLUE);
+    assertEquals(Color.BLUE, mustang.color);
+    return new WeakReference<>(injector);
+  }
+
+  public static class LoggingCar implements Car {
+    final Logger logger;
+
+    @Inject
+    public LoggingCar(Logger logger, @Assisted Color color) {
+      this.logger = logger;
+    }
+  }
+
+  @Test
+  public void testGeneratedFactoryInjectsLoggerNamedAfterClass() {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                install(
+                    new FactoryModuleBuilder()
+                        .implement(Car.class, LoggingCar.class)
+                        .build(ColoredCarFactory.class));
+              }
+            });
+    LoggingCar car = (LoggingCar) injector.getInstance(ColoredCarFactory.class).create(Color.BLUE);
+    assertEquals(LoggingCar.class.getName(), car.logger.getName());
+  }
+
+  public static class NamedCar implements Car {
+    @Inject
+    public NamedCar(@Named("name") String name, @Assisted Color color) {}
+  }
+
+  @Test
+  public void testGeneratedFactoryReportsNullDependencies() {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(String.class).annotatedWith(Names.named("name")).toProvider(() -> null);
+                install(
+                    new FactoryModuleBuilder()
+                        .implement(Car.class, NamedCar.class)
+                        .build(ColoredCarFactory.class));
+              }
+            });
+    try {
+      injector.getInstance(ColoredCarFactory.class).create(Color.BLUE);
+      fail();
+    } catch (ProvisionException expected) {
+      assertContains(expected.getMessage(), "null returned by binding at");
+    }
+  }
 }
@@ -55,4 +55,22 @@ public @interface Transactional {
    * take precedence over rollbackOn, but with subtype granularity.
    */
   Class<? extends Exception>[] ignore() default {};
+
+  /**
+   * Whether the transaction only reads data. A read-only transaction isn't flushed before queries.
+   * If it also begins the unit of work, it is never flushed: it is rolled back instead of
+   * committed, so changes made to managed entities are discarded rather than written, and its
+   * entity manager is created for read-only work as configured by {@link
+   * com.google.inject.persist.jpa.JpaPersistOptions}, for example from a persistence unit that
+   * reads from a replica.
+   *
+   * <p>In a unit of work that has already begun, a read-only transaction is committed like any
+   * other, since rolling it back would detach every entity loaded earlier in the unit of work and
+   * discard its pending changes.
+   *
+   * <p>Methods that join an enclosing transaction run in the mode of that transaction.
+   *
+   * @since 7.0
+   */
+  boolean readOnly() default false;
 }
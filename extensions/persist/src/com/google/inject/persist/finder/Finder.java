@@ -21,11 +21,15 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.Collection;
+import jakarta.persistence.QueryHint;
 
 /**
  * Marks a method stub as a dynamic finder. The method is intercepted and replaced with the
  * specified JPAQL query. Provides result auto-boxing and automatic parameter binding.
  *
+ * <p>Finders that return a {@code List} (or {@code Collection}) without a {@link #returnAs} clause
+ * return the query's result list directly.
+ *
  * @author Dhanji R. Prasanna (dhanji@gmail.com)
  */
 @Target(ElementType.METHOD)
@@ -47,4 +51,14 @@ public @interface Finder {
    */
   @SuppressWarnings({"rawtypes"}) // Unavoidable because class literal uses raw types.
   Class<? extends Collection> returnAs() default Collection.class;
+
+  /**
+   * Returns the hints set on the query, such as a provider's fetch size or read-only hints. Use this
+   * clause together with {@link FirstResult} and {@link MaxResults} parameters to page through large
+   * results, or declare the finder to return a {@link java.util.stream.Stream} to iterate over them
+   * without materializing a list. Streams should be closed once consumed.
+   *
+   * @since 7.0
+   */
+  QueryHint[] hints() default {};
 }
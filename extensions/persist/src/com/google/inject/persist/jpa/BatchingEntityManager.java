@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.persist.jpa;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Counts the entities written through an entity manager, and flushes and clears it after every
+ * batch. Installed by {@link JpaLocalTxnInterceptor} for transactions with a {@link
+ * FlushPolicy#batchSize}.
+ */
+final class BatchingEntityManager implements InvocationHandler {
+  private final EntityManager delegate;
+  private final int batchSize;
+  private int written;
+
+  private BatchingEntityManager(EntityManager delegate, int batchSize) {
+    this.delegate = delegate;
+    this.batchSize = batchSize;
+  }
+
+  static EntityManager wrap(EntityManager delegate, int batchSize) {
+    return (EntityManager)
+        Proxy.newProxyInstance(
+            EntityManager.class.getClassLoader(),
+            new Class<?>[] {EntityManager.class},
+            new BatchingEntityManager(delegate, batchSize));
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (method.getDeclaringClass() == Object.class) {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        default:
+          return "Batching[" + delegate + "]";
+      }
+    }
+
+    Object result;
+    try {
+      result = method.invoke(delegate, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+
+    String name = method.getName();
+    if (("persist".equals(name) || "merge".equals(name)) && ++written >= batchSize) {
+      written = 0;
+      delegate.flush();
+      delegate.clear();
+    }
+    return result;
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.persist.jpa;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import jakarta.persistence.FlushModeType;
+
+/**
+ * Controls how the entity manager of a {@link com.google.inject.persist.Transactional} method or
+ * class is flushed while the transaction runs. Like {@code @Transactional}, a method's policy takes
+ * precedence over its class's, and methods that join an enclosing transaction run with the policy
+ * of that transaction.
+ *
+ * <p>Setting a {@link #batchSize} bounds the size of the persistence context of transactions that
+ * write many entities, such as bulk imports: every {@code batchSize} calls to {@code persist} or
+ * {@code merge} through the injected {@code EntityManager}, pending changes are flushed and the
+ * persistence context is cleared. Entities written earlier in the transaction are then detached.
+ *
+ * @since 7.0
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface FlushPolicy {
+
+  /**
+   * The flush mode of the entity manager during the transaction; the JPA default unless specified.
+   * Ignored for read-only transactions, which are never flushed.
+   */
+  FlushModeType mode() default FlushModeType.AUTO;
+
+  /**
+   * The number of {@code persist} and {@code merge} calls after which pending changes are flushed
+   * and the persistence context cleared, or 0 to never clear it.
+   */
+  int batchSize() default 0;
+}
@@ -31,8 +31,10 @@ import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
+import jakarta.persistence.QueryHint;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 
@@ -62,19 +64,28 @@ class JpaFinderProxy implements MethodInterceptor {
 
     //execute as query (named params or otherwise)
     Query jpaQuery = finderDescriptor.createQuery(em);
-    if (finderDescriptor.isBindAsRawParameters) {
-      bindQueryRawParameters(jpaQuery, finderDescriptor, methodInvocation.getArguments());
-    } else {
-      bindQueryNamedParameters(jpaQuery, finderDescriptor, methodInvocation.getArguments());
+    Object[] arguments = methodInvocation.getArguments();
+    ParameterBinder[] binders = finderDescriptor.parameterBinders;
+    for (int i = 0; i < binders.length; i++) {
+      if (null != binders[i]) {
+        binders[i].bind(jpaQuery, arguments[i]);
+      }
     }
 
     //depending upon return type, decorate or return the result as is
-    if (JpaFinderProxy.ReturnType.PLAIN.equals(finderDescriptor.returnType)) {
-      result = jpaQuery.getSingleResult();
-    } else if (JpaFinderProxy.ReturnType.COLLECTION.equals(finderDescriptor.returnType)) {
-      result = getAsCollection(finderDescriptor, jpaQuery.getResultList());
-    } else if (JpaFinderProxy.ReturnType.ARRAY.equals(finderDescriptor.returnType)) {
-      result = jpaQuery.getResultList().toArray();
+    switch (finderDescriptor.returnType) {
+      case PLAIN:
+        result = jpaQuery.getSingleResult();
+        break;
+      case COLLECTION:
+        result = getAsCollection(finderDescriptor, jpaQuery.getResultList());
+        break;
+      case ARRAY:
+        result = jpaQuery.getResultList().toArray();
+        break;
+      case STREAM:
+        result = jpaQuery.getResultStream();
+        break;
     }
 
     return result;
@@ -82,6 +93,10 @@ class JpaFinderProxy implements MethodInterceptor {
 
   @SuppressWarnings({"unchecked", "rawtypes"}) // JPA Query returns raw type.
   private Object getAsCollection(JpaFinderProxy.FinderDescriptor finderDescriptor, List results) {
+    if (null == finderDescriptor.returnCollectionTypeConstructor) {
+      return results;
+    }
+
     Collection<?> collection;
     try {
       collection = (Collection) finderDescriptor.returnCollectionTypeConstructor.newInstance();
@@ -108,49 +123,36 @@ class JpaFinderProxy implements MethodInterceptor {
     return collection;
   }
 
-  private void bindQueryNamedParameters(
-      Query jpaQuery, JpaFinderProxy.FinderDescriptor descriptor, Object[] arguments) {
-    for (int i = 0; i < arguments.length; i++) {
-      Object argument = arguments[i];
-      Object annotation = descriptor.parameterAnnotations[i];
+  /**
+   * Returns the binder of each parameter, or null for parameters that aren't bound. Unannotated
+   * parameters are bound by position, unless the finder has {@code @Named} parameters.
+   */
+  private static ParameterBinder[] createParameterBinders(
+      Object[] parameterAnnotations, boolean isBindAsRawParameters) {
+    ParameterBinder[] binders = new ParameterBinder[parameterAnnotations.length];
+    for (int i = 0, index = 1; i < parameterAnnotations.length; i++) {
+      Object annotation = parameterAnnotations[i];
 
-      if (null == annotation)
-      //noinspection UnnecessaryContinue
-      {
-        continue; //skip param as it's not bindable
+      if (null == annotation) {
+        if (isBindAsRawParameters) {
+          //bind it as a raw param (1-based index, yes I know its different from Hibernate, blargh)
+          final int position = index++;
+          binders[i] = (query, argument) -> query.setParameter(position, argument);
+        }
+        //otherwise skip param as it's not bindable
       } else if (annotation instanceof Named) {
-        Named named = (Named) annotation;
-        jpaQuery.setParameter(named.value(), argument);
-      } else if (annotation instanceof jakarta.inject.Named) {
-        jakarta.inject.Named named = (jakarta.inject.Named) annotation;
-        jpaQuery.setParameter(named.value(), argument);
+        final String name = ((Named) annotation).value();
+        binders[i] = (query, argument) -> query.setParameter(name, argument);
       } else if (annotation instanceof jakarta.inject.Named) {
-        jakarta.inject.Named named = (jakarta.inject.Named) annotation;
-        jpaQuery.setParameter(named.value(), argument);
+        final String name = ((jakarta.inject.Named) annotation).value();
+        binders[i] = (query, argument) -> query.setParameter(name, argument);
       } else if (annotation instanceof FirstResult) {
-        jpaQuery.setFirstResult((Integer) argument);
+        binders[i] = (query, argument) -> query.setFirstResult((Integer) argument);
       } else if (annotation instanceof MaxResults) {
-        jpaQuery.setMaxResults((Integer) argument);
-      }
-    }
-  }
-
-  private void bindQueryRawParameters(
-      Query jpaQuery, JpaFinderProxy.FinderDescriptor descriptor, Object[] arguments) {
-    for (int i = 0, index = 1; i < arguments.length; i++) {
-      Object argument = arguments[i];
-      Object annotation = descriptor.parameterAnnotations[i];
-
-      if (null == annotation) {
-        //bind it as a raw param (1-based index, yes I know its different from Hibernate, blargh)
-        jpaQuery.setParameter(index, argument);
-        index++;
-      } else if (annotation instanceof FirstResult) {
-        jpaQuery.setFirstResult((Integer) argument);
-      } else if (annotation instanceof MaxResults) {
-        jpaQuery.setMaxResults((Integer) argument);
+        binders[i] = (query, argument) -> query.setMaxResults((Integer) argument);
       }
     }
+    return binders;
   }
 
   private JpaFinderProxy.FinderDescriptor getFinderDescriptor(MethodInvocation invocation) {
@@ -201,12 +203,16 @@ class JpaFinderProxy implements MethodInterceptor {
       }
     }
 
-    //set the discovered set to our finder cache object
-    finderDescriptor.parameterAnnotations = discoveredAnnotations;
+    //compute how each parameter is bound once, rather than on every call
+    finderDescriptor.parameterBinders =
+        createParameterBinders(discoveredAnnotations, finderDescriptor.isBindAsRawParameters);
+    finderDescriptor.hints = finder.hints();
 
-    //discover the returned collection implementation if this finder returns a collection
+    //discover the returned collection implementation if this finder returns a collection, unless
+    //the result list itself can be returned without copying it
     if (JpaFinderProxy.ReturnType.COLLECTION.equals(finderDescriptor.returnType)
-        && finderDescriptor.returnClass != Collection.class) {
+        && !(finder.returnAs() == Collection.class
+            && finderDescriptor.returnClass.isAssignableFrom(List.class))) {
       finderDescriptor.returnCollectionType = finder.returnAs();
       try {
         finderDescriptor.returnCollectionTypeConstructor =
@@ -242,6 +248,8 @@ class JpaFinderProxy implements MethodInterceptor {
       return JpaFinderProxy.ReturnType.COLLECTION;
     } else if (returnClass.isArray()) {
       return JpaFinderProxy.ReturnType.ARRAY;
+    } else if (Stream.class.equals(returnClass)) {
+      return JpaFinderProxy.ReturnType.STREAM;
     }
 
     return JpaFinderProxy.ReturnType.PLAIN;
@@ -259,8 +267,9 @@ class JpaFinderProxy implements MethodInterceptor {
     volatile Class<? extends Collection> returnCollectionType;
 
     volatile Constructor<?> returnCollectionTypeConstructor;
-    volatile Object[] parameterAnnotations;
-    //contract is: null = no bind, @Named = param, @FirstResult/@MaxResults for paging
+    volatile ParameterBinder[] parameterBinders;
+    //contract is: null = no bind, otherwise binds a param or @FirstResult/@MaxResults for paging
+    volatile QueryHint[] hints;
 
     private String query;
     private String name;
@@ -279,13 +288,23 @@ class JpaFinderProxy implements MethodInterceptor {
     }
 
     Query createQuery(EntityManager em) {
-      return isKeyedQuery ? em.createNamedQuery(name) : em.createQuery(query);
+      Query jpaQuery = isKeyedQuery ? em.createNamedQuery(name) : em.createQuery(query);
+      for (QueryHint hint : hints) {
+        jpaQuery.setHint(hint.name(), hint.value());
+      }
+      return jpaQuery;
     }
   }
 
+  /** Binds one argument of a finder to its query. */
+  private interface ParameterBinder {
+    void bind(Query query, Object argument);
+  }
+
   private static enum ReturnType {
     PLAIN,
     COLLECTION,
-    ARRAY
+    ARRAY,
+    STREAM
   }
 }
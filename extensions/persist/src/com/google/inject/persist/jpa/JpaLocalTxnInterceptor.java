@@ -20,8 +20,11 @@ import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 import com.google.inject.persist.UnitOfWork;
 import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.FlushModeType;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 
@@ -38,26 +41,72 @@ class JpaLocalTxnInterceptor implements MethodInterceptor {
   @Transactional
   private static class Internal {}
 
-  // Tracks if the unit of work was begun implicitly by this transaction.
-  private final ThreadLocal<Boolean> didWeStartWork = new ThreadLocal<>();
+  /** The metadata of each intercepted method, by the class of the object it was invoked on. */
+  private final ClassValue<ConcurrentMap<Method, TransactionMetadata>> metadataCache =
+      new ClassValue<ConcurrentMap<Method, TransactionMetadata>>() {
+        @Override
+        protected ConcurrentMap<Method, TransactionMetadata> computeValue(Class<?> targetClass) {
+          return new ConcurrentHashMap<>();
+        }
+      };
 
   @Override
   public Object invoke(MethodInvocation methodInvocation) throws Throwable {
+    EntityManager em = emProvider.current();
+
+    // Allow 'joining' of transactions if there is an enclosing @Transactional method.
+    if (em != null && em.getTransaction().isActive()) {
+      return methodInvocation.proceed();
+    }
 
-    // Should we start a unit of work?
+    TransactionMetadata transactional = readTransactionMetadata(methodInvocation);
+
+    // Should we start a unit of work? Tracks if it was begun implicitly by this transaction.
+    boolean didWeStartWork = false;
     if (!emProvider.isWorking()) {
-      emProvider.begin();
-      didWeStartWork.set(true);
+      if (transactional.readOnly) {
+        emProvider.beginReadOnly();
+      } else {
+        emProvider.begin();
+      }
+      didWeStartWork = true;
     }
+    // the unit of work may not have opened its entity manager yet
+    em = emProvider.get();
 
-    Transactional transactional = readTransactionMetadata(methodInvocation);
-    EntityManager em = this.emProvider.get();
+    if (null == transactional.flushMode && 0 == transactional.batchSize) {
+      return proceedInTransaction(methodInvocation, transactional, em, didWeStartWork);
+    }
 
-    // Allow 'joining' of transactions if there is an enclosing @Transactional method.
-    if (em.getTransaction().isActive()) {
-      return methodInvocation.proceed();
+    // The flush mode of an entity manager we didn't create is restored afterwards, for the rest of
+    // its unit of work; so is the entity manager itself, if we batch writes through another.
+    FlushModeType flushMode = em.getFlushMode();
+    if (null != transactional.flushMode) {
+      em.setFlushMode(transactional.flushMode);
     }
+    EntityManager batching = null;
+    if (transactional.batchSize > 0) {
+      batching = BatchingEntityManager.wrap(em, transactional.batchSize);
+      emProvider.swap(batching);
+    }
+    try {
+      return proceedInTransaction(methodInvocation, transactional, em, didWeStartWork);
+    } finally {
+      if (!didWeStartWork && em.isOpen()) {
+        em.setFlushMode(flushMode);
+        if (null != batching && emProvider.current() == batching) {
+          emProvider.swap(em);
+        }
+      }
+    }
+  }
 
+  private Object proceedInTransaction(
+      MethodInvocation methodInvocation,
+      TransactionMetadata transactional,
+      EntityManager em,
+      boolean didWeStartWork)
+      throws Throwable {
     final EntityTransaction txn = em.getTransaction();
     txn.begin();
 
@@ -68,15 +117,15 @@ class JpaLocalTxnInterceptor implements MethodInterceptor {
     } catch (Exception e) {
       // commit transaction only if rollback didnt occur
       if (rollbackIfNecessary(transactional, e, txn)) {
-        txn.commit();
+        commit(transactional, txn, didWeStartWork);
       }
 
       // propagate whatever exception is thrown anyway
       throw e;
     } finally {
       // Close the em if necessary (guarded so this code doesn't run unless catch fired).
-      if (null != didWeStartWork.get() && !txn.isActive()) {
-        didWeStartWork.remove();
+      if (didWeStartWork && !txn.isActive()) {
+        didWeStartWork = false;
         unitOfWork.end();
       }
     }
@@ -88,13 +137,12 @@ class JpaLocalTxnInterceptor implements MethodInterceptor {
         if (txn.getRollbackOnly()) {
           txn.rollback();
         } else {
-          txn.commit();
+          commit(transactional, txn, didWeStartWork);
         }
       }
     } finally {
       // close the em if necessary
-      if (null != didWeStartWork.get()) {
-        didWeStartWork.remove();
+      if (didWeStartWork) {
         unitOfWork.end();
       }
     }
@@ -103,8 +151,37 @@ class JpaLocalTxnInterceptor implements MethodInterceptor {
     return result;
   }
 
-  // TODO(user): Cache this method's results.
-  private Transactional readTransactionMetadata(MethodInvocation methodInvocation) {
+  /**
+   * Commits the transaction, or rolls it back if it is read-only so that it is never flushed. A
+   * read-only transaction in a unit of work that we didn't start is committed too: rolling it back
+   * would detach the entities loaded earlier in that unit of work.
+   */
+  private static void commit(
+      TransactionMetadata transactional, EntityTransaction txn, boolean didWeStartWork) {
+    if (transactional.readOnly && didWeStartWork) {
+      txn.rollback();
+    } else {
+      txn.commit();
+    }
+  }
+
+  private TransactionMetadata readTransactionMetadata(MethodInvocation methodInvocation) {
+    Method method = methodInvocation.getMethod();
+    ConcurrentMap<Method, TransactionMetadata> metadataByMethod =
+        metadataCache.get(methodInvocation.getThis().getClass());
+    TransactionMetadata metadata = metadataByMethod.get(method);
+    if (metadata == null) {
+      metadata =
+          metadataByMethod.computeIfAbsent(
+              method,
+              unused ->
+                  new TransactionMetadata(
+                      findTransactional(methodInvocation), findFlushPolicy(methodInvocation)));
+    }
+    return metadata;
+  }
+
+  private static Transactional findTransactional(MethodInvocation methodInvocation) {
     Transactional transactional;
     Method method = methodInvocation.getMethod();
     Class<?> targetClass = methodInvocation.getThis().getClass();
@@ -122,26 +199,35 @@ class JpaLocalTxnInterceptor implements MethodInterceptor {
     return transactional;
   }
 
+  private static FlushPolicy findFlushPolicy(MethodInvocation methodInvocation) {
+    FlushPolicy flushPolicy = methodInvocation.getMethod().getAnnotation(FlushPolicy.class);
+    if (null == flushPolicy) {
+      // If none on method, try the class.
+      flushPolicy = methodInvocation.getThis().getClass().getAnnotation(FlushPolicy.class);
+    }
+    return flushPolicy;
+  }
+
   /**
    * Returns True if rollback DID NOT HAPPEN (i.e. if commit should continue).
    *
-   * @param transactional The metadata annotation of the method
+   * @param transactional The metadata of the method
    * @param e The exception to test for rollback
    * @param txn A JPA Transaction to issue rollbacks on
    */
   private boolean rollbackIfNecessary(
-      Transactional transactional, Exception e, EntityTransaction txn) {
+      TransactionMetadata transactional, Exception e, EntityTransaction txn) {
     boolean commit = true;
 
     // check rollback clauses
-    for (Class<? extends Exception> rollBackOn : transactional.rollbackOn()) {
+    for (Class<? extends Exception> rollBackOn : transactional.rollbackOn) {
 
       // if one matched, try to perform a rollback
       if (rollBackOn.isInstance(e)) {
         commit = false;
 
         // check ignore clauses (supercedes rollback clause)
-        for (Class<? extends Exception> exceptOn : transactional.ignore()) {
+        for (Class<? extends Exception> exceptOn : transactional.ignore) {
           // An exception to the rollback clause was found, DON'T rollback
           // (i.e. commit and throw anyway)
           if (exceptOn.isInstance(e)) {
@@ -162,4 +248,34 @@ class JpaLocalTxnInterceptor implements MethodInterceptor {
 
     return commit;
   }
+
+  /**
+   * The clauses of the {@link Transactional} and {@link FlushPolicy} annotations of a method, read
+   * once so that they aren't copied out of the annotations on every invocation.
+   */
+  private static final class TransactionMetadata {
+    final Class<? extends Exception>[] rollbackOn;
+    final Class<? extends Exception>[] ignore;
+    final boolean readOnly;
+    // null to leave the flush mode of the entity manager as is
+    final FlushModeType flushMode;
+    final int batchSize;
+
+    TransactionMetadata(Transactional transactional, FlushPolicy flushPolicy) {
+      this.rollbackOn = transactional.rollbackOn();
+      this.ignore = transactional.ignore();
+      this.readOnly = transactional.readOnly();
+      if (readOnly) {
+        // Don't flush a read-only transaction before queries either.
+        this.flushMode = FlushModeType.COMMIT;
+        this.batchSize = 0;
+      } else if (null != flushPolicy) {
+        this.flushMode = flushPolicy.mode();
+        this.batchSize = flushPolicy.batchSize();
+      } else {
+        this.flushMode = null;
+        this.batchSize = 0;
+      }
+    }
+  }
 }
@@ -18,6 +18,7 @@ package com.google.inject.persist.jpa;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.inject.Inject;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
@@ -26,6 +27,7 @@ import com.google.inject.persist.PersistService;
 import com.google.inject.persist.UnitOfWork;
 import com.google.inject.persist.finder.DynamicFinder;
 import com.google.inject.persist.finder.Finder;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
@@ -73,6 +75,17 @@ public final class JpaPersistModule extends PersistModule {
     bind(EntityManagerFactory.class)
         .toProvider(JpaPersistService.EntityManagerFactoryProvider.class);
 
+    for (Map.Entry<Class<? extends Annotation>, JpaPersistenceUnit> persistenceUnit :
+        persistenceUnits.entrySet()) {
+      bind(EntityManager.class)
+          .annotatedWith(persistenceUnit.getKey())
+          .toProvider(persistenceUnit.getValue());
+      bind(EntityManagerFactory.class)
+          .annotatedWith(persistenceUnit.getKey())
+          .toProvider(
+              new JpaPersistenceUnit.EntityManagerFactoryProvider(persistenceUnit.getValue()));
+    }
+
     transactionInterceptor = new JpaLocalTxnInterceptor();
     requestInjection(transactionInterceptor);
 
@@ -105,6 +118,48 @@ public final class JpaPersistModule extends PersistModule {
     return this;
   }
 
+  private final Map<Class<? extends Annotation>, JpaPersistenceUnit> persistenceUnits =
+      Maps.newLinkedHashMap();
+
+  /**
+   * Adds another persistence unit, such as a database shard, whose {@code EntityManager} and {@code
+   * EntityManagerFactory} are bound with the given binding annotation.
+   *
+   * <p>Its entity managers share the {@link UnitOfWork} of this module's persistence unit. Like
+   * those of this module's unit, each is opened the first time it is requested in a unit of work,
+   * so work that only uses some of the units doesn't open the others, and all are closed when the
+   * unit of work ends. The {@link PersistService}
+   * starts and stops it together with this module's unit. {@code @Transactional} methods and
+   * dynamic finders keep using this module's persistence unit; transactions of other units are
+   * handled through their entity managers.
+   *
+   * @param annotation the binding annotation of the unit's bindings
+   * @param jpaUnit the name of the persistence unit
+   * @since 7.0
+   */
+  public JpaPersistModule addPersistenceUnit(
+      Class<? extends Annotation> annotation, String jpaUnit) {
+    return addPersistenceUnit(annotation, jpaUnit, null);
+  }
+
+  /**
+   * Adds another persistence unit, configured with a set of properties. See {@link
+   * #addPersistenceUnit(Class, String)}.
+   *
+   * @since 7.0
+   */
+  public JpaPersistModule addPersistenceUnit(
+      Class<? extends Annotation> annotation, String jpaUnit, Map<?, ?> properties) {
+    Preconditions.checkArgument(
+        null != jpaUnit && jpaUnit.length() > 0, "JPA unit name must be a non-empty string.");
+    Preconditions.checkArgument(
+        !persistenceUnits.containsKey(annotation),
+        "A persistence unit was already added for %s.",
+        annotation);
+    persistenceUnits.put(annotation, new JpaPersistenceUnit(jpaUnit, properties));
+    return this;
+  }
+
   private final List<Class<?>> dynamicFinders = Lists.newArrayList();
 
   /**
@@ -16,6 +16,9 @@
 
 package com.google.inject.persist.jpa;
 
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+
 /**
  * Options that configure how the JPA persist service will work.
  *
@@ -24,9 +27,15 @@ package com.google.inject.persist.jpa;
 public final class JpaPersistOptions {
 
   private final boolean autoBeginWorkOnEntityManagerCreation;
+  private final String readOnlyPersistenceUnitName;
+  private final Map<?, ?> readOnlyPersistenceUnitProperties;
+  private final ImmutableMap<String, Object> readOnlyEntityManagerProperties;
 
   private JpaPersistOptions(JpaPersistOptions.Builder builder) {
     this.autoBeginWorkOnEntityManagerCreation = builder.autoBeginWorkOnEntityManagerCreation;
+    this.readOnlyPersistenceUnitName = builder.readOnlyPersistenceUnitName;
+    this.readOnlyPersistenceUnitProperties = builder.readOnlyPersistenceUnitProperties;
+    this.readOnlyEntityManagerProperties = builder.readOnlyEntityManagerProperties;
   }
 
   /**
@@ -40,6 +49,38 @@ public final class JpaPersistOptions {
     return autoBeginWorkOnEntityManagerCreation;
   }
 
+  /**
+   * Returns the name of the persistence unit that units of work begun by a {@code
+   * Transactional(readOnly = true)} method use, for example one that connects to a read replica.
+   * Returns null if read-only work uses the same persistence unit as all other work.
+   *
+   * @since 7.0
+   */
+  public String getReadOnlyPersistenceUnitName() {
+    return readOnlyPersistenceUnitName;
+  }
+
+  /**
+   * Returns the properties the read-only persistence unit is created with, or null if it is only
+   * configured by its {@code persistence.xml}.
+   *
+   * @since 7.0
+   */
+  public Map<?, ?> getReadOnlyPersistenceUnitProperties() {
+    return readOnlyPersistenceUnitProperties;
+  }
+
+  /**
+   * Returns the properties, such as provider-specific read-only hints, that entity managers are
+   * created with when their unit of work is begun by a {@code Transactional(readOnly = true)}
+   * method. Empty by default.
+   *
+   * @since 7.0
+   */
+  public ImmutableMap<String, Object> getReadOnlyEntityManagerProperties() {
+    return readOnlyEntityManagerProperties;
+  }
+
   /** Returns a builder to set options. */
   public static Builder builder() {
     return new Builder();
@@ -52,6 +93,9 @@ public final class JpaPersistOptions {
    */
   public static final class Builder {
     private boolean autoBeginWorkOnEntityManagerCreation;
+    private String readOnlyPersistenceUnitName;
+    private Map<?, ?> readOnlyPersistenceUnitProperties;
+    private ImmutableMap<String, Object> readOnlyEntityManagerProperties = ImmutableMap.of();
 
     private Builder() {}
 
@@ -65,5 +109,37 @@ public final class JpaPersistOptions {
       this.autoBeginWorkOnEntityManagerCreation = autoBeginWorkOnEntityManagerCreation;
       return this;
     }
+
+    /**
+     * Sets the {@link JpaPersistOptions#getReadOnlyPersistenceUnitName} property.
+     *
+     * @since 7.0
+     */
+    public Builder setReadOnlyPersistenceUnitName(String readOnlyPersistenceUnitName) {
+      this.readOnlyPersistenceUnitName = readOnlyPersistenceUnitName;
+      return this;
+    }
+
+    /**
+     * Sets the {@link JpaPersistOptions#getReadOnlyPersistenceUnitProperties} property.
+     *
+     * @since 7.0
+     */
+    public Builder setReadOnlyPersistenceUnitProperties(
+        Map<?, ?> readOnlyPersistenceUnitProperties) {
+      this.readOnlyPersistenceUnitProperties = readOnlyPersistenceUnitProperties;
+      return this;
+    }
+
+    /**
+     * Sets the {@link JpaPersistOptions#getReadOnlyEntityManagerProperties} property.
+     *
+     * @since 7.0
+     */
+    public Builder setReadOnlyEntityManagerProperties(
+        Map<String, ?> readOnlyEntityManagerProperties) {
+      this.readOnlyEntityManagerProperties = ImmutableMap.copyOf(readOnlyEntityManagerProperties);
+      return this;
+    }
   }
 }
@@ -28,7 +28,9 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
@@ -38,11 +40,15 @@ import jakarta.persistence.Persistence;
  */
 @Singleton
 class JpaPersistService implements Provider<EntityManager>, UnitOfWork, PersistService {
+  // set while a unit of work is active on this thread, even before it opens an entity manager
+  private final ThreadLocal<Boolean> working = new ThreadLocal<>();
   private final ThreadLocal<EntityManager> entityManager = new ThreadLocal<>();
 
   private final String persistenceUnitName;
   private final Map<?, ?> persistenceProperties;
   private final JpaPersistOptions options;
+  // other persistence units sharing this unit of work
+  private final List<JpaPersistenceUnit> persistenceUnits = new CopyOnWriteArrayList<>();
 
   @Inject
   public JpaPersistService(
@@ -56,40 +62,116 @@ class JpaPersistService implements Provider<EntityManager>, UnitOfWork, PersistS
 
   @Override
   public EntityManager get() {
+    checkWorking();
+
+    EntityManager em = entityManager.get();
+    if (null == em) {
+      em = emFactory.createEntityManager();
+      entityManager.set(em);
+    }
+    return em;
+  }
+
+  /**
+   * Begins the unit of work on this thread if it's configured to begin on demand, or fails if there
+   * is none.
+   */
+  void checkWorking() {
     if (options.getAutoBeginWorkOnEntityManagerCreation() && !isWorking()) {
       begin();
     }
 
-    EntityManager em = entityManager.get();
     Preconditions.checkState(
-        null != em,
+        isWorking(),
         "Requested EntityManager outside work unit. As of Guice 6.0, Guice Persist doesn't"
             + " automatically begin the unit of work when provisioning an EntityManager. To"
             + " preserve the legacy behavior, construct the `JpaPersistModule` with a"
             + " `JpaPersistOptions.builder().setAutoBeginWorkOnEntityManagerCreation(true).build()`."
             + " Alternately, try calling UnitOfWork.begin() first, or use a PersistFilter if you"
             + " are inside a servlet environment.");
-
-    return em;
   }
 
   public boolean isWorking() {
-    return entityManager.get() != null;
+    return working.get() != null;
+  }
+
+  /**
+   * Returns the entity manager of the unit of work on this thread, or null if there is no unit of
+   * work or it hasn't opened one yet.
+   */
+  EntityManager current() {
+    return entityManager.get();
   }
 
+  /**
+   * Begins a unit of work on this thread. Its entity manager is only opened when it is first
+   * requested, so work that only uses other persistence units doesn't open one.
+   */
   @Override
   public void begin() {
     Preconditions.checkState(
-        null == entityManager.get(),
+        !isWorking(),
+        "Work already begun on this thread. Looks like you have called UnitOfWork.begin() twice"
+            + " without a balancing call to end() in between.");
+
+    working.set(Boolean.TRUE);
+  }
+
+  /**
+   * Begins a unit of work for a read-only transaction, from the read-only persistence unit if there
+   * is one.
+   */
+  void beginReadOnly() {
+    Preconditions.checkState(
+        !isWorking(),
         "Work already begun on this thread. Looks like you have called UnitOfWork.begin() twice"
             + " without a balancing call to end() in between.");
 
-    entityManager.set(emFactory.createEntityManager());
+    EntityManagerFactory factory = (null != readOnlyEmFactory) ? readOnlyEmFactory : emFactory;
+    Map<String, Object> properties = options.getReadOnlyEntityManagerProperties();
+    entityManager.set(
+        properties.isEmpty()
+            ? factory.createEntityManager()
+            : factory.createEntityManager(properties));
+    working.set(Boolean.TRUE);
+  }
+
+  /** Replaces the entity manager of the unit of work on this thread, which must have begun. */
+  void swap(EntityManager em) {
+    Preconditions.checkState(isWorking(), "No unit of work on this thread.");
+    entityManager.set(em);
+  }
+
+  void addPersistenceUnit(JpaPersistenceUnit persistenceUnit) {
+    persistenceUnits.add(persistenceUnit);
   }
 
   @Override
   public void end() {
+    RuntimeException failure = null;
+    for (JpaPersistenceUnit persistenceUnit : persistenceUnits) {
+      try {
+        persistenceUnit.end();
+      } catch (RuntimeException e) {
+        if (null == failure) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    try {
+      endWork();
+    } finally {
+      if (null != failure) {
+        throw failure;
+      }
+    }
+  }
+
+  private void endWork() {
     EntityManager em = entityManager.get();
+    working.remove();
 
     // Let's not penalize users for calling end() multiple times.
     if (null == em) {
@@ -104,6 +186,7 @@ class JpaPersistService implements Provider<EntityManager>, UnitOfWork, PersistS
   }
 
   private volatile EntityManagerFactory emFactory;
+  private volatile EntityManagerFactory readOnlyEmFactory;
 
   @VisibleForTesting
   synchronized void start(EntityManagerFactory emFactory) {
@@ -122,6 +205,21 @@ class JpaPersistService implements Provider<EntityManager>, UnitOfWork, PersistS
     } else {
       this.emFactory = Persistence.createEntityManagerFactory(persistenceUnitName);
     }
+
+    String readOnlyUnitName = options.getReadOnlyPersistenceUnitName();
+    if (null != readOnlyUnitName) {
+      Map<?, ?> readOnlyProperties = options.getReadOnlyPersistenceUnitProperties();
+      if (null != readOnlyProperties) {
+        this.readOnlyEmFactory =
+            Persistence.createEntityManagerFactory(readOnlyUnitName, readOnlyProperties);
+      } else {
+        this.readOnlyEmFactory = Persistence.createEntityManagerFactory(readOnlyUnitName);
+      }
+    }
+
+    for (JpaPersistenceUnit persistenceUnit : persistenceUnits) {
+      persistenceUnit.start();
+    }
   }
 
   @Override
@@ -129,6 +227,12 @@ class JpaPersistService implements Provider<EntityManager>, UnitOfWork, PersistS
     if (null != emFactory && emFactory.isOpen()) {
       emFactory.close();
     }
+    for (JpaPersistenceUnit persistenceUnit : persistenceUnits) {
+      persistenceUnit.stop();
+    }
+    if (null != readOnlyEmFactory && readOnlyEmFactory.isOpen()) {
+      readOnlyEmFactory.close();
+    }
   }
 
   @Singleton
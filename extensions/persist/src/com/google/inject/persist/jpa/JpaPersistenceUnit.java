@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.persist.jpa;
+
+import com.google.common.base.Preconditions;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import java.util.Map;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+
+/**
+ * A persistence unit added by {@link JpaPersistModule#addPersistenceUnit}. Its entity managers
+ * share the unit of work of the module's own persistence unit, and are only opened the first time
+ * they are requested in a unit of work.
+ */
+final class JpaPersistenceUnit implements Provider<EntityManager> {
+  private final ThreadLocal<EntityManager> entityManager = new ThreadLocal<>();
+
+  private final String persistenceUnitName;
+  // null if the unit is only configured by its persistence.xml
+  private final Map<?, ?> persistenceProperties;
+
+  private JpaPersistService workManager;
+  private volatile EntityManagerFactory emFactory;
+
+  JpaPersistenceUnit(String persistenceUnitName, Map<?, ?> persistenceProperties) {
+    this.persistenceUnitName = persistenceUnitName;
+    this.persistenceProperties = persistenceProperties;
+  }
+
+  @Inject
+  void setWorkManager(JpaPersistService workManager) {
+    this.workManager = workManager;
+    workManager.addPersistenceUnit(this);
+  }
+
+  @Override
+  public EntityManager get() {
+    EntityManager em = entityManager.get();
+    if (null == em) {
+      // begins the unit of work if configured to, or fails outside of one
+      workManager.checkWorking();
+      Preconditions.checkState(
+          null != emFactory, "Persistence unit %s was not started.", persistenceUnitName);
+      em = emFactory.createEntityManager();
+      entityManager.set(em);
+    }
+    return em;
+  }
+
+  /** Closes the entity manager opened on this thread, if any. */
+  void end() {
+    EntityManager em = entityManager.get();
+    if (null == em) {
+      return;
+    }
+
+    try {
+      em.close();
+    } finally {
+      entityManager.remove();
+    }
+  }
+
+  synchronized void start() {
+    if (null != emFactory) {
+      return;
+    }
+
+    if (null != persistenceProperties) {
+      this.emFactory =
+          Persistence.createEntityManagerFactory(persistenceUnitName, persistenceProperties);
+    } else {
+      this.emFactory = Persistence.createEntityManagerFactory(persistenceUnitName);
+    }
+  }
+
+  synchronized void stop() {
+    if (null != emFactory && emFactory.isOpen()) {
+      emFactory.close();
+    }
+  }
+
+  static class EntityManagerFactoryProvider implements Provider<EntityManagerFactory> {
+    private final JpaPersistenceUnit unit;
+
+    EntityManagerFactoryProvider(JpaPersistenceUnit unit) {
+      this.unit = unit;
+    }
+
+    @Override
+    public EntityManagerFactory get() {
+      assert null != unit.emFactory;
+      return unit.emFactory;
+    }
+  }
+}
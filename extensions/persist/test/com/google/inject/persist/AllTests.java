@@ -21,12 +21,15 @@ import com.google.inject.persist.jpa.CustomPropsEntityManagerFactoryProvisionTes
 import com.google.inject.persist.jpa.EntityManagerFactoryProvisionTest;
 import com.google.inject.persist.jpa.EntityManagerPerRequestProvisionTest;
 import com.google.inject.persist.jpa.EntityManagerProvisionTest;
+import com.google.inject.persist.jpa.FlushPolicyTest;
 import com.google.inject.persist.jpa.JoiningLocalTransactionsTest;
 import com.google.inject.persist.jpa.JpaWorkManagerTest;
 import com.google.inject.persist.jpa.ManagedLocalTransactionsAcrossRequestTest;
 import com.google.inject.persist.jpa.ManagedLocalTransactionsTest;
 import com.google.inject.persist.jpa.ManualLocalTransactionsTest;
 import com.google.inject.persist.jpa.ManualLocalTransactionsWithCustomMatcherTest;
+import com.google.inject.persist.jpa.MultiplePersistenceUnitsTest;
+import com.google.inject.persist.jpa.ReadOnlyTransactionsTest;
 import junit.framework.Test;
 import junit.framework.TestSuite;
 
@@ -42,12 +45,15 @@ public class AllTests {
     suite.addTestSuite(EntityManagerFactoryProvisionTest.class);
     suite.addTestSuite(EntityManagerPerRequestProvisionTest.class);
     suite.addTestSuite(EntityManagerProvisionTest.class);
+    suite.addTestSuite(FlushPolicyTest.class);
     suite.addTestSuite(JoiningLocalTransactionsTest.class);
     suite.addTestSuite(JpaWorkManagerTest.class);
     suite.addTestSuite(ManagedLocalTransactionsAcrossRequestTest.class);
     suite.addTestSuite(ManagedLocalTransactionsTest.class);
     suite.addTestSuite(ManualLocalTransactionsTest.class);
     suite.addTestSuite(ManualLocalTransactionsWithCustomMatcherTest.class);
+    suite.addTestSuite(MultiplePersistenceUnitsTest.class);
+    suite.addTestSuite(ReadOnlyTransactionsTest.class);
 
     return suite;
   }
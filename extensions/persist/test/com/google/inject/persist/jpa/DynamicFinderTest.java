@@ -23,12 +23,18 @@ import com.google.inject.Provider;
 import com.google.inject.persist.PersistService;
 import com.google.inject.persist.Transactional;
 import com.google.inject.persist.UnitOfWork;
+import com.google.inject.name.Named;
 import com.google.inject.persist.finder.Finder;
+import com.google.inject.persist.finder.FirstResult;
+import com.google.inject.persist.finder.MaxResults;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.QueryHint;
 import junit.framework.TestCase;
 
 /**
@@ -71,9 +77,41 @@ public class DynamicFinderTest extends TestCase {
     assertEquals(te, list.get(0));
   }
 
+  public void testDynamicFinderPagingAndStreaming() {
+    JpaDao dao = injector.getInstance(JpaDao.class);
+    String text = "PagedText" + new Date() + UUID.randomUUID();
+    for (int i = 0; i < 3; i++) {
+      JpaTestEntity te = new JpaTestEntity();
+      te.setText(text);
+      dao.persist(te);
+    }
+
+    injector.getInstance(UnitOfWork.class).begin();
+    JpaFinder finder = injector.getInstance(JpaFinder.class);
+    List<JpaTestEntity> all = finder.listByText(text, 0, 10);
+    assertEquals(3, all.size());
+    assertEquals(all.subList(1, 3), finder.listByText(text, 1, 2));
+    assertEquals(all.subList(0, 1), finder.listByTextPositionally(text, 1));
+    try (Stream<JpaTestEntity> stream = finder.streamByText(text)) {
+      assertEquals(all, stream.collect(Collectors.toList()));
+    }
+  }
+
   public static interface JpaFinder {
     @Finder(query = "from JpaTestEntity", returnAs = ArrayList.class)
     public List<JpaTestEntity> listAll();
+
+    @Finder(query = "from JpaTestEntity where text = :text order by id")
+    public List<JpaTestEntity> listByText(
+        @Named("text") String text, @FirstResult int first, @MaxResults int max);
+
+    @Finder(query = "from JpaTestEntity where text = ?1 order by id")
+    public List<JpaTestEntity> listByTextPositionally(String text, @MaxResults int max);
+
+    @Finder(
+        query = "from JpaTestEntity where text = :text order by id",
+        hints = @QueryHint(name = "org.hibernate.fetchSize", value = "2"))
+    public Stream<JpaTestEntity> streamByText(@Named("text") String text);
   }
 
   public static class JpaDao {
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.persist.jpa;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.persist.PersistService;
+import com.google.inject.persist.Transactional;
+import com.google.inject.persist.UnitOfWork;
+import java.util.Date;
+import jakarta.inject.Provider;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import junit.framework.TestCase;
+
+public class FlushPolicyTest extends TestCase {
+  private Injector injector;
+  private static final String UNIQUE_TEXT = FlushPolicyTest.class + "some unique text" + new Date();
+
+  @Override
+  public void setUp() {
+    injector = Guice.createInjector(new JpaPersistModule("testUnit"));
+
+    //startup persistence
+    injector.getInstance(PersistService.class).start();
+  }
+
+  @Override
+  public final void tearDown() {
+    injector.getInstance(UnitOfWork.class).end();
+    injector.getInstance(PersistService.class).stop();
+  }
+
+  public void testBatchesAreFlushedAndCleared() {
+    TransactionalObject txnal = injector.getInstance(TransactionalObject.class);
+
+    assertEquals(1, txnal.persistInBatches(5));
+    assertEquals(5L, txnal.count());
+  }
+
+  public void testFlushModeIsRestored() {
+    injector.getInstance(UnitOfWork.class).begin();
+    EntityManager em = injector.getInstance(EntityManager.class);
+    em.setFlushMode(FlushModeType.AUTO);
+
+    TransactionalObject txnal = injector.getInstance(TransactionalObject.class);
+    assertEquals(FlushModeType.COMMIT, txnal.flushMode());
+    assertEquals(FlushModeType.AUTO, em.getFlushMode());
+
+    txnal.persistInBatches(3);
+    assertSame(em, injector.getInstance(EntityManager.class));
+    assertFalse(em.getTransaction().isActive());
+  }
+
+  public static class TransactionalObject {
+    private final Provider<EntityManager> emProvider;
+
+    @Inject
+    public TransactionalObject(Provider<EntityManager> emProvider) {
+      this.emProvider = emProvider;
+    }
+
+    /** Returns how many of the persisted entities are still managed at the end. */
+    @Transactional
+    @FlushPolicy(batchSize = 2)
+    public int persistInBatches(int count) {
+      EntityManager em = emProvider.get();
+      JpaTestEntity[] entities = new JpaTestEntity[count];
+      for (int i = 0; i < count; i++) {
+        entities[i] = new JpaTestEntity();
+        entities[i].setText(UNIQUE_TEXT);
+        em.persist(entities[i]);
+      }
+      int managed = 0;
+      for (JpaTestEntity entity : entities) {
+        if (em.contains(entity)) {
+          managed++;
+        }
+      }
+      return managed;
+    }
+
+    @Transactional
+    public long count() {
+      return emProvider
+          .get()
+          .createQuery("select count(e) from JpaTestEntity e where text = :text", Long.class)
+          .setParameter("text", UNIQUE_TEXT)
+          .getSingleResult();
+    }
+
+    @Transactional
+    @FlushPolicy(mode = FlushModeType.COMMIT)
+    public FlushModeType flushMode() {
+      return emProvider.get().getFlushMode();
+    }
+  }
+}
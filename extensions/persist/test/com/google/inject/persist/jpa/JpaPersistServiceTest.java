@@ -50,6 +50,8 @@ public class JpaPersistServiceTest extends TestCase {
   public void test_givenErrorOnEntityManagerClose_whenEndIsCalled_thenEntityManagerIsRemoved() {
     sut.start(factory);
     sut.begin();
+    // the entity manager is only opened when it's first requested
+    sut.get();
 
     // arrange an exception on sut.end(), which invokes entityManager.close()
     doThrow(SimulatedException.class).when(entityManager).close();
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.persist.jpa;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.BindingAnnotation;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.persist.PersistService;
+import com.google.inject.persist.UnitOfWork;
+import java.lang.annotation.Retention;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import junit.framework.TestCase;
+import org.hibernate.SessionFactory;
+
+public class MultiplePersistenceUnitsTest extends TestCase {
+  @Retention(RUNTIME)
+  @BindingAnnotation
+  @interface Shard {}
+
+  private static final Key<EntityManager> SHARD_EM = Key.get(EntityManager.class, Shard.class);
+
+  private Injector injector;
+
+  @Override
+  public void setUp() {
+    injector =
+        Guice.createInjector(
+            new JpaPersistModule("testUnit")
+                .properties(ImmutableMap.of("hibernate.generate_statistics", "true"))
+                .addPersistenceUnit(
+                    Shard.class,
+                    "testReadOnlyUnit",
+                    ImmutableMap.of("hibernate.generate_statistics", "true")));
+
+    //startup persistence
+    injector.getInstance(PersistService.class).start();
+  }
+
+  @Override
+  public final void tearDown() {
+    injector.getInstance(UnitOfWork.class).end();
+    injector.getInstance(PersistService.class).stop();
+  }
+
+  public void testEntityManagersShareUnitOfWork() {
+    UnitOfWork unitOfWork = injector.getInstance(UnitOfWork.class);
+
+    unitOfWork.begin();
+    EntityManager em = injector.getInstance(EntityManager.class);
+    EntityManager shardEm = injector.getInstance(SHARD_EM);
+    assertSame(shardEm, injector.getInstance(SHARD_EM));
+    assertNotSame(em.getEntityManagerFactory(), shardEm.getEntityManagerFactory());
+    assertSame(
+        injector.getInstance(Key.get(EntityManagerFactory.class, Shard.class)),
+        shardEm.getEntityManagerFactory());
+    unitOfWork.end();
+
+    assertFalse(em.isOpen());
+    assertFalse(shardEm.isOpen());
+
+    unitOfWork.begin();
+    assertNotSame(shardEm, injector.getInstance(SHARD_EM));
+  }
+
+  public void testEntityManagerIsOnlyOpenedWhenUsed() {
+    UnitOfWork unitOfWork = injector.getInstance(UnitOfWork.class);
+
+    unitOfWork.begin();
+    injector.getInstance(EntityManager.class);
+    unitOfWork.end();
+    assertEquals(0, sessionOpenCount());
+
+    unitOfWork.begin();
+    injector.getInstance(SHARD_EM);
+    unitOfWork.end();
+    assertEquals(1, sessionOpenCount());
+  }
+
+  public void testShardOnlyWorkDoesNotOpenPrimaryEntityManager() {
+    UnitOfWork unitOfWork = injector.getInstance(UnitOfWork.class);
+
+    unitOfWork.begin();
+    EntityManager shardEm = injector.getInstance(SHARD_EM);
+    shardEm.getTransaction().begin();
+    shardEm.getTransaction().commit();
+    unitOfWork.end();
+
+    assertEquals(1, sessionOpenCount());
+    assertEquals(0, sessionOpenCount(Key.get(EntityManagerFactory.class)));
+
+    unitOfWork.begin();
+    injector.getInstance(EntityManager.class);
+    unitOfWork.end();
+    assertEquals(1, sessionOpenCount(Key.get(EntityManagerFactory.class)));
+  }
+
+  public void testEntityManagerOutsideUnitOfWork() {
+    try {
+      injector.getInstance(SHARD_EM);
+      fail("Expected an exception outside of a unit of work");
+    } catch (RuntimeException expected) {
+      assertTrue(expected.getMessage().contains("outside work unit"));
+    }
+  }
+
+  private long sessionOpenCount() {
+    return sessionOpenCount(Key.get(EntityManagerFactory.class, Shard.class));
+  }
+
+  private long sessionOpenCount(Key<EntityManagerFactory> key) {
+    return injector
+        .getInstance(key)
+        .unwrap(SessionFactory.class)
+        .getStatistics()
+        .getSessionOpenCount();
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.persist.jpa;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.persist.PersistService;
+import com.google.inject.persist.Transactional;
+import com.google.inject.persist.UnitOfWork;
+import java.util.Date;
+import jakarta.inject.Provider;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.FlushModeType;
+import junit.framework.TestCase;
+
+public class ReadOnlyTransactionsTest extends TestCase {
+  private Injector injector;
+  private static final String UNIQUE_TEXT =
+      ReadOnlyTransactionsTest.class + "some unique text" + new Date();
+  private static final String CHANGED_TEXT =
+      ReadOnlyTransactionsTest.class + "some changed text" + new Date();
+
+  @Override
+  public void setUp() {
+    injector =
+        Guice.createInjector(
+            new JpaPersistModule(
+                "testUnit",
+                JpaPersistOptions.builder()
+                    .setReadOnlyPersistenceUnitName("testReadOnlyUnit")
+                    .build()));
+
+    //startup persistence
+    injector.getInstance(PersistService.class).start();
+  }
+
+  @Override
+  public final void tearDown() {
+    injector.getInstance(UnitOfWork.class).end();
+    injector.getInstance(PersistService.class).stop();
+  }
+
+  public void testReadOnlyTransactionIsNotFlushed() {
+    TransactionalObject txnal = injector.getInstance(TransactionalObject.class);
+    long id = txnal.persist(UNIQUE_TEXT);
+
+    assertEquals(UNIQUE_TEXT, txnal.changeTextReadOnly(id, CHANGED_TEXT));
+    assertEquals(UNIQUE_TEXT, txnal.find(id));
+
+    txnal.changeText(id, CHANGED_TEXT);
+    assertEquals(CHANGED_TEXT, txnal.find(id));
+  }
+
+  public void testReadOnlyWorkUsesReadOnlyPersistenceUnit() {
+    TransactionalObject txnal = injector.getInstance(TransactionalObject.class);
+    long id = txnal.persist(UNIQUE_TEXT);
+
+    EntityManagerFactory emFactory = injector.getInstance(EntityManagerFactory.class);
+    assertNotSame(emFactory, txnal.entityManagerFactoryReadOnly());
+    assertSame(emFactory, txnal.entityManagerFactory());
+    assertEquals(UNIQUE_TEXT, txnal.findReadOnly(id));
+  }
+
+  public void testReadOnlyTransactionRestoresFlushMode() {
+    injector.getInstance(UnitOfWork.class).begin();
+    EntityManager em = injector.getInstance(EntityManager.class);
+    em.setFlushMode(FlushModeType.AUTO);
+
+    TransactionalObject txnal = injector.getInstance(TransactionalObject.class);
+    assertEquals(FlushModeType.COMMIT, txnal.flushModeReadOnly());
+    assertSame(em.getEntityManagerFactory(), txnal.entityManagerFactoryReadOnly());
+    assertEquals(FlushModeType.AUTO, em.getFlushMode());
+    assertFalse(em.getTransaction().isActive());
+  }
+
+  public void testReadOnlyTransactionKeepsEnclosingUnitOfWork() {
+    TransactionalObject txnal = injector.getInstance(TransactionalObject.class);
+    long id = txnal.persist(UNIQUE_TEXT);
+
+    injector.getInstance(UnitOfWork.class).begin();
+    EntityManager em = injector.getInstance(EntityManager.class);
+    JpaTestEntity entity = em.find(JpaTestEntity.class, id);
+    entity.setText(CHANGED_TEXT);
+
+    txnal.findReadOnly(id);
+    assertTrue(em.contains(entity));
+    assertEquals(CHANGED_TEXT, entity.getText());
+    assertEquals(CHANGED_TEXT, txnal.find(id));
+    injector.getInstance(UnitOfWork.class).end();
+
+    assertEquals(CHANGED_TEXT, txnal.find(id));
+  }
+
+  public static class TransactionalObject {
+    private final Provider<EntityManager> emProvider;
+
+    @Inject
+    public TransactionalObject(Provider<EntityManager> emProvider) {
+      this.emProvider = emProvider;
+    }
+
+    @Transactional
+    public long persist(String text) {
+      JpaTestEntity entity = new JpaTestEntity();
+      entity.setText(text);
+      emProvider.get().persist(entity);
+      return entity.getId();
+    }
+
+    @Transactional
+    public void changeText(long id, String text) {
+      emProvider.get().find(JpaTestEntity.class, id).setText(text);
+    }
+
+    @Transactional(readOnly = true)
+    public String changeTextReadOnly(long id, String text) {
+      EntityManager em = emProvider.get();
+      em.find(JpaTestEntity.class, id).setText(text);
+      // would flush the change first, unless the transaction is read-only
+      return em.createQuery("select e.text from JpaTestEntity e where e.id = :id", String.class)
+          .setParameter("id", id)
+          .getSingleResult();
+    }
+
+    @Transactional
+    public String find(long id) {
+      return emProvider.get().find(JpaTestEntity.class, id).getText();
+    }
+
+    @Transactional(readOnly = true)
+    public String findReadOnly(long id) {
+      return emProvider.get().find(JpaTestEntity.class, id).getText();
+    }
+
+    @Transactional
+    public EntityManagerFactory entityManagerFactory() {
+      return emProvider.get().getEntityManagerFactory();
+    }
+
+    @Transactional(readOnly = true)
+    public EntityManagerFactory entityManagerFactoryReadOnly() {
+      return emProvider.get().getEntityManagerFactory();
+    }
+
+    @Transactional(readOnly = true)
+    public FlushModeType flushModeReadOnly() {
+      return emProvider.get().getFlushMode();
+    }
+  }
+}
@@ -22,10 +22,12 @@ import java.io.IOException;
 import java.util.List;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
+import jakarta.servlet.RequestDispatcher;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
 import jakarta.servlet.http.HttpServletResponse;
 
 /**
@@ -37,16 +39,24 @@ import jakarta.servlet.http.HttpServletResponse;
  *
  * <p>And the end, it proceeds to the web.xml (default) servlet filter chain, if needed.
  *
+ * <p>The pipeline reuses invocations for later requests, unless the request was put into
+ * asynchronous mode. A filter must therefore not use the chain it was given after its {@code
+ * doFilter} returns, other than to continue a request it started asynchronously.
+ *
  * @author Dhanji R. Prasanna
  * @since 1.0
  */
 class FilterChainInvocation implements FilterChain {
 
   private static final ImmutableSet<String> SERVLET_INTERNAL_METHODS =
-      ImmutableSet.of(FilterChainInvocation.class.getName() + ".doFilter");
+      ImmutableSet.of(
+          FilterChainInvocation.class.getName() + ".doFilter",
+          FilterChainInvocation.class.getName() + ".dispatch");
 
   private final FilterDefinition[] filterDefinitions;
-  private final FilterChain proceedingChain;
+  // @Nullable, in which case every filter definition is tried in turn
+  private final UriRoutingTable routes;
+  private FilterChain proceedingChain;
   private final ManagedServletPipeline servletPipeline;
 
   //state variable tracks current link in filterchain
@@ -54,25 +64,89 @@ class FilterChainInvocation implements FilterChain {
   // whether or not we've caught an exception & cleaned up stack traces
   private boolean cleanedStacks = false;
 
+  // indexes of the filters matching matchedRequest, computed once unless a filter wraps the request
+  private int[] matches;
+  private int matchCount;
+  private HttpServletRequest matchedRequest;
+  private String matchedPath;
+
   public FilterChainInvocation(
       FilterDefinition[] filterDefinitions,
       ManagedServletPipeline servletPipeline,
       FilterChain proceedingChain) {
+    this(filterDefinitions, null, servletPipeline, proceedingChain);
+  }
+
+  FilterChainInvocation(
+      FilterDefinition[] filterDefinitions,
+      UriRoutingTable routes,
+      ManagedServletPipeline servletPipeline,
+      FilterChain proceedingChain) {
 
     this.filterDefinitions = filterDefinitions;
+    this.routes = routes;
     this.servletPipeline = servletPipeline;
     this.proceedingChain = proceedingChain;
   }
 
+  /**
+   * Runs a request through the filters, servlets and proceeding chain. Unlike the chain itself, the
+   * invocation can be used for another request once this returns.
+   */
+  void dispatch(ServletRequest request, ServletResponse response, FilterChain proceedingChain)
+      throws IOException, ServletException {
+    this.proceedingChain = proceedingChain;
+    try {
+      doFilter(withDispatcher(request), response);
+    } finally {
+      this.proceedingChain = null;
+      index = -1;
+      cleanedStacks = false;
+      matchCount = 0;
+      matchedRequest = null;
+      matchedPath = null;
+    }
+  }
+
+  /**
+   * Used to create an proxy that dispatches either to the guice-servlet pipeline or the regular
+   * pipeline based on uri-path match. This proxy also provides minimal forwarding support.
+   *
+   * <p>We cannot forward from a web.xml Servlet/JSP to a guice-servlet (because the filter pipeline
+   * is not called again). However, we can wrap requests with our own dispatcher to forward the
+   * *other* way. web.xml Servlets/JSPs can forward to themselves as per normal.
+   *
+   * <p>This is not a problem cuz we intend for people to migrate from web.xml to guice-servlet,
+   * incrementally, but not the other way around (which, we should actively discourage).
+   */
+  private ServletRequest withDispatcher(ServletRequest servletRequest) {
+
+    // don't wrap the request if there are no servlets mapped. This prevents us from inserting our
+    // wrapper unless it's actually going to be used. This is necessary for compatibility for apps
+    // that downcast their HttpServletRequests to a concrete implementation.
+    if (!servletPipeline.hasServletsMapped()) {
+      return servletRequest;
+    }
+
+    // not reused, as the application can hold on to it, e.g. by continuing the request
+    return new DispatcherRequest((HttpServletRequest) servletRequest, servletPipeline);
+  }
+
   @Override
   public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse)
       throws IOException, ServletException {
     GuiceFilter.Context previous = GuiceFilter.localContext.get();
     HttpServletRequest request = (HttpServletRequest) servletRequest;
     HttpServletResponse response = (HttpServletResponse) servletResponse;
-    HttpServletRequest originalRequest =
-        (previous != null) ? previous.getOriginalRequest() : request;
-    GuiceFilter.localContext.set(new GuiceFilter.Context(originalRequest, request, response));
+    // filters usually pass on the request and response they were given, which can keep their context
+    GuiceFilter.Context context = previous;
+    if (previous == null || previous.request != request || previous.response != response) {
+      context =
+          (previous != null)
+              ? previous.derive(request, response)
+              : new GuiceFilter.Context(request, request, response);
+      GuiceFilter.localContext.set(context);
+    }
     try {
       Filter filter = findNextFilter(request);
       if (filter != null) {
@@ -82,7 +156,10 @@ class FilterChainInvocation implements FilterChain {
         filter.doFilter(servletRequest, servletResponse, this);
       } else {
         //we've reached the end of the filterchain, let's try to dispatch to a servlet
-        final boolean serviced = servletPipeline.service(servletRequest, servletResponse);
+        final boolean serviced =
+            (request == matchedRequest)
+                ? servletPipeline.service(servletRequest, servletResponse, matchedPath)
+                : servletPipeline.service(servletRequest, servletResponse);
 
         //dispatch to the normal filter chain only if one of our servlets did not match
         if (!serviced) {
@@ -101,7 +178,9 @@ class FilterChainInvocation implements FilterChain {
       Throwables.propagateIfInstanceOf(t, IOException.class);
       throw Throwables.propagate(t);
     } finally {
-      GuiceFilter.localContext.set(previous);
+      if (context != previous) {
+        GuiceFilter.localContext.set(previous);
+      }
     }
   }
 
@@ -110,12 +189,35 @@ class FilterChainInvocation implements FilterChain {
    * none apply.
    */
   private Filter findNextFilter(HttpServletRequest request) {
-    while (++index < filterDefinitions.length) {
-      Filter filter = filterDefinitions[index].getFilterIfMatching(request);
-      if (filter != null) {
-        return filter;
+    if (routes == null) {
+      while (++index < filterDefinitions.length) {
+        Filter filter = filterDefinitions[index].getFilterIfMatching(request);
+        if (filter != null) {
+          return filter;
+        }
+      }
+      return null;
+    }
+
+    // filters may pass a wrapped request down the chain, so only reuse matches for the same request
+    if (request != matchedRequest) {
+      if (matches == null) {
+        matches = new int[routes.size()];
       }
+      matchedPath = ServletUtils.getContextRelativePath(request);
+      matchedRequest = request;
+      matchCount = routes.match(matchedPath, matches);
     }
+    for (int i = 0; i < matchCount; i++) {
+      if (matches[i] > index) {
+        index = matches[i];
+        Filter filter = filterDefinitions[index].getFilter();
+        if (filter != null) {
+          return filter;
+        }
+      }
+    }
+    index = filterDefinitions.length;
     return null;
   }
 
@@ -136,4 +238,22 @@ class FilterChainInvocation implements FilterChain {
       t.setStackTrace(pruned.toArray(new StackTraceElement[pruned.size()]));
     }
   }
+
+  /** Lets requests be dispatched to the guice-servlet pipeline. */
+  @SuppressWarnings("deprecation")
+  private static class DispatcherRequest extends HttpServletRequestWrapper {
+    private final ManagedServletPipeline servletPipeline;
+
+    DispatcherRequest(HttpServletRequest request, ManagedServletPipeline servletPipeline) {
+      super(request);
+      this.servletPipeline = servletPipeline;
+    }
+
+    @Override
+    public RequestDispatcher getRequestDispatcher(String path) {
+      final RequestDispatcher dispatcher = servletPipeline.getRequestDispatcher(path);
+
+      return (null != dispatcher) ? dispatcher : super.getRequestDispatcher(path);
+    }
+  }
 }
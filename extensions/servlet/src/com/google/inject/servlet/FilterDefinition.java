@@ -167,4 +167,8 @@ class FilterDefinition implements ProviderWithExtensionVisitor<FilterDefinition>
   Filter getFilter() {
     return filter.get();
   }
+
+  UriPatternMatcher getPatternMatcher() {
+    return patternMatcher;
+  }
 }
@@ -42,4 +42,17 @@ interface FilterPipeline {
 
   void dispatch(ServletRequest request, ServletResponse response, FilterChain defaultFilterChain)
       throws IOException, ServletException;
+
+  /**
+   * Returns the storage for the request-scoped objects of a new request, or null to store them as
+   * request attributes.
+   */
+  default RequestScopeStorage newRequestScopeStorage() {
+    return null;
+  }
+
+  /** Returns true if session-scoped objects are kept in a concurrent map in the session. */
+  default boolean usesConcurrentSessionScope() {
+    return false;
+  }
 }
@@ -80,6 +80,9 @@ public class GuiceFilter implements Filter {
           + "ignore this message. If this is NOT deliberate however, "
           + "your application may not work as expected.";
 
+  /** Request attribute holding the request-scope storage of an asynchronous request. */
+  private static final String ASYNC_STORAGE_ATTRIBUTE = RequestScopeStorage.class.getName();
+
   private static final Logger LOGGER = Logger.getLogger(GuiceFilter.class.getName());
 
   public GuiceFilter() {
@@ -124,15 +127,28 @@ public class GuiceFilter implements Filter {
     Context previous = GuiceFilter.localContext.get();
     HttpServletRequest request = (HttpServletRequest) servletRequest;
     HttpServletResponse response = (HttpServletResponse) servletResponse;
-    HttpServletRequest originalRequest =
-        (previous != null) ? previous.getOriginalRequest() : request;
+    // nested dispatches of the same request share its request-scoped objects
+    Context context =
+        (previous != null)
+            ? previous.derive(request, response)
+            : new Context(
+                request,
+                request,
+                response,
+                getRequestScopeStorage(filterPipeline, request),
+                filterPipeline.usesConcurrentSessionScope());
     try {
-      RequestScoper.CloseableScope scope = new Context(originalRequest, request, response).open();
+      // same as opening the context, without allocating a scope to close
+      context.enter();
       try {
         //dispatch across the servlet pipeline, ensuring web.xml's filterchain is honored
         filterPipeline.dispatch(servletRequest, servletResponse, filterChain);
       } finally {
-        scope.close();
+        context.exit(previous);
+      }
+      if (context.storage != null && previous == null && request.isAsyncStarted()) {
+        // keep request-scoped objects for the async dispatches of the request, like attributes
+        request.setAttribute(ASYNC_STORAGE_ATTRIBUTE, context.storage);
       }
     } catch (IOException e) {
       throw e;
@@ -143,6 +159,22 @@ public class GuiceFilter implements Filter {
     }
   }
 
+  /**
+   * Returns the storage for the request-scoped objects of a new dispatch, which is the storage of
+   * earlier dispatches if the request went async.
+   */
+  private static RequestScopeStorage getRequestScopeStorage(
+      FilterPipeline filterPipeline, HttpServletRequest request) {
+    RequestScopeStorage storage = filterPipeline.newRequestScopeStorage();
+    if (storage != null) {
+      Object asyncStorage = request.getAttribute(ASYNC_STORAGE_ATTRIBUTE);
+      if (asyncStorage instanceof RequestScopeStorage) {
+        return (RequestScopeStorage) asyncStorage;
+      }
+    }
+    return storage;
+  }
+
   static HttpServletRequest getOriginalRequest(Key<?> key) {
     return getContext(key).getOriginalRequest();
   }
@@ -159,7 +191,7 @@ public class GuiceFilter implements Filter {
     return servletContext.get();
   }
 
-  private static Context getContext(Key<?> key) {
+  static Context getContext(Key<?> key) {
     Context context = localContext.get();
     if (context == null) {
       throw new OutOfScopeException(
@@ -177,6 +209,10 @@ public class GuiceFilter implements Filter {
     final HttpServletRequest originalRequest;
     final HttpServletRequest request;
     final HttpServletResponse response;
+    // null if request-scoped objects are stored as attributes of the original request
+    final RequestScopeStorage storage;
+    // whether session-scoped objects are kept in a concurrent map rather than as session attributes
+    final boolean concurrentSessions;
 
     // Synchronized to prevent two threads from using the same request
     // scope concurrently.
@@ -186,9 +222,25 @@ public class GuiceFilter implements Filter {
         HttpServletRequest originalRequest,
         HttpServletRequest request,
         HttpServletResponse response) {
+      this(originalRequest, request, response, null, false);
+    }
+
+    Context(
+        HttpServletRequest originalRequest,
+        HttpServletRequest request,
+        HttpServletResponse response,
+        RequestScopeStorage storage,
+        boolean concurrentSessions) {
       this.originalRequest = originalRequest;
       this.request = request;
       this.response = response;
+      this.storage = storage;
+      this.concurrentSessions = concurrentSessions;
+    }
+
+    /** Returns a context for the same request, as passed on by a filter or servlet. */
+    Context derive(HttpServletRequest request, HttpServletResponse response) {
+      return new Context(originalRequest, request, response, storage, concurrentSessions);
     }
 
     HttpServletRequest getOriginalRequest() {
@@ -205,17 +257,27 @@ public class GuiceFilter implements Filter {
 
     @Override
     public CloseableScope open() {
-      lock.lock();
-      final Context previous = localContext.get();
-      localContext.set(this);
+      final Context previous = enter();
       return new CloseableScope() {
         @Override
         public void close() {
-          localContext.set(previous);
-          lock.unlock();
+          exit(previous);
         }
       };
     }
+
+    /** Makes this the current context, returning the previous one to restore on exit. */
+    Context enter() {
+      lock.lock();
+      Context previous = localContext.get();
+      localContext.set(this);
+      return previous;
+    }
+
+    void exit(Context previous) {
+      localContext.set(previous);
+      lock.unlock();
+    }
   }
 
   @Override
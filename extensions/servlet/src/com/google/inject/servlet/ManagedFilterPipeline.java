@@ -20,21 +20,22 @@ import com.google.common.collect.Sets;
 import com.google.inject.Binding;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
+import com.google.inject.Key;
 import com.google.inject.Provider;
+import com.google.inject.Scopes;
 import com.google.inject.Singleton;
 import com.google.inject.TypeLiteral;
 import java.io.IOException;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
-import jakarta.servlet.RequestDispatcher;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletRequestWrapper;
 
 /**
  * Central routing/dispatch class handles lifecycle of managed filters, and delegates to the servlet
@@ -45,6 +46,12 @@ import jakarta.servlet.http.HttpServletRequestWrapper;
 @Singleton
 class ManagedFilterPipeline implements FilterPipeline {
   private final FilterDefinition[] filterDefinitions;
+  private final UriRoutingTable routes;
+  // slots of this injector's request-scoped keys
+  private final RequestScopeStorage.Slots requestScopeSlots = new RequestScopeStorage.Slots();
+  // null unless request-scoped objects are stored in slots
+  private final BitSet requestScopeAttributeSlots;
+  private final boolean concurrentSessionScope;
   private final ManagedServletPipeline servletPipeline;
   private final Provider<ServletContext> servletContext;
 
@@ -53,8 +60,21 @@ class ManagedFilterPipeline implements FilterPipeline {
 
   //Guards a DCL, so needs to be volatile
   private volatile boolean initialized = false;
+  /**
+   * Invocations that can be reused by the next requests, so dispatching a request doesn't allocate
+   * the chain's state. Threads look for a free slot near one picked from their identity hash.
+   */
+  private final AtomicReferenceArray<FilterChainInvocation> idleInvocations =
+      new AtomicReferenceArray<>(
+          Integer.highestOneBit(Math.max(8, 4 * Runtime.getRuntime().availableProcessors())));
+
+  private static final int IDLE_INVOCATION_PROBES = 4;
   private static final TypeLiteral<FilterDefinition> FILTER_DEFS =
       TypeLiteral.get(FilterDefinition.class);
+  private static final TypeLiteral<RequestScopeStorage.Settings> REQUEST_SCOPE_SETTINGS =
+      TypeLiteral.get(RequestScopeStorage.Settings.class);
+  private static final TypeLiteral<ServletScopes.SessionObjects.Settings> SESSION_SCOPE_SETTINGS =
+      TypeLiteral.get(ServletScopes.SessionObjects.Settings.class);
 
   @Inject
   public ManagedFilterPipeline(
@@ -66,6 +86,10 @@ class ManagedFilterPipeline implements FilterPipeline {
     this.servletContext = servletContext;
 
     this.filterDefinitions = collectFilterDefinitions(injector);
+    this.routes = compileRoutes(filterDefinitions);
+    this.requestScopeAttributeSlots =
+        collectRequestScopeAttributeSlots(injector, requestScopeSlots);
+    this.concurrentSessionScope = !injector.findBindingsByType(SESSION_SCOPE_SETTINGS).isEmpty();
   }
 
   /**
@@ -85,6 +109,40 @@ class ManagedFilterPipeline implements FilterPipeline {
     return filterDefinitions.toArray(new FilterDefinition[filterDefinitions.size()]);
   }
 
+  /**
+   * Returns the slots of request-scoped keys that should be visible as request attributes, or null
+   * if no module asked for request-scoped objects to be stored in slots. The explicitly bound
+   * request-scoped keys are given their slots up front, so requests start with full-size storage.
+   */
+  private static BitSet collectRequestScopeAttributeSlots(
+      Injector injector, RequestScopeStorage.Slots slots) {
+    List<Binding<RequestScopeStorage.Settings>> bindings =
+        injector.findBindingsByType(REQUEST_SCOPE_SETTINGS);
+    if (bindings.isEmpty()) {
+      return null;
+    }
+    for (Binding<?> binding : injector.getAllBindings().values()) {
+      if (Scopes.isScoped(binding, ServletScopes.REQUEST, RequestScoped.class)) {
+        slots.slotOf(binding.getKey());
+      }
+    }
+    BitSet attributeSlots = new BitSet();
+    for (Binding<RequestScopeStorage.Settings> binding : bindings) {
+      for (Key<?> key : binding.getProvider().get().attributeKeys) {
+        attributeSlots.set(slots.slotOf(key).index);
+      }
+    }
+    return attributeSlots;
+  }
+
+  private static UriRoutingTable compileRoutes(FilterDefinition[] filterDefinitions) {
+    List<UriPatternMatcher> patternMatchers = Lists.newArrayList();
+    for (FilterDefinition filterDefinition : filterDefinitions) {
+      patternMatchers.add(filterDefinition.getPatternMatcher());
+    }
+    return UriRoutingTable.compile(patternMatchers);
+  }
+
   @Override
   public synchronized void initPipeline(ServletContext servletContext) throws ServletException {
 
@@ -117,43 +175,49 @@ class ManagedFilterPipeline implements FilterPipeline {
     }
 
     //obtain the servlet pipeline to dispatch against
-    new FilterChainInvocation(filterDefinitions, servletPipeline, proceedingFilterChain)
-        .doFilter(withDispatcher(request, servletPipeline), response);
+    FilterChainInvocation invocation = acquireInvocation();
+    invocation.dispatch(request, response, proceedingFilterChain);
+    // a request that went async may still be continued through the chain its filters were given
+    if (!request.isAsyncStarted()) {
+      releaseInvocation(invocation);
+    }
   }
 
-  /**
-   * Used to create an proxy that dispatches either to the guice-servlet pipeline or the regular
-   * pipeline based on uri-path match. This proxy also provides minimal forwarding support.
-   *
-   * <p>We cannot forward from a web.xml Servlet/JSP to a guice-servlet (because the filter pipeline
-   * is not called again). However, we can wrap requests with our own dispatcher to forward the
-   * *other* way. web.xml Servlets/JSPs can forward to themselves as per normal.
-   *
-   * <p>This is not a problem cuz we intend for people to migrate from web.xml to guice-servlet,
-   * incrementally, but not the other way around (which, we should actively discourage).
-   */
-  @SuppressWarnings({"JavaDoc", "deprecation"})
-  private ServletRequest withDispatcher(
-      ServletRequest servletRequest, final ManagedServletPipeline servletPipeline) {
-
-    // don't wrap the request if there are no servlets mapped. This prevents us from inserting our
-    // wrapper unless it's actually going to be used. This is necessary for compatibility for apps
-    // that downcast their HttpServletRequests to a concrete implementation.
-    if (!servletPipeline.hasServletsMapped()) {
-      return servletRequest;
+  /** Returns an idle invocation, or a new one if none of the probed slots has one. */
+  private FilterChainInvocation acquireInvocation() {
+    int start = System.identityHashCode(Thread.currentThread());
+    for (int i = 0; i < IDLE_INVOCATION_PROBES; i++) {
+      int slot = (start + i) & (idleInvocations.length() - 1);
+      FilterChainInvocation invocation = idleInvocations.get(slot);
+      if (invocation != null && idleInvocations.compareAndSet(slot, invocation, null)) {
+        return invocation;
+      }
     }
+    return new FilterChainInvocation(filterDefinitions, routes, servletPipeline, null);
+  }
 
-    HttpServletRequest request = (HttpServletRequest) servletRequest;
-    //noinspection OverlyComplexAnonymousInnerClass
-    return new HttpServletRequestWrapper(request) {
+  /** Keeps the invocation for another request, unless the probed slots are all taken. */
+  private void releaseInvocation(FilterChainInvocation invocation) {
+    int start = System.identityHashCode(Thread.currentThread());
+    for (int i = 0; i < IDLE_INVOCATION_PROBES; i++) {
+      int slot = (start + i) & (idleInvocations.length() - 1);
+      if (idleInvocations.get(slot) == null
+          && idleInvocations.compareAndSet(slot, null, invocation)) {
+        return;
+      }
+    }
+  }
 
-      @Override
-      public RequestDispatcher getRequestDispatcher(String path) {
-        final RequestDispatcher dispatcher = servletPipeline.getRequestDispatcher(path);
+  @Override
+  public RequestScopeStorage newRequestScopeStorage() {
+    return (requestScopeAttributeSlots != null)
+        ? new RequestScopeStorage(requestScopeSlots, requestScopeAttributeSlots)
+        : null;
+  }
 
-        return (null != dispatcher) ? dispatcher : super.getRequestDispatcher(path);
-      }
-    };
+  @Override
+  public boolean usesConcurrentSessionScope() {
+    return concurrentSessionScope;
   }
 
   @Override
@@ -44,12 +44,19 @@ import jakarta.servlet.http.HttpServletRequestWrapper;
 @Singleton
 class ManagedServletPipeline {
   private final ServletDefinition[] servletDefinitions;
+  private final UriRoutingTable routes;
   private static final TypeLiteral<ServletDefinition> SERVLET_DEFS =
       TypeLiteral.get(ServletDefinition.class);
 
   @Inject
   public ManagedServletPipeline(Injector injector) {
     this.servletDefinitions = collectServletDefinitions(injector);
+
+    List<UriPatternMatcher> patternMatchers = Lists.newArrayList();
+    for (ServletDefinition servletDefinition : servletDefinitions) {
+      patternMatchers.add(servletDefinition.getPatternMatcher());
+    }
+    this.routes = UriRoutingTable.compile(patternMatchers);
   }
 
   boolean hasServletsMapped() {
@@ -84,15 +91,22 @@ class ManagedServletPipeline {
   public boolean service(ServletRequest request, ServletResponse response)
       throws IOException, ServletException {
 
+    return service(
+        request, response, ServletUtils.getContextRelativePath((HttpServletRequest) request));
+  }
+
+  /** Services the request, whose context-relative path has already been computed. */
+  boolean service(ServletRequest request, ServletResponse response, String path)
+      throws IOException, ServletException {
+
     //stop at the first matching servlet and service
-    for (ServletDefinition servletDefinition : servletDefinitions) {
-      if (servletDefinition.service(request, response)) {
-        return true;
-      }
+    int match = routes.firstMatch(path);
+    if (match < 0) {
+      //there was no match...
+      return false;
     }
-
-    //there was no match...
-    return false;
+    servletDefinitions[match].doService(request, response);
+    return true;
   }
 
   public void destroy() {
@@ -112,60 +126,60 @@ class ManagedServletPipeline {
     // TODO(user): check servlet spec to see if the following is legal or not.
     // Need to strip query string if requested...
 
-    for (final ServletDefinition servletDefinition : servletDefinitions) {
-      if (servletDefinition.shouldServe(path)) {
-        return new RequestDispatcher() {
-          @Override
-          public void forward(ServletRequest servletRequest, ServletResponse servletResponse)
-              throws ServletException, IOException {
-            Preconditions.checkState(
-                !servletResponse.isCommitted(),
-                "Response has been committed--you can only call forward before"
-                    + " committing the response (hint: don't flush buffers)");
-
-            // clear buffer before forwarding
-            servletResponse.resetBuffer();
-
-            ServletRequest requestToProcess;
-            if (servletRequest instanceof HttpServletRequest) {
-              requestToProcess = wrapRequest((HttpServletRequest) servletRequest, newRequestUri);
-            } else {
-              // This should never happen, but instead of throwing an exception
-              // we will allow a happy case pass thru for maximum tolerance to
-              // legacy (and internal) code.
-              requestToProcess = servletRequest;
-            }
-
-            // now dispatch to the servlet
-            doServiceImpl(servletDefinition, requestToProcess, servletResponse);
-          }
-
-          @Override
-          public void include(ServletRequest servletRequest, ServletResponse servletResponse)
-              throws ServletException, IOException {
-            // route to the target servlet
-            doServiceImpl(servletDefinition, servletRequest, servletResponse);
-          }
-
-          private void doServiceImpl(
-              ServletDefinition servletDefinition,
-              ServletRequest servletRequest,
-              ServletResponse servletResponse)
-              throws ServletException, IOException {
-            servletRequest.setAttribute(REQUEST_DISPATCHER_REQUEST, Boolean.TRUE);
-
-            try {
-              servletDefinition.doService(servletRequest, servletResponse);
-            } finally {
-              servletRequest.removeAttribute(REQUEST_DISPATCHER_REQUEST);
-            }
-          }
-        };
-      }
+    int match = routes.firstMatch(path);
+    if (match < 0) {
+      //otherwise, can't process
+      return null;
     }
 
-    //otherwise, can't process
-    return null;
+    final ServletDefinition servletDefinition = servletDefinitions[match];
+    return new RequestDispatcher() {
+      @Override
+      public void forward(ServletRequest servletRequest, ServletResponse servletResponse)
+          throws ServletException, IOException {
+        Preconditions.checkState(
+            !servletResponse.isCommitted(),
+            "Response has been committed--you can only call forward before"
+                + " committing the response (hint: don't flush buffers)");
+
+        // clear buffer before forwarding
+        servletResponse.resetBuffer();
+
+        ServletRequest requestToProcess;
+        if (servletRequest instanceof HttpServletRequest) {
+          requestToProcess = wrapRequest((HttpServletRequest) servletRequest, newRequestUri);
+        } else {
+          // This should never happen, but instead of throwing an exception
+          // we will allow a happy case pass thru for maximum tolerance to
+          // legacy (and internal) code.
+          requestToProcess = servletRequest;
+        }
+
+        // now dispatch to the servlet
+        doServiceImpl(servletDefinition, requestToProcess, servletResponse);
+      }
+
+      @Override
+      public void include(ServletRequest servletRequest, ServletResponse servletResponse)
+          throws ServletException, IOException {
+        // route to the target servlet
+        doServiceImpl(servletDefinition, servletRequest, servletResponse);
+      }
+
+      private void doServiceImpl(
+          ServletDefinition servletDefinition,
+          ServletRequest servletRequest,
+          ServletResponse servletResponse)
+          throws ServletException, IOException {
+        servletRequest.setAttribute(REQUEST_DISPATCHER_REQUEST, Boolean.TRUE);
+
+        try {
+          servletDefinition.doService(servletRequest, servletResponse);
+        } finally {
+          servletRequest.removeAttribute(REQUEST_DISPATCHER_REQUEST);
+        }
+      }
+    };
   }
 
   // visible for testing
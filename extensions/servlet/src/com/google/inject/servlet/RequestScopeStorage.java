@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.servlet;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.Scopes;
+import com.google.inject.servlet.ServletScopes.NullObject;
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Holds the request-scoped objects of one HTTP request in an array, instead of as attributes of the
+ * request. Enabled by {@link ServletModule#useRequestScopeSlots}.
+ *
+ * <p>Every key scoped by {@link ServletScopes#REQUEST} is given a slot in the array by the {@link
+ * Slots} of the filter pipeline, so looking up an object doesn't need to build its attribute name
+ * or hash it. Objects that already exist are read without locking; objects are created while
+ * holding the storage's lock, so concurrent threads of the same request still see a single
+ * instance.
+ */
+final class RequestScopeStorage {
+
+  /**
+   * Assigns slots to the request-scoped keys of one filter pipeline, and so of one injector. The
+   * keys are only referenced by the pipeline, and are released with its injector.
+   */
+  static final class Slots {
+    private final ConcurrentMap<Key<?>, Slot> slotsByKey = new ConcurrentHashMap<>();
+    private final AtomicInteger slotCount = new AtomicInteger();
+
+    /** Returns the slot of the key, assigning the next free one if it doesn't have one yet. */
+    Slot slotOf(Key<?> key) {
+      Slot slot = slotsByKey.get(key);
+      return slot != null
+          ? slot
+          : slotsByKey.computeIfAbsent(key, unused -> new Slot(this, slotCount.getAndIncrement()));
+    }
+
+    int size() {
+      return slotCount.get();
+    }
+  }
+
+  /** A slot of a key, which the scoped provider of the key keeps for the next lookup. */
+  static final class Slot {
+    final Slots slots;
+    final int index;
+
+    Slot(Slots slots, int index) {
+      this.slots = slots;
+      this.index = index;
+    }
+  }
+
+  final Slots slots;
+
+  /** Slots whose objects are also set as request attributes. */
+  private final BitSet attributeSlots;
+
+  /** Replaced by a larger array when keys are scoped after the request started. */
+  private volatile AtomicReferenceArray<Object> values;
+
+  RequestScopeStorage(Slots slots, BitSet attributeSlots) {
+    this.slots = slots;
+    this.attributeSlots = attributeSlots;
+    this.values = new AtomicReferenceArray<>(slots.size());
+  }
+
+  /** Returns new storage, for another request, that mirrors the same attributes. */
+  RequestScopeStorage newStorage() {
+    return new RequestScopeStorage(slots, attributeSlots);
+  }
+
+  /**
+   * Returns the object in the slot, creating it if necessary. The object is also set as a request
+   * attribute if its key was requested to be visible as an attribute.
+   */
+  <T> T get(int slot, String name, HttpServletRequest request, Provider<T> creator) {
+    Object obj = valueAt(slot);
+    if (obj == null) {
+      synchronized (this) {
+        obj = valueAt(slot);
+        if (obj == null) {
+          T t = creator.get();
+          if (Scopes.isCircularProxy(t)) {
+            return t;
+          }
+          // Store a sentinel for provider-given null values.
+          obj = (t != null) ? t : NullObject.INSTANCE;
+          set(slot, obj);
+          if (attributeSlots.get(slot)) {
+            request.setAttribute(name, obj);
+          }
+        }
+      }
+    }
+    if (NullObject.INSTANCE == obj) {
+      return null;
+    }
+    @SuppressWarnings("unchecked")
+    T t = (T) obj;
+    return t;
+  }
+
+  /** Seeds the object of the key, which must already be canonicalized. */
+  synchronized void seed(Key<?> key, Object value) {
+    set(slots.slotOf(key).index, value);
+  }
+
+  private Object valueAt(int slot) {
+    AtomicReferenceArray<Object> values = this.values;
+    return slot < values.length() ? values.get(slot) : null;
+  }
+
+  /** Must be called while holding the lock. */
+  private void set(int slot, Object value) {
+    AtomicReferenceArray<Object> values = this.values;
+    if (slot >= values.length()) {
+      AtomicReferenceArray<Object> grown =
+          new AtomicReferenceArray<>(Math.max(slot + 1, slots.size()));
+      for (int i = 0; i < values.length(); i++) {
+        grown.set(i, values.get(i));
+      }
+      this.values = values = grown;
+    }
+    values.set(slot, value);
+  }
+
+  /** Bound by {@link ServletModule#useRequestScopeSlots}. */
+  static final class Settings {
+    final ImmutableSet<Key<?>> attributeKeys;
+
+    Settings(ImmutableSet<Key<?>> attributeKeys) {
+      this.attributeKeys = attributeKeys;
+    }
+  }
+}
@@ -95,6 +95,10 @@ class ServletDefinition implements ProviderWithExtensionVisitor<ServletDefinitio
     return uri != null && patternMatcher.matches(uri);
   }
 
+  UriPatternMatcher getPatternMatcher() {
+    return patternMatcher;
+  }
+
   public void init(
       final ServletContext servletContext, Injector injector, Set<HttpServlet> initializedSoFar)
       throws ServletException {
@@ -286,9 +290,10 @@ class ServletDefinition implements ProviderWithExtensionVisitor<ServletDefinitio
   private void doServiceImpl(HttpServletRequest request, HttpServletResponse response)
       throws ServletException, IOException {
     GuiceFilter.Context previous = GuiceFilter.localContext.get();
-    HttpServletRequest originalRequest =
-        (previous != null) ? previous.getOriginalRequest() : request;
-    GuiceFilter.localContext.set(new GuiceFilter.Context(originalRequest, request, response));
+    GuiceFilter.localContext.set(
+        (previous != null)
+            ? previous.derive(request, response)
+            : new GuiceFilter.Context(request, request, response));
     try {
       httpServlet.get().service(request, response);
     } finally {
@@ -19,8 +19,10 @@ package com.google.inject.servlet;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.inject.AbstractModule;
 import com.google.inject.Key;
+import com.google.inject.internal.UniqueAnnotations;
 import java.util.Map;
 import jakarta.servlet.Filter;
 import jakarta.servlet.ServletContext;
@@ -318,6 +320,50 @@ public class ServletModule extends AbstractModule {
     return getServletModuleBuilder().serveRegex(ImmutableList.copyOf(regexes));
   }
 
+  /**
+   * Stores the objects of {@link RequestScoped} bindings in an array held by the HTTP request's
+   * scope, instead of as attributes of the request. This avoids building an attribute name for
+   * every lookup and locking the request while reading its attributes, which adds up when a request
+   * uses many request-scoped objects.
+   *
+   * <p>Objects are no longer visible as request attributes, except for the objects of {@code
+   * attributeKeys}, which are also set as attributes named by {@link Key#toString()} for code that
+   * reads them from the request. Values seeded by setting request attributes directly are not seen
+   * by the scope.
+   *
+   * @since 7.0
+   */
+  protected final void useRequestScopeSlots(Key<?>... attributeKeys) {
+    checkState(
+        filtersModuleBuilder != null, "This method can only be used inside configureServlets()");
+    binder()
+        .bind(RequestScopeStorage.Settings.class)
+        .annotatedWith(UniqueAnnotations.create())
+        .toInstance(new RequestScopeStorage.Settings(ImmutableSet.copyOf(attributeKeys)));
+  }
+
+  /**
+   * Stores the objects of {@link SessionScoped} bindings in a concurrent map held by a single
+   * attribute of the HTTP session, instead of as one attribute each. Existing objects are then read
+   * without locking the session, so concurrent requests of the same session don't wait for each
+   * other; an object is created at most once per session, while holding a lock of the session's
+   * objects rather than of the session.
+   *
+   * <p>Objects are no longer visible as session attributes named by {@link Key#toString()}. Since
+   * the map is changed in place, containers that replicate sessions only when attributes are set may
+   * not see objects created after the first one.
+   *
+   * @since 7.0
+   */
+  protected final void useConcurrentSessionScope() {
+    checkState(
+        filtersModuleBuilder != null, "This method can only be used inside configureServlets()");
+    binder()
+        .bind(ServletScopes.SessionObjects.Settings.class)
+        .annotatedWith(UniqueAnnotations.create())
+        .toInstance(new ServletScopes.SessionObjects.Settings());
+  }
+
   /**
    * This method only works if you are using the {@linkplain GuiceServletContextListener} to create
    * your injector. Otherwise, it returns null.
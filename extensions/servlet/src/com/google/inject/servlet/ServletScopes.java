@@ -26,10 +26,20 @@ import com.google.inject.OutOfScopeException;
 import com.google.inject.Provider;
 import com.google.inject.Scope;
 import com.google.inject.Scopes;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
@@ -59,16 +69,20 @@ public final class ServletScopes {
   public static final Scope REQUEST = new RequestScope();
 
   private static final class RequestScope implements Scope {
+    /** Keys bound in request-scope which are handled directly by GuiceFilter. */
+    private static final ImmutableSet<Key<?>> REQUEST_CONTEXT_KEYS =
+        ImmutableSet.of(
+            Key.get(HttpServletRequest.class),
+            Key.get(HttpServletResponse.class),
+            new Key<Map<String, String[]>>(RequestParameters.class) {});
+
     @Override
     public <T> Provider<T> scope(final Key<T> key, final Provider<T> creator) {
+      final String name = key.toString();
+      final boolean requestContextKey = REQUEST_CONTEXT_KEYS.contains(key);
       return new Provider<T>() {
-
-        /** Keys bound in request-scope which are handled directly by GuiceFilter. */
-        private final ImmutableSet<Key<?>> REQUEST_CONTEXT_KEYS =
-            ImmutableSet.of(
-                Key.get(HttpServletRequest.class),
-                Key.get(HttpServletResponse.class),
-                new Key<Map<String, String[]>>(RequestParameters.class) {});
+        /** The key's slot in the slots it was last stored with, usually the only ones. */
+        private volatile RequestScopeStorage.Slot slot;
 
         @Override
         public T get() {
@@ -76,44 +90,59 @@ public final class ServletScopes {
           // request is in progress.
           if (null == GuiceFilter.localContext.get()) {
 
-            // NOTE(user): We don't need to synchronize on the scope map
-            // unlike the HTTP request because we're the only ones who have
-            // a reference to it, and it is only available via a threadlocal.
+            // NOTE(user): The scope map is only available via a threadlocal,
+            // but the scope may be shared with tasks of propagatingRequestScope()
+            // executors, so objects are created while holding the context's lock.
             Context context = requestScopeContext.get();
             if (null != context) {
               @SuppressWarnings("unchecked")
               T t = (T) context.map.get(key);
 
+              if (t == null) {
+                synchronized (context) {
+                  @SuppressWarnings("unchecked")
+                  T existing = (T) context.map.get(key);
+                  t = existing;
+                  if (t == null) {
+                    t = creator.get();
+                    if (!Scopes.isCircularProxy(t)) {
+                      // Store a sentinel for provider-given null values.
+                      context.map.put(key, t != null ? t : NullObject.INSTANCE);
+                    }
+                  }
+                }
+              }
+
               // Accounts for @Nullable providers.
               if (NullObject.INSTANCE == t) {
                 return null;
               }
 
-              if (t == null) {
-                t = creator.get();
-                if (!Scopes.isCircularProxy(t)) {
-                  // Store a sentinel for provider-given null values.
-                  context.map.put(key, t != null ? t : NullObject.INSTANCE);
-                }
-              }
-
               return t;
             } // else: fall into normal HTTP request scope and out of scope
             // exception is thrown.
           }
 
-          // Always synchronize and get/set attributes on the underlying request
-          // object since Filters may wrap the request and change the value of
-          // {@code GuiceFilter.getRequest()}.
+          // Unless the objects are stored in slots, always synchronize and
+          // get/set attributes on the underlying request object since Filters may
+          // wrap the request and change the value of {@code GuiceFilter.getRequest()}.
           //
           // This _correctly_ throws up if the thread is out of scope.
-          HttpServletRequest request = GuiceFilter.getOriginalRequest(key);
-          if (REQUEST_CONTEXT_KEYS.contains(key)) {
+          GuiceFilter.Context httpContext = GuiceFilter.getContext(key);
+          HttpServletRequest request = httpContext.getOriginalRequest();
+          if (requestContextKey) {
             // Don't store these keys as attributes, since they are handled by
             // GuiceFilter itself.
             return creator.get();
           }
-          String name = key.toString();
+          if (httpContext.storage != null) {
+            RequestScopeStorage storage = httpContext.storage;
+            RequestScopeStorage.Slot slot = this.slot;
+            if (slot == null || slot.slots != storage.slots) {
+              this.slot = slot = storage.slots.slotOf(key);
+            }
+            return storage.get(slot.index, name, request, creator);
+          }
           synchronized (request) {
             Object obj = request.getAttribute(name);
             if (NullObject.INSTANCE == obj) {
@@ -154,7 +183,11 @@ public final class ServletScopes {
       return new Provider<T>() {
         @Override
         public T get() {
-          HttpSession session = GuiceFilter.getRequest(key).getSession();
+          GuiceFilter.Context context = GuiceFilter.getContext(key);
+          HttpSession session = context.getRequest().getSession();
+          if (context.concurrentSessions) {
+            return SessionObjects.of(session).get(name, creator);
+          }
           synchronized (session) {
             Object obj = session.getAttribute(name);
             if (NullObject.INSTANCE == obj) {
@@ -185,6 +218,67 @@ public final class ServletScopes {
     }
   }
 
+  /**
+   * The session-scoped objects of one HTTP session, kept in a single session attribute when enabled
+   * by {@link ServletModule#useConcurrentSessionScope}. Objects that already exist are read without
+   * locking. Objects are created while holding the lock of the session's objects, like they were
+   * while holding the session's lock: a lock per object would deadlock when two requests create
+   * objects that depend on each other, whereas with one lock the request that comes second waits,
+   * and the first creates both, resolving the cycle on its own thread.
+   */
+  static final class SessionObjects implements Serializable {
+    private static final long serialVersionUID = 0;
+
+    /** Name of the session attribute holding the objects. */
+    static final String ATTRIBUTE = SessionObjects.class.getName();
+
+    private final ConcurrentHashMap<String, Object> objects = new ConcurrentHashMap<>();
+
+    static SessionObjects of(HttpSession session) {
+      Object objects = session.getAttribute(ATTRIBUTE);
+      if (objects == null) {
+        // only the first request of the session has to lock it
+        synchronized (session) {
+          objects = session.getAttribute(ATTRIBUTE);
+          if (objects == null) {
+            objects = new SessionObjects();
+            session.setAttribute(ATTRIBUTE, objects);
+          }
+        }
+      }
+      return (SessionObjects) objects;
+    }
+
+    <T> T get(String name, Provider<T> creator) {
+      Object obj = objects.get(name);
+      if (obj == null) {
+        // Not computeIfAbsent: creating the object may need other session-scoped objects, which
+        // would update the map recursively.
+        synchronized (this) {
+          obj = objects.get(name);
+          if (obj == null) {
+            T t = creator.get();
+            if (Scopes.isCircularProxy(t)) {
+              return t;
+            }
+            // Store a sentinel for provider-given null values.
+            obj = (t != null) ? t : NullObject.INSTANCE;
+            objects.put(name, obj);
+          }
+        }
+      }
+      if (NullObject.INSTANCE == obj) {
+        return null;
+      }
+      @SuppressWarnings("unchecked")
+      T t = (T) obj;
+      return t;
+    }
+
+    /** Bound by {@link ServletModule#useConcurrentSessionScope}. */
+    static final class Settings {}
+  }
+
   /**
    * Wraps the given callable in a contextual callable that "continues" the HTTP request in another
    * thread. This acts as a way of transporting request context data from the request processing
@@ -223,11 +317,17 @@ public final class ServletScopes {
         null != seedMap, "Seed map cannot be null, try passing in Collections.emptyMap() instead.");
 
     // Snapshot the seed map and add all the instances to our continuing HTTP request.
+    GuiceFilter.Context context = GuiceFilter.getContext(Key.get(HttpServletRequest.class));
     final ContinuingHttpServletRequest continuingRequest =
-        new ContinuingHttpServletRequest(GuiceFilter.getRequest(Key.get(HttpServletRequest.class)));
+        new ContinuingHttpServletRequest(context.getRequest());
+    final RequestScopeStorage storage =
+        (context.storage != null) ? context.storage.newStorage() : null;
     for (Map.Entry<Key<?>, Object> entry : seedMap.entrySet()) {
       Object value = validateAndCanonicalizeValue(entry.getKey(), entry.getValue());
       continuingRequest.setAttribute(entry.getKey().toString(), value);
+      if (storage != null) {
+        storage.seed(entry.getKey(), value);
+      }
     }
 
     return new RequestScoper() {
@@ -236,7 +336,9 @@ public final class ServletScopes {
         checkScopingState(
             null == GuiceFilter.localContext.get(),
             "Cannot continue request in the same thread as a HTTP request!");
-        return new GuiceFilter.Context(continuingRequest, continuingRequest, null).open();
+        return new GuiceFilter.Context(
+                continuingRequest, continuingRequest, null, storage, context.concurrentSessions)
+            .open();
       }
     };
   }
@@ -308,6 +410,180 @@ public final class ServletScopes {
     return context;
   }
 
+  /**
+   * Returns an executor that runs each task in the request scope that was active on the thread
+   * that submitted it, HTTP or not. Tasks submitted outside of a request scope are run without one.
+   * This lets request-scoped objects be injected in tasks run by thread pools, virtual threads,
+   * {@code CompletableFuture} stages or {@code AsyncContext.start}:
+   *
+   * <pre>
+   *   Executor executor = ServletScopes.propagatingRequestScope(asyncContext::start);
+   * </pre>
+   *
+   * <p>As opposed to {@link #transferRequest}, the scope is shared with the submitting thread rather
+   * than handed over to the task: tasks don't wait for the submitting thread to leave the scope, so
+   * the submitting thread may block on their results. Each request-scoped object is still only
+   * created once, but objects used by concurrent tasks must be thread-safe.
+   *
+   * <p>The task must not run after the request has completed.
+   *
+   * @since 7.0
+   */
+  public static Executor propagatingRequestScope(Executor executor) {
+    Preconditions.checkNotNull(executor, "executor");
+    return command -> executor.execute(propagate(command));
+  }
+
+  /**
+   * Returns an executor service that runs each task in the request scope that was active on the
+   * thread that submitted it, as described by {@link #propagatingRequestScope(Executor)}. Shutting
+   * down the returned service shuts down {@code executorService}.
+   *
+   * @since 7.0
+   */
+  public static ExecutorService propagatingRequestScope(ExecutorService executorService) {
+    return new PropagatingExecutorService(executorService);
+  }
+
+  /**
+   * Returns a listener that notifies {@code listener} in the request scope that was active on this
+   * thread, so that request-scoped objects can be injected while handling the events of an
+   * asynchronous request. The container notifies listeners outside of the filter chain, where the
+   * request scope would otherwise not be available.
+   *
+   * <pre>
+   *   asyncContext.addListener(ServletScopes.propagatingRequestScope(new MyListener()));
+   * </pre>
+   *
+   * @throws OutOfScopeException if this method is called from a non-request thread
+   * @since 7.0
+   */
+  public static AsyncListener propagatingRequestScope(AsyncListener listener) {
+    Preconditions.checkNotNull(listener, "listener");
+    RequestScoper scoper = shareRequest();
+    if (scoper == null) {
+      throw new OutOfScopeException("Not in a request scope");
+    }
+    return new PropagatingAsyncListener(listener, scoper);
+  }
+
+  /**
+   * Returns the command wrapped to run in the request scope active on this thread, or the command
+   * itself if no request scope is active.
+   */
+  private static Runnable propagate(Runnable command) {
+    Preconditions.checkNotNull(command, "command");
+    RequestScoper scoper = shareRequest();
+    if (scoper == null) {
+      return command;
+    }
+    return () -> {
+      try (RequestScoper.CloseableScope scope = scoper.open()) {
+        command.run();
+      }
+    };
+  }
+
+  /**
+   * Returns an object that enters the request scope active on this thread without waiting for this
+   * thread to release it, or null if no request scope is active.
+   */
+  private static RequestScoper shareRequest() {
+    final GuiceFilter.Context httpContext = GuiceFilter.localContext.get();
+    if (httpContext != null) {
+      return () -> {
+        GuiceFilter.Context previous = GuiceFilter.localContext.get();
+        GuiceFilter.localContext.set(httpContext);
+        return () -> GuiceFilter.localContext.set(previous);
+      };
+    }
+    final Context context = requestScopeContext.get();
+    if (context != null) {
+      return () -> {
+        Context previous = requestScopeContext.get();
+        requestScopeContext.set(context);
+        return () -> requestScopeContext.set(previous);
+      };
+    }
+    return null;
+  }
+
+  private static final class PropagatingExecutorService extends AbstractExecutorService {
+    private final ExecutorService delegate;
+
+    PropagatingExecutorService(ExecutorService delegate) {
+      this.delegate = Preconditions.checkNotNull(delegate, "executorService");
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      delegate.execute(propagate(command));
+    }
+
+    @Override
+    public void shutdown() {
+      delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+      return delegate.awaitTermination(timeout, unit);
+    }
+  }
+
+  private static final class PropagatingAsyncListener implements AsyncListener {
+    private final AsyncListener delegate;
+    private final RequestScoper scoper;
+
+    PropagatingAsyncListener(AsyncListener delegate, RequestScoper scoper) {
+      this.delegate = delegate;
+      this.scoper = scoper;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) throws IOException {
+      try (RequestScoper.CloseableScope scope = scoper.open()) {
+        delegate.onComplete(event);
+      }
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) throws IOException {
+      try (RequestScoper.CloseableScope scope = scoper.open()) {
+        delegate.onTimeout(event);
+      }
+    }
+
+    @Override
+    public void onError(AsyncEvent event) throws IOException {
+      try (RequestScoper.CloseableScope scope = scoper.open()) {
+        delegate.onError(event);
+      }
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) throws IOException {
+      try (RequestScoper.CloseableScope scope = scoper.open()) {
+        delegate.onStartAsync(event);
+      }
+    }
+  }
+
   /**
    * Returns true if {@code binding} is request-scoped. If the binding is a {@link
    * com.google.inject.spi.LinkedKeyBinding linked key binding} and belongs to an injector (i. e. it
@@ -398,7 +674,7 @@ public final class ServletScopes {
   }
 
   private static class Context implements RequestScoper {
-    final Map<Key<?>, Object> map = Maps.newHashMap();
+    final Map<Key<?>, Object> map = new ConcurrentHashMap<>();
 
     // Synchronized to prevent two threads from using the same request
     // scope concurrently.
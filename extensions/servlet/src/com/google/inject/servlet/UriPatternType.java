@@ -39,6 +39,15 @@ public enum UriPatternType {
     }
   }
 
+  /**
+   * Returns true if the matcher is one of the built-in implementations, whose behavior is fully
+   * described by its pattern type and original pattern.
+   */
+  static boolean isBuiltIn(UriPatternMatcher matcher) {
+    return matcher instanceof ServletStyleUriPatternMatcher
+        || matcher instanceof RegexUriPatternMatcher;
+  }
+
   private static String getUri(String uri) {
     // Strip out the query, if it existed in the URI.  See issue 379.
     int queryIdx = uri.indexOf('?');
@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.servlet;
+
+import com.google.common.primitives.Chars;
+import com.google.common.primitives.Ints;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The URI patterns of a pipeline compiled into a structure that finds all the patterns matching a
+ * URI in one pass, rather than trying each pattern in turn.
+ *
+ * <p>Servlet-style patterns are looked up by kind: exact patterns in a hash table, {@code /foo/*}
+ * patterns in a trie walked from the start of the URI, and {@code *.html} patterns in a trie walked
+ * from the end of the URI. Regex patterns still have to be tried one by one, but are skipped
+ * without running the regex when the URI doesn't start with the literal text the regex starts with.
+ *
+ * <p>Patterns are identified by their index in the list the table was compiled from, and matches
+ * are always reported in that order.
+ */
+final class UriRoutingTable {
+
+  /** Characters that end the literal prefix of a regex. */
+  private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+  /** Characters that make the preceding character optional or repeated. */
+  private static final String REGEX_QUANTIFIERS = "?*{";
+
+  private final int size;
+  private final Map<String, int[]> exact;
+  private final Trie prefixes;
+  private final Trie suffixes;
+  /** Patterns that can only be matched by trying them, in index order. */
+  private final CheckedPattern[] checked;
+
+  private UriRoutingTable(
+      int size, Map<String, int[]> exact, Trie prefixes, Trie suffixes, CheckedPattern[] checked) {
+    this.size = size;
+    this.exact = exact;
+    this.prefixes = prefixes;
+    this.suffixes = suffixes;
+    this.checked = checked;
+  }
+
+  static UriRoutingTable compile(List<UriPatternMatcher> patternMatchers) {
+    Map<String, List<Integer>> exact = new HashMap<>();
+    TrieBuilder prefixes = new TrieBuilder();
+    TrieBuilder suffixes = new TrieBuilder();
+    List<CheckedPattern> checked = new ArrayList<>();
+
+    for (int index = 0; index < patternMatchers.size(); index++) {
+      UriPatternMatcher patternMatcher = patternMatchers.get(index);
+      String pattern = patternMatcher.getOriginalPattern();
+      if (!UriPatternType.isBuiltIn(patternMatcher)) {
+        checked.add(new CheckedPattern(index, patternMatcher, ""));
+      } else if (patternMatcher.getPatternType() == UriPatternType.REGEX) {
+        checked.add(new CheckedPattern(index, patternMatcher, literalPrefix(pattern)));
+      } else if (pattern.startsWith("*")) {
+        // same grammar as ServletStyleUriPatternMatcher: "*.html" matches URIs ending in ".html"
+        suffixes.add(new StringBuilder(pattern.substring(1)).reverse(), index);
+      } else if (pattern.endsWith("*")) {
+        prefixes.add(pattern.substring(0, pattern.length() - 1), index);
+      } else {
+        exact.computeIfAbsent(pattern, unused -> new ArrayList<>()).add(index);
+      }
+    }
+
+    Map<String, int[]> exactIndexes = new HashMap<>();
+    exact.forEach((pattern, indexes) -> exactIndexes.put(pattern, Ints.toArray(indexes)));
+    return new UriRoutingTable(
+        patternMatchers.size(),
+        exactIndexes,
+        prefixes.build(),
+        suffixes.build(),
+        checked.toArray(new CheckedPattern[0]));
+  }
+
+  /** Returns the number of patterns in this table. */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Stores the indexes of the patterns matching {@code uri} in {@code matches}, in ascending order,
+   * and returns how many there are. {@code matches} must have room for every pattern.
+   */
+  int match(
+      // @Nullable
+      String uri, int[] matches) {
+    if (uri == null) {
+      return 0;
+    }
+    String path = stripQuery(uri);
+    int count = 0;
+
+    int[] exactMatches = exact.get(path);
+    if (exactMatches != null) {
+      for (int index : exactMatches) {
+        count = insert(matches, count, index);
+      }
+    }
+
+    Trie node = prefixes;
+    for (int i = 0; node != null; i++) {
+      for (int index : node.terminals) {
+        count = insert(matches, count, index);
+      }
+      node = i < path.length() ? node.child(path.charAt(i)) : null;
+    }
+
+    node = suffixes;
+    for (int i = path.length() - 1; node != null; i--) {
+      for (int index : node.terminals) {
+        count = insert(matches, count, index);
+      }
+      node = i >= 0 ? node.child(path.charAt(i)) : null;
+    }
+
+    for (CheckedPattern pattern : checked) {
+      if (pattern.matches(uri, path)) {
+        count = insert(matches, count, pattern.index);
+      }
+    }
+    return count;
+  }
+
+  /** Returns the index of the first pattern matching {@code uri}, or -1 if none match. */
+  int firstMatch(
+      // @Nullable
+      String uri) {
+    if (uri == null) {
+      return -1;
+    }
+    String path = stripQuery(uri);
+    int first = Integer.MAX_VALUE;
+
+    int[] exactMatches = exact.get(path);
+    if (exactMatches != null) {
+      first = exactMatches[0];
+    }
+
+    Trie node = prefixes;
+    for (int i = 0; node != null; i++) {
+      if (node.terminals.length > 0) {
+        first = Math.min(first, node.terminals[0]);
+      }
+      node = i < path.length() ? node.child(path.charAt(i)) : null;
+    }
+
+    node = suffixes;
+    for (int i = path.length() - 1; node != null; i--) {
+      if (node.terminals.length > 0) {
+        first = Math.min(first, node.terminals[0]);
+      }
+      node = i >= 0 ? node.child(path.charAt(i)) : null;
+    }
+
+    for (CheckedPattern pattern : checked) {
+      if (pattern.index >= first) {
+        break; // can't do better than what we have
+      }
+      if (pattern.matches(uri, path)) {
+        first = pattern.index;
+        break;
+      }
+    }
+    return first == Integer.MAX_VALUE ? -1 : first;
+  }
+
+  /** Inserts {@code index} into the sorted first {@code count} elements of {@code matches}. */
+  private static int insert(int[] matches, int count, int index) {
+    int i = count;
+    while (i > 0 && matches[i - 1] > index) {
+      matches[i] = matches[i - 1];
+      i--;
+    }
+    matches[i] = index;
+    return count + 1;
+  }
+
+  /** Strips the query from the URI, like the pattern matchers do. See issue 379. */
+  private static String stripQuery(String uri) {
+    int queryIdx = uri.indexOf('?');
+    return queryIdx != -1 ? uri.substring(0, queryIdx) : uri;
+  }
+
+  /**
+   * Returns the literal text every string matching {@code regex} starts with. This is conservative:
+   * an empty prefix is always correct.
+   */
+  static String literalPrefix(String regex) {
+    if (regex.indexOf('|') != -1) {
+      return ""; // alternatives may start with anything
+    }
+    int end = 0;
+    while (end < regex.length() && REGEX_METACHARACTERS.indexOf(regex.charAt(end)) == -1) {
+      end++;
+    }
+    if (end < regex.length() && end > 0 && REGEX_QUANTIFIERS.indexOf(regex.charAt(end)) != -1) {
+      end--; // the last literal character is optional
+    }
+    return regex.substring(0, end);
+  }
+
+  /** A pattern matched by trying it. */
+  private static final class CheckedPattern {
+    final int index;
+    final UriPatternMatcher patternMatcher;
+    final String literalPrefix;
+
+    CheckedPattern(int index, UriPatternMatcher patternMatcher, String literalPrefix) {
+      this.index = index;
+      this.patternMatcher = patternMatcher;
+      this.literalPrefix = literalPrefix;
+    }
+
+    boolean matches(String uri, String path) {
+      return path.startsWith(literalPrefix) && patternMatcher.matches(uri);
+    }
+  }
+
+  /** An immutable trie of characters, with the indexes of the patterns ending at each node. */
+  private static final class Trie {
+    final char[] keys;
+    final Trie[] children;
+    final int[] terminals;
+
+    Trie(char[] keys, Trie[] children, int[] terminals) {
+      this.keys = keys;
+      this.children = children;
+      this.terminals = terminals;
+    }
+
+    // @Nullable
+    Trie child(char key) {
+      int i = Arrays.binarySearch(keys, key);
+      return i >= 0 ? children[i] : null;
+    }
+  }
+
+  private static final class TrieBuilder {
+    final TreeMap<Character, TrieBuilder> children = new TreeMap<>();
+    final List<Integer> terminals = new ArrayList<>();
+
+    void add(CharSequence literal, int index) {
+      TrieBuilder node = this;
+      for (int i = 0; i < literal.length(); i++) {
+        node = node.children.computeIfAbsent(literal.charAt(i), unused -> new TrieBuilder());
+      }
+      node.terminals.add(index);
+    }
+
+    Trie build() {
+      Trie[] builtChildren = new Trie[children.size()];
+      int i = 0;
+      for (TrieBuilder child : children.values()) {
+        builtChildren[i++] = child.build();
+      }
+      return new Trie(Chars.toArray(children.keySet()), builtChildren, Ints.toArray(terminals));
+    }
+  }
+}
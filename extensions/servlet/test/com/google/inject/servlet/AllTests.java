@@ -52,6 +52,7 @@ public class AllTests {
     suite.addTestSuite(ExtensionSpiTest.class);
 
     suite.addTestSuite(UriPatternTypeTest.class);
+    suite.addTestSuite(UriRoutingTableTest.class);
 
     return suite;
   }
@@ -328,6 +328,87 @@ public class FilterDispatchIntegrationTest extends TestCase {
     assertEquals(1, f2.calledAt);
   }
 
+  public void testChainStateIsResetBetweenRequests() throws Exception {
+    final RecordingFilter html = new RecordingFilter();
+    final RecordingFilter all = new RecordingFilter();
+
+    Injector injector =
+        Guice.createInjector(
+            new ServletModule() {
+              @Override
+              protected void configureServlets() {
+                filter("*.html").through(html);
+                filter("/*").through(all);
+              }
+            });
+
+    FilterPipeline pipeline = injector.getInstance(FilterPipeline.class);
+    pipeline.initPipeline(null);
+    FilterChain proceedingChain = mock(FilterChain.class);
+    for (String uri : new String[] {"/index.html", "/index.jsp", "/index.html"}) {
+      HttpServletRequest request = mock(HttpServletRequest.class);
+      when(request.getRequestURI()).thenReturn(uri);
+      when(request.getContextPath()).thenReturn("");
+      pipeline.dispatch(request, null, proceedingChain);
+      verify(proceedingChain).doFilter(request, null);
+    }
+
+    assertEquals(2, html.chains.size());
+    assertEquals(3, all.chains.size());
+  }
+
+  public void testChainOfAsyncRequestIsNotReused() throws Exception {
+    final RecordingFilter all = new RecordingFilter();
+
+    Injector injector =
+        Guice.createInjector(
+            new ServletModule() {
+              @Override
+              protected void configureServlets() {
+                filter("/*").through(all);
+              }
+            });
+
+    FilterPipeline pipeline = injector.getInstance(FilterPipeline.class);
+    pipeline.initPipeline(null);
+    FilterChain proceedingChain = mock(FilterChain.class);
+    HttpServletRequest asyncRequest = mock(HttpServletRequest.class);
+    when(asyncRequest.getRequestURI()).thenReturn("/async");
+    when(asyncRequest.getContextPath()).thenReturn("");
+    when(asyncRequest.isAsyncStarted()).thenReturn(true);
+    pipeline.dispatch(asyncRequest, null, proceedingChain);
+
+    for (int i = 0; i < 3; i++) {
+      HttpServletRequest request = mock(HttpServletRequest.class);
+      when(request.getRequestURI()).thenReturn("/index.html");
+      when(request.getContextPath()).thenReturn("");
+      pipeline.dispatch(request, null, proceedingChain);
+    }
+
+    assertEquals(4, all.chains.size());
+    for (FilterChain chain : all.chains.subList(1, 4)) {
+      assertNotSame(all.chains.get(0), chain);
+    }
+  }
+
+  /** A filter that records the chains it was called with. */
+  private static class RecordingFilter implements Filter {
+    final List<FilterChain> chains = new ArrayList<>();
+
+    @Override
+    public void destroy() {}
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+      chains.add(chain);
+      chain.doFilter(request, response);
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) {}
+  }
+
   /** A filter that keeps count of when it was called by increment a counter. */
   private static class CountFilter implements Filter {
     private final AtomicInteger counter;
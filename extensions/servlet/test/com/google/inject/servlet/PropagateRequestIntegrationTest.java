@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.servlet;
+
+import static com.google.inject.servlet.ServletTestUtils.newFakeHttpServletRequest;
+import static com.google.inject.servlet.ServletTestUtils.newFakeHttpServletResponse;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.OutOfScopeException;
+import com.google.inject.Provides;
+import com.google.inject.ProvisionException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import junit.framework.TestCase;
+
+/** Tests propagating the request scope to other threads. */
+public class PropagateRequestIntegrationTest extends TestCase {
+
+  private final ExecutorService executor =
+      ServletScopes.propagatingRequestScope(Executors.newSingleThreadExecutor());
+
+  private final Injector injector =
+      Guice.createInjector(
+          new AbstractModule() {
+            @Override
+            protected void configure() {
+              bindScope(RequestScoped.class, ServletScopes.REQUEST);
+            }
+
+            @Provides
+            @RequestScoped
+            Object provideObject() {
+              return new Object();
+            }
+          });
+
+  @Override
+  protected void tearDown() {
+    executor.shutdownNow();
+    GuiceFilter.reset();
+  }
+
+  public void testPropagateNonHttpRequest() throws Exception {
+    ImmutableMap<Key<?>, Object> seedMap = ImmutableMap.of();
+    Callable<Boolean> callable =
+        () -> {
+          // unlike a transferred request, the task doesn't wait for this thread to leave the scope
+          Object fromTask = executor.submit(() -> injector.getInstance(Object.class)).get();
+          return fromTask == injector.getInstance(Object.class);
+        };
+    assertTrue(ServletScopes.scopeRequest(callable, seedMap).call());
+  }
+
+  public void testPropagateHttpRequest() throws Exception {
+    final AtomicReference<Boolean> sameObject = new AtomicReference<>();
+    FilterChain filterChain =
+        (request, response) -> {
+          try {
+            Object fromTask = executor.submit(() -> injector.getInstance(Object.class)).get();
+            sameObject.set(fromTask == injector.getInstance(Object.class));
+          } catch (Exception e) {
+            throw new AssertionError(e);
+          }
+        };
+
+    new GuiceFilter()
+        .doFilter(newFakeHttpServletRequest(), newFakeHttpServletResponse(), filterChain);
+    assertTrue(sameObject.get());
+  }
+
+  public void testTasksSubmittedOutOfScopeRunOutOfScope() throws Exception {
+    Future<Object> future = executor.submit(() -> injector.getInstance(Object.class));
+    try {
+      future.get();
+      fail();
+    } catch (ExecutionException expected) {
+      assertTrue(expected.getCause() instanceof ProvisionException);
+      assertTrue(expected.getCause().getMessage().contains("Cannot access scoped [Object]."));
+    }
+  }
+
+  public void testPropagateToAsyncListener() throws Exception {
+    final AtomicReference<Object> fromListener = new AtomicReference<>();
+    AsyncListener listener = new CompletionListener(fromListener);
+
+    ImmutableMap<Key<?>, Object> seedMap = ImmutableMap.of();
+    final AtomicReference<Object> inScope = new AtomicReference<>();
+    AsyncListener propagating =
+        ServletScopes.scopeRequest(
+                () -> {
+                  inScope.set(injector.getInstance(Object.class));
+                  return ServletScopes.propagatingRequestScope(listener);
+                },
+                seedMap)
+            .call();
+
+    // the container notifies listeners outside of the request scope
+    propagating.onComplete(null);
+    assertSame(inScope.get(), fromListener.get());
+  }
+
+  public void testPropagateToAsyncListener_outOfScope() {
+    try {
+      ServletScopes.propagatingRequestScope(new CompletionListener(new AtomicReference<>()));
+      fail();
+    } catch (OutOfScopeException expected) {
+    }
+  }
+
+  private class CompletionListener implements AsyncListener {
+    final AtomicReference<Object> fromListener;
+
+    CompletionListener(AtomicReference<Object> fromListener) {
+      this.fromListener = fromListener;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      fromListener.set(injector.getInstance(Object.class));
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {}
+
+    @Override
+    public void onError(AsyncEvent event) {}
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {}
+  }
+}
@@ -70,6 +70,7 @@ public class ServletTest extends TestCase {
   private static final Key<Map<String, String[]>> REQ_PARAMS_KEY =
       new Key<Map<String, String[]>>(RequestParameters.class) {};
 
+  private static final Key<InRequest> IN_REQUEST_KEY = Key.get(InRequest.class);
   private static final Key<InRequest> IN_REQUEST_NULL_KEY = Key.get(InRequest.class, Null.class);
   private static final Key<InSession> IN_SESSION_KEY = Key.get(InSession.class);
   private static final Key<InSession> IN_SESSION_NULL_KEY = Key.get(InSession.class, Null.class);
@@ -381,6 +382,70 @@ public class ServletTest extends TestCase {
     assertTrue(invoked[0]);
   }
 
+  public void testRequestScopeSlots() throws CreationException, IOException, ServletException {
+    final Injector injector =
+        createInjector(
+            new ServletModule() {
+              @Override
+              protected void configureServlets() {
+                useRequestScopeSlots(IN_REQUEST_NULL_KEY);
+              }
+            });
+    final HttpServletRequest request = newFakeHttpServletRequest();
+
+    GuiceFilter filter = new GuiceFilter();
+    final boolean[] invoked = new boolean[1];
+    FilterChain filterChain =
+        new FilterChain() {
+          @Override
+          public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse) {
+            invoked[0] = true;
+
+            InRequest inRequest = injector.getInstance(InRequest.class);
+            assertSame(inRequest, injector.getInstance(InRequest.class));
+            assertNull(request.getAttribute(IN_REQUEST_KEY.toString()));
+
+            assertNull(injector.getInstance(IN_REQUEST_NULL_KEY));
+            assertNull(injector.getInstance(IN_REQUEST_NULL_KEY));
+            assertEquals(
+                NullObject.INSTANCE, request.getAttribute(IN_REQUEST_NULL_KEY.toString()));
+          }
+        };
+
+    filter.doFilter(request, null, filterChain);
+
+    assertTrue(invoked[0]);
+  }
+
+  public void testRequestScopeSlotsArePerInjector() throws CreationException {
+    Module slots =
+        new ServletModule() {
+          @Override
+          protected void configureServlets() {
+            useRequestScopeSlots(IN_REQUEST_NULL_KEY);
+          }
+        };
+    RequestScopeStorage first =
+        createInjector(slots).getInstance(ManagedFilterPipeline.class).newRequestScopeStorage();
+    RequestScopeStorage second =
+        createInjector(slots).getInstance(ManagedFilterPipeline.class).newRequestScopeStorage();
+
+    // the request-scoped bindings already have their slots
+    int size = first.slots.size();
+    assertNotSame(first.slots, second.slots);
+    assertEquals(size, second.slots.size());
+    assertEquals(
+        first.slots.slotOf(IN_REQUEST_NULL_KEY).index,
+        second.slots.slotOf(IN_REQUEST_NULL_KEY).index);
+    assertSame(first.slots.slotOf(IN_REQUEST_KEY), first.slots.slotOf(IN_REQUEST_KEY));
+    assertEquals(size, first.slots.size());
+
+    // keys scoped in one injector don't take slots in the other
+    second.slots.slotOf(Key.get(InRequest.class, Names.named("other")));
+    assertEquals(size + 1, second.slots.size());
+    assertEquals(size, first.slots.size());
+  }
+
   public void testNewSessionObject() throws CreationException, IOException, ServletException {
     final Injector injector = createInjector();
     final HttpServletRequest request = newFakeHttpServletRequest();
@@ -456,6 +521,47 @@ public class ServletTest extends TestCase {
     assertEquals(NullObject.INSTANCE, deserializedSession.getAttribute(inSessionNullKey));
   }
 
+  public void testConcurrentSessionScope() throws Exception {
+    final Injector injector =
+        createInjector(
+            new ServletModule() {
+              @Override
+              protected void configureServlets() {
+                useConcurrentSessionScope();
+              }
+            });
+    final HttpServletRequest request = newFakeHttpServletRequest();
+    final HttpSession session = request.getSession();
+
+    GuiceFilter filter = new GuiceFilter();
+    final boolean[] invoked = new boolean[1];
+    FilterChain filterChain =
+        new FilterChain() {
+          @Override
+          public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse) {
+            invoked[0] = true;
+
+            InSession inSession = injector.getInstance(InSession.class);
+            assertSame(inSession, injector.getInstance(InSession.class));
+            assertNull(session.getAttribute(IN_SESSION_KEY.toString()));
+
+            assertNull(injector.getInstance(IN_SESSION_NULL_KEY));
+            assertNull(injector.getInstance(IN_SESSION_NULL_KEY));
+          }
+        };
+
+    filter.doFilter(request, null, filterChain);
+
+    assertTrue(invoked[0]);
+
+    HttpSession deserializedSession = reserialize(session);
+    ServletScopes.SessionObjects objects =
+        (ServletScopes.SessionObjects)
+            deserializedSession.getAttribute(ServletScopes.SessionObjects.ATTRIBUTE);
+    assertTrue(objects.get(IN_SESSION_KEY.toString(), () -> null) instanceof InSession);
+    assertNull(objects.get(IN_SESSION_NULL_KEY.toString(), InSession::new));
+  }
+
   public void testGuiceFilterConstructors() throws Exception {
     final RuntimeException servletException = new RuntimeException();
     final RuntimeException chainException = new RuntimeException();
@@ -88,6 +88,11 @@ public class ServletTestUtils {
       public HttpSession getSession() {
         return session;
       }
+
+      @Override
+      public boolean isAsyncStarted() {
+        return false;
+      }
     };
   }
 
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.servlet;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import java.util.Arrays;
+import java.util.List;
+import junit.framework.TestCase;
+
+public class UriRoutingTableTest extends TestCase {
+
+  private static final ImmutableList<String> URIS =
+      ImmutableList.of(
+          "",
+          "/",
+          "/index.html",
+          "/index.html?q=1",
+          "/foo",
+          "/foo/",
+          "/foo/bar",
+          "/foo/bar.html",
+          "/foo/bar.jsp?x=/foo/*",
+          "/foobar",
+          "/bar/baz.html",
+          "/rest/users/42",
+          "/rest/users/42?expand=true",
+          "/rest/items",
+          ".html",
+          "/a*b");
+
+  private static final ImmutableList<UriPatternMatcher> PATTERNS =
+      ImmutableList.of(
+          servlet("/foo/*"),
+          servlet("*.html"),
+          regex("/rest/users/[0-9]+"),
+          servlet("/foo"),
+          servlet("/*"),
+          servlet("*"),
+          regex("/rest/.*"),
+          servlet("/index.html"),
+          servlet("/foo/*"),
+          regex("(/foo|/bar)/.*"),
+          servlet("*/bar.html"),
+          servlet("/"),
+          regex("/foo?bar"),
+          servlet("/foo*"),
+          new CustomMatcher("bar"),
+          regex("/a\\*b"),
+          servlet(""));
+
+  public void testMatchesLikeEachPatternInTurn() {
+    UriRoutingTable routes = UriRoutingTable.compile(PATTERNS);
+    assertEquals(PATTERNS.size(), routes.size());
+    int[] matches = new int[routes.size()];
+    for (String uri : URIS) {
+      List<Integer> expected = Lists.newArrayList();
+      for (int i = 0; i < PATTERNS.size(); i++) {
+        if (PATTERNS.get(i).matches(uri)) {
+          expected.add(i);
+        }
+      }
+      int count = routes.match(uri, matches);
+      assertEquals(uri, expected.toString(), Arrays.toString(Arrays.copyOf(matches, count)));
+      assertEquals(uri, expected.isEmpty() ? -1 : (int) expected.get(0), routes.firstMatch(uri));
+    }
+  }
+
+  public void testFirstMatchPrefersEarlierPatterns() {
+    UriRoutingTable routes =
+        UriRoutingTable.compile(
+            ImmutableList.of(regex("/foo/[a-z]+"), servlet("/foo/1"), servlet("/foo/*")));
+    assertEquals(0, routes.firstMatch("/foo/bar"));
+    assertEquals(1, routes.firstMatch("/foo/1?baz"));
+    assertEquals(2, routes.firstMatch("/foo/"));
+    assertEquals(-1, routes.firstMatch("/bar"));
+  }
+
+  public void testNullUri() {
+    UriRoutingTable routes = UriRoutingTable.compile(PATTERNS);
+    assertEquals(0, routes.match(null, new int[routes.size()]));
+    assertEquals(-1, routes.firstMatch(null));
+  }
+
+  public void testNoPatterns() {
+    UriRoutingTable routes = UriRoutingTable.compile(ImmutableList.<UriPatternMatcher>of());
+    assertEquals(0, routes.match("/foo", new int[0]));
+    assertEquals(-1, routes.firstMatch("/foo"));
+  }
+
+  public void testLiteralPrefix() {
+    assertEquals("/rest/users/", UriRoutingTable.literalPrefix("/rest/users/[0-9]+"));
+    assertEquals("/fo", UriRoutingTable.literalPrefix("/foo?bar"));
+    assertEquals("/fo", UriRoutingTable.literalPrefix("/foo{0,1}bar"));
+    assertEquals("/foo", UriRoutingTable.literalPrefix("/foo+bar"));
+    assertEquals("/a", UriRoutingTable.literalPrefix("/a\\*b"));
+    assertEquals("", UriRoutingTable.literalPrefix("/foo/.*|/bar/.*"));
+    assertEquals("", UriRoutingTable.literalPrefix("^/foo"));
+    assertEquals("/foo", UriRoutingTable.literalPrefix("/foo"));
+  }
+
+  private static UriPatternMatcher servlet(String pattern) {
+    return UriPatternType.get(UriPatternType.SERVLET, pattern);
+  }
+
+  private static UriPatternMatcher regex(String pattern) {
+    return UriPatternType.get(UriPatternType.REGEX, pattern);
+  }
+
+  /** A matcher the routing table knows nothing about. */
+  private static class CustomMatcher implements UriPatternMatcher {
+    private final String substring;
+
+    CustomMatcher(String substring) {
+      this.substring = substring;
+    }
+
+    @Override
+    public boolean matches(String uri) {
+      return uri != null && uri.contains(substring);
+    }
+
+    @Override
+    public String extractPath(String pattern) {
+      return null;
+    }
+
+    @Override
+    public UriPatternType getPatternType() {
+      return UriPatternType.SERVLET;
+    }
+
+    @Override
+    public String getOriginalPattern() {
+      return "/*";
+    }
+  }
+}